@@ -2,6 +2,10 @@ package com.example.userservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.env.Profiles;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
 
 /**
  * Clase principal de la aplicación UserService.
@@ -16,19 +20,45 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  *   <li>Definición de beans y configuración base de la aplicación</li>
  * </ul>
  *
- * <p>El método {@code main} ejecuta la aplicación.</p>
+ * <p>Con el perfil {@code fast-start} o {@code app.startup.timeline=true}, el método
+ * {@code main} registra los pasos del arranque en un {@link BufferingApplicationStartup},
+ * que usa {@code StartupTimelineReporter} y expone {@code /actuator/startup} si se agrega
+ * a la exposición de Actuator. Sin ellos no retiene los pasos: el contexto todavía no
+ * existe, así que solo se miran los argumentos, las propiedades del sistema y las
+ * variables de entorno.</p>
  *
  * @author Federico Rosales
  * @since 1.0
  */
 @SpringBootApplication
 public class UserServiceApplication {
+
+    /** Pasos de arranque a retener (alcanza para todos los beans del contexto). */
+    private static final int STARTUP_STEPS = 10_000;
+
+    private static final String FAST_START = "fast-start";
+
     /**
      * Punto de entrada de la aplicación Spring Boot.
      *
      * @param args argumentos de línea de comandos
      */
     public static void main(String[] args) {
-        SpringApplication.run(UserServiceApplication.class, args);
+        SpringApplication application = new SpringApplication(UserServiceApplication.class);
+        if (recordsStartup(args)) {
+            application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+        }
+        application.run(args);
+    }
+
+    /**
+     * @param args argumentos de línea de comandos
+     * @return {@code true} si está activo el perfil {@code fast-start} o {@code app.startup.timeline}
+     */
+    static boolean recordsStartup(String[] args) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+        return environment.acceptsProfiles(Profiles.of(FAST_START))
+                || environment.getProperty("app.startup.timeline", Boolean.class, false);
     }
 }
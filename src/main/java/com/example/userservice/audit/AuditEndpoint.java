@@ -0,0 +1,41 @@
+package com.example.userservice.audit;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * Endpoint de Actuator {@code /actuator/audit} para consultar los registros recientes.
+ *
+ * <p>Como el resto de los endpoints de Actuator, solo se publica si se incluye en
+ * {@code management.endpoints.web.exposure.include}.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Endpoint(id = "audit")
+public class AuditEndpoint {
+
+    private static final int DEFAULT_LIMIT = 100;
+
+    private final AuditTrail auditTrail;
+
+    /**
+     * @param auditTrail auditoría de autenticación
+     */
+    public AuditEndpoint(AuditTrail auditTrail) {
+        this.auditTrail = auditTrail;
+    }
+
+    /**
+     * @param limit máximo de registros (por defecto 100)
+     * @param subject email por el que filtrar (opcional)
+     * @return registros recientes, del más nuevo al más viejo
+     */
+    @ReadOperation
+    public List<AuditEntry> recent(@Nullable Integer limit, @Nullable String subject) {
+        return auditTrail.recent(limit == null ? DEFAULT_LIMIT : limit, subject);
+    }
+}
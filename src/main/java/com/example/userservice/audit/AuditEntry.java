@@ -0,0 +1,51 @@
+package com.example.userservice.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Registro de auditoría de un intento de registro o inicio de sesión.
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public final class AuditEntry {
+
+    /** Acción de registro ({@code POST /sign-up}). */
+    public static final String SIGN_UP = "sign-up";
+
+    /** Acción de inicio de sesión ({@code GET /login}). */
+    public static final String LOGIN = "login";
+
+    /** Momento del intento. */
+    private final Instant timestamp;
+
+    /** {@link #SIGN_UP} o {@link #LOGIN}. */
+    private final String action;
+
+    /** Email del usuario, o {@code null} si no se pudo determinar (token inválido). */
+    private final String subject;
+
+    /** Código HTTP con el que terminó el intento. */
+    private final int outcome;
+
+    /** IP del cliente. */
+    private final String clientIp;
+
+    /**
+     * Línea de texto del registro para los archivos de auditoría
+     * ({@code timestamp acción código ip subject}, separados por tabulador).
+     *
+     * @return la línea, terminada en salto de línea
+     */
+    public String toLine() {
+        return timestamp + "\t" + action + "\t" + outcome + "\t" + clientIp + "\t"
+                + (subject == null ? "-" : subject) + "\n";
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.userservice.audit;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Filtro servlet que registra en la auditoría cada intento de {@code /sign-up} y
+ * {@code /login} con el código HTTP final de la respuesta.
+ *
+ * <p>Va primero en la cadena, así que también quedan registrados los intentos que no
+ * llegan al controlador: los rechazos con {@code 503} del límite de concurrencia, las
+ * respuestas repetidas por {@code Idempotency-Key} y los {@code 400} de validación.</p>
+ *
+ * <p>El email lo deja quien lo conoce en el atributo {@link #SUBJECT} de la request:
+ * {@link AuditSubjectAdvice} al leer el cuerpo de {@code /sign-up} y el controlador tras
+ * un login exitoso. Si la request no llegó a leerse, o el token no era válido, queda
+ * vacío.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public class AuditFilter extends OncePerRequestFilter {
+
+    /** Atributo de la request con el email del intento. */
+    public static final String SUBJECT = AuditFilter.class.getName() + ".subject";
+
+    private final AuditTrail auditTrail;
+
+    /**
+     * @param auditTrail auditoría de autenticación
+     */
+    public AuditFilter(AuditTrail auditTrail) {
+        this.auditTrail = auditTrail;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String action = actionOf(request.getServletPath());
+        if (action == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        int outcome = HttpStatus.INTERNAL_SERVER_ERROR.value();
+        try {
+            chain.doFilter(request, response);
+            outcome = response.getStatus();
+        } finally {
+            Object subject = request.getAttribute(SUBJECT);
+            auditTrail.record(new AuditEntry(Instant.now(), action,
+                    subject instanceof String ? (String) subject : null, outcome, request.getRemoteAddr()));
+        }
+    }
+
+    private static String actionOf(String path) {
+        switch (path) {
+            case "/sign-up": return AuditEntry.SIGN_UP;
+            case "/login": return AuditEntry.LOGIN;
+            default: return null;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.userservice.audit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Parámetros de la auditoría de autenticación ({@code app.audit.*}).
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.audit")
+public class AuditProperties {
+
+    /** Habilita la auditoría. */
+    private boolean enabled = true;
+
+    /** Destino de los registros. */
+    private SinkType sink = SinkType.JDBC;
+
+    /** Capacidad del buffer (se redondea a potencia de dos). */
+    private int bufferCapacity = 8192;
+
+    /** Política cuando el buffer está lleno. */
+    private AuditRingBuffer.Backpressure backpressure = AuditRingBuffer.Backpressure.DROP_OLDEST;
+
+    /** Registros por escritura. */
+    private int batchSize = 256;
+
+    /** Registros recientes disponibles para consulta (mayor que 0). */
+    private int recentCapacity = 1000;
+
+    /** Intentos de escritura de un lote antes de descartarlo. */
+    private int maxAttempts = 10;
+
+    /** Directorio de los segmentos cuando {@code sink=file}. */
+    private String directory = "./data/audit";
+
+    /** Tamaño de cada segmento (bytes) cuando {@code sink=file}. */
+    private int segmentBytes = 16 * 1024 * 1024;
+
+    /** Segmentos a conservar cuando {@code sink=file}. */
+    private int maxFiles = 8;
+
+    /**
+     * Destinos disponibles.
+     */
+    public enum SinkType {
+        /** Tabla {@code audit_log} ({@link JdbcAuditSink}). */
+        JDBC,
+        /** Archivos rotativos mapeados en memoria ({@link MappedFileAuditSink}). */
+        FILE
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.userservice.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Buffer circular acotado y sin locks para muchos productores y un consumidor.
+ *
+ * <p>Cada celda tiene un número de secuencia que indica si está libre para el productor
+ * del turno o lista para el consumidor; productores y consumidor solo compiten por un
+ * CAS sobre su índice. Cuando el buffer está lleno, {@link #offer} aplica la política
+ * configurada:</p>
+ * <ul>
+ *   <li>{@link Backpressure#DROP_OLDEST}: el productor descarta el elemento más viejo
+ *       (compitiendo con el consumidor por él) y reintenta; nunca se bloquea.</li>
+ *   <li>{@link Backpressure#BLOCK}: el productor espera a que el consumidor libere lugar.</li>
+ * </ul>
+ *
+ * @param <T> tipo de los elementos
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public final class AuditRingBuffer<T> {
+
+    /**
+     * Política cuando el buffer está lleno.
+     */
+    public enum Backpressure {
+        /** Descartar el elemento más viejo. */
+        DROP_OLDEST,
+        /** Esperar a que haya lugar. */
+        BLOCK
+    }
+
+    private static final long MAX_PARK_NANOS = 100_000;
+
+    private final int mask;
+    private final AtomicReferenceArray<T> items;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Backpressure backpressure;
+
+    /**
+     * @param capacity capacidad (se redondea a la siguiente potencia de dos)
+     * @param backpressure política cuando el buffer está lleno
+     */
+    public AuditRingBuffer(int capacity, Backpressure backpressure) {
+        if (capacity < 2) throw new IllegalArgumentException("capacity debe ser al menos 2");
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.items = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.backpressure = backpressure;
+    }
+
+    /**
+     * Agrega un elemento aplicando la política de backpressure si está lleno.
+     *
+     * @param item elemento a agregar
+     */
+    public void offer(T item) {
+        long parkNanos = 1_000;
+        while (!tryOffer(item)) {
+            if (backpressure == Backpressure.DROP_OLDEST) {
+                if (poll() != null) dropped.incrementAndGet();
+            } else {
+                LockSupport.parkNanos(parkNanos);
+                parkNanos = Math.min(parkNanos << 1, MAX_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * @param item elemento a agregar
+     * @return {@code false} si el buffer está lleno
+     */
+    public boolean tryOffer(T item) {
+        long pos = tail.get();
+        while (true) {
+            int idx = (int) pos & mask;
+            long diff = sequences.get(idx) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    items.lazySet(idx, item);
+                    sequences.set(idx, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * @return el elemento más viejo, o {@code null} si está vacío
+     */
+    public T poll() {
+        long pos = head.get();
+        while (true) {
+            int idx = (int) pos & mask;
+            long diff = sequences.get(idx) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    T item = items.get(idx);
+                    items.lazySet(idx, null);
+                    sequences.set(idx, pos + mask + 1);
+                    return item;
+                }
+                pos = head.get();
+            } else if (diff < 0) {
+                return null;
+            } else {
+                pos = head.get();
+            }
+        }
+    }
+
+    /**
+     * Extrae hasta {@code max} elementos en orden de llegada.
+     *
+     * @param target lista destino
+     * @param max máximo a extraer
+     * @return cantidad extraída
+     */
+    public int drainTo(List<? super T> target, int max) {
+        int n = 0;
+        T item;
+        while (n < max && (item = poll()) != null) {
+            target.add(item);
+            n++;
+        }
+        return n;
+    }
+
+    /** @return elementos descartados por {@link Backpressure#DROP_OLDEST} */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /** @return cantidad aproximada de elementos pendientes */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    /** @return capacidad real (potencia de dos) */
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.userservice.audit;
+
+import java.util.List;
+
+/**
+ * Destino persistente de los registros de auditoría.
+ *
+ * <p>Lo invoca únicamente el hilo consumidor de {@link AuditTrail}, por lo que las
+ * implementaciones no necesitan ser thread-safe.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public interface AuditSink {
+
+    /**
+     * Persiste un lote de registros, en orden.
+     *
+     * <p>Si falla, {@link AuditTrail} vuelve a llamarlo con la misma instancia de lista
+     * hasta que termine.</p>
+     *
+     * @param batch registros a persistir
+     * @throws Exception si no se pudo persistir el lote
+     */
+    void write(List<AuditEntry> batch) throws Exception;
+}
@@ -0,0 +1,41 @@
+package com.example.userservice.audit;
+
+import com.example.userservice.dto.SignUpRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+
+/**
+ * Deja el email de {@code /sign-up} en el atributo {@link AuditFilter#SUBJECT} apenas se
+ * lee el cuerpo, antes de la validación, para que también los {@code 400} queden en la
+ * auditoría con su email.
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@ControllerAdvice
+public class AuditSubjectAdvice extends RequestBodyAdviceAdapter {
+
+    @Override
+    public boolean supports(MethodParameter parameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return SignUpRequest.class == parameter.getParameterType();
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(AuditFilter.SUBJECT, ((SignUpRequest) body).getEmail(),
+                    RequestAttributes.SCOPE_REQUEST);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.userservice.audit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Registro asíncrono de auditoría de {@code /sign-up} y {@code /login}.
+ *
+ * <p>Los hilos de las requests solo encolan el registro en un {@link AuditRingBuffer}
+ * (sin locks ni E/S). Un único hilo consumidor ({@code audit-writer}) lo drena en
+ * lotes hacia el {@link AuditSink} configurado y mantiene en memoria los últimos
+ * registros para {@link #recent(int, String)}.</p>
+ *
+ * <p>Si el sink falla, el consumidor reintenta la misma lista con espera creciente
+ * (el sink puede usarla para no repetir lo que ya persistió); mientras tanto el buffer
+ * se llena y aplica su política de backpressure. Después de {@code maxAttempts}
+ * intentos el lote se descarta y se cuenta en {@link #getDiscarded()}, para que un sink
+ * caído no detenga la auditoría para siempre.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Slf4j
+public class AuditTrail implements Closeable {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long MAX_RETRY_MILLIS = 1_000;
+
+    private final AuditRingBuffer<AuditEntry> buffer;
+    private final AuditSink sink;
+    private final int batchSize;
+    private final int recentCapacity;
+    private final int maxAttempts;
+    private final ArrayDeque<AuditEntry> recent;
+    private final Thread consumer;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+    private volatile boolean running = true;
+
+    /**
+     * @param buffer buffer compartido con los productores
+     * @param sink destino persistente
+     * @param batchSize registros por escritura
+     * @param recentCapacity registros recientes que se conservan para consultas
+     * @param maxAttempts escrituras de un mismo lote antes de descartarlo
+     * @throws IllegalArgumentException si {@code recentCapacity} o {@code maxAttempts} no son positivos
+     */
+    public AuditTrail(AuditRingBuffer<AuditEntry> buffer, AuditSink sink, int batchSize, int recentCapacity,
+                      int maxAttempts) {
+        if (recentCapacity <= 0) {
+            throw new IllegalArgumentException("recentCapacity debe ser positivo: " + recentCapacity);
+        }
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("maxAttempts debe ser positivo: " + maxAttempts);
+        }
+        this.buffer = buffer;
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.recentCapacity = recentCapacity;
+        this.maxAttempts = maxAttempts;
+        this.recent = new ArrayDeque<>(recentCapacity);
+        this.consumer = new Thread(this::consume, "audit-writer");
+        this.consumer.setDaemon(true);
+    }
+
+    /**
+     * Inicia el hilo consumidor.
+     */
+    public void start() {
+        consumer.start();
+    }
+
+    /**
+     * Encola un registro. No hace E/S; con {@link AuditRingBuffer.Backpressure#BLOCK}
+     * puede esperar si el buffer está lleno.
+     *
+     * @param entry registro de auditoría
+     */
+    public void record(AuditEntry entry) {
+        buffer.offer(entry);
+    }
+
+    /**
+     * Últimos registros persistidos, del más nuevo al más viejo.
+     *
+     * @param limit máximo de registros a devolver (un valor negativo se toma como 0)
+     * @param subject si no es {@code null}, filtra por email
+     * @return registros recientes
+     */
+    public List<AuditEntry> recent(int limit, String subject) {
+        int max = Math.max(0, Math.min(limit, recentCapacity));
+        List<AuditEntry> result = new ArrayList<>(max);
+        synchronized (recent) {
+            Iterator<AuditEntry> it = recent.descendingIterator();
+            while (it.hasNext() && result.size() < max) {
+                AuditEntry e = it.next();
+                if (subject == null || subject.equalsIgnoreCase(e.getSubject())) {
+                    result.add(e);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Detiene el consumidor después de persistir lo pendiente.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (sink instanceof Closeable) {
+            try {
+                ((Closeable) sink).close();
+            } catch (Exception e) {
+                log.warn("No se pudo cerrar el sink de auditoría: {}", e.toString());
+            }
+        }
+    }
+
+    private void consume() {
+        List<AuditEntry> batch = new ArrayList<>(batchSize);
+        while (true) {
+            if (buffer.drainTo(batch, batchSize) == 0) {
+                if (!running) return;
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            persist(batch);
+            batch.clear();
+        }
+    }
+
+    private void persist(List<AuditEntry> batch) {
+        long waitMillis = 10;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                sink.write(batch);
+                break;
+            } catch (Exception e) {
+                failures.incrementAndGet();
+                if (!running) {
+                    discarded.addAndGet(batch.size());
+                    log.error("Se descartan {} registros de auditoría al cerrar: {}", batch.size(), e.toString());
+                    return;
+                }
+                if (attempt == maxAttempts) {
+                    discarded.addAndGet(batch.size());
+                    log.error("Se descartan {} registros de auditoría después de {} intentos: {}",
+                            batch.size(), attempt, e.toString());
+                    return;
+                }
+                log.warn("No se pudo escribir la auditoría, se reintenta en {} ms: {}", waitMillis, e.toString());
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(waitMillis));
+                waitMillis = Math.min(waitMillis * 2, MAX_RETRY_MILLIS);
+            }
+        }
+        written.addAndGet(batch.size());
+        synchronized (recent) {
+            for (AuditEntry e : batch) {
+                if (recent.size() == recentCapacity) recent.pollFirst();
+                recent.addLast(e);
+            }
+        }
+    }
+
+    /** @return registros persistidos desde el arranque */
+    public long getWritten() {
+        return written.get();
+    }
+
+    /** @return escrituras fallidas (reintentadas) desde el arranque */
+    public long getFailures() {
+        return failures.get();
+    }
+
+    /** @return registros descartados porque el sink siguió fallando */
+    public long getDiscarded() {
+        return discarded.get();
+    }
+
+    /** @return registros descartados por backpressure */
+    public long getDropped() {
+        return buffer.getDropped();
+    }
+
+    /** @return registros pendientes en el buffer */
+    public int getPending() {
+        return buffer.size();
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.userservice.audit;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * {@link AuditSink} que inserta cada lote en la tabla {@code audit_log} con un único
+ * batch JDBC.
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public class JdbcAuditSink implements AuditSink {
+
+    private static final String INSERT =
+            "INSERT INTO audit_log (ts, action, subject, outcome, client_ip) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbc;
+
+    /**
+     * @param jdbc acceso JDBC a la base de auditoría
+     */
+    public JdbcAuditSink(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public void write(List<AuditEntry> batch) {
+        jdbc.batchUpdate(INSERT, batch, batch.size(), (ps, e) -> {
+            ps.setTimestamp(1, Timestamp.from(e.getTimestamp()));
+            ps.setString(2, e.getAction());
+            ps.setString(3, e.getSubject());
+            ps.setInt(4, e.getOutcome());
+            ps.setString(5, e.getClientIp());
+        });
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.userservice.audit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link AuditSink} que agrega los registros a archivos rotativos mapeados en memoria.
+ *
+ * <p>Cada segmento ({@code audit-N.log}) se mapea completo al abrirse, de modo que
+ * escribir un registro es copiar bytes en memoria; el sistema operativo los lleva a
+ * disco. Cuando un registro no entra en el segmento actual, este se fuerza a disco, se
+ * trunca a lo escrito y se abre el siguiente; se conservan los últimos
+ * {@code maxFiles} segmentos.</p>
+ *
+ * <p>Si la rotación falla a mitad de un lote, el sink recuerda cuántos registros de ese
+ * lote ya copió: {@link AuditTrail} reintenta con la misma lista y solo se escribe el
+ * resto, sin duplicados. Un registro más grande que un segmento no entraría nunca; se
+ * descarta y se cuenta en {@link #getOversized()}.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Slf4j
+public class MappedFileAuditSink implements AuditSink, Closeable {
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int maxFiles;
+    private final AtomicLong oversized = new AtomicLong();
+
+    private long segment;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private List<AuditEntry> inProgress;
+    private int copied;
+
+    /**
+     * @param directory directorio de los segmentos (se crea si no existe)
+     * @param segmentBytes tamaño de cada segmento
+     * @param maxFiles segmentos a conservar
+     * @throws IOException si no se puede abrir el primer segmento
+     */
+    public MappedFileAuditSink(Path directory, int segmentBytes, int maxFiles) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxFiles = maxFiles;
+        Files.createDirectories(directory);
+        this.segment = nextSegmentNumber();
+        open();
+    }
+
+    @Override
+    public void write(List<AuditEntry> batch) throws IOException {
+        if (batch != inProgress) {
+            inProgress = batch;
+            copied = 0;
+        }
+        for (int i = copied; i < batch.size(); i++) {
+            byte[] line = batch.get(i).toLine().getBytes(StandardCharsets.UTF_8);
+            if (line.length > segmentBytes) {
+                oversized.incrementAndGet();
+                log.warn("Se descarta un registro de auditoría de {} bytes, mayor que el segmento", line.length);
+            } else {
+                if (!channel.isOpen() || line.length > buffer.remaining()) {
+                    roll();
+                }
+                buffer.put(line);
+            }
+            copied = i + 1;
+        }
+        inProgress = null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel.isOpen()) {
+            seal();
+        }
+    }
+
+    /** @return registros descartados por ser más grandes que un segmento */
+    public long getOversized() {
+        return oversized.get();
+    }
+
+    /**
+     * Cierra el segmento actual y abre el siguiente. Si falla se puede volver a llamar:
+     * un segmento ya cerrado no se vuelve a cerrar ni se saltea un número.
+     */
+    private void roll() throws IOException {
+        if (channel.isOpen()) {
+            seal();
+            segment++;
+        }
+        open();
+        Files.deleteIfExists(segmentPath(segment - maxFiles));
+    }
+
+    private void open() throws IOException {
+        FileChannel opened = FileChannel.open(segmentPath(segment), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            buffer = opened.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        } catch (IOException e) {
+            opened.close();
+            throw e;
+        }
+        channel = opened;
+    }
+
+    private void seal() throws IOException {
+        buffer.force();
+        channel.truncate(buffer.position());
+        channel.close();
+    }
+
+    private long nextSegmentNumber() throws IOException {
+        long max = -1;
+        try (var files = Files.newDirectoryStream(directory, "audit-*.log")) {
+            for (Path p : files) {
+                String name = p.getFileName().toString();
+                try {
+                    max = Math.max(max, Long.parseLong(name.substring(6, name.length() - 4)));
+                } catch (NumberFormatException ignored) {
+                    // no es un segmento propio
+                }
+            }
+        }
+        return max + 1;
+    }
+
+    private Path segmentPath(long n) {
+        return directory.resolve("audit-" + n + ".log");
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.userservice.concurrency;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Límite de concurrencia adaptativo con política AIMD (additive increase,
+ * multiplicative decrease) sobre la latencia observada.
+ *
+ * <p>Funcionamiento:</p>
+ * <ul>
+ *   <li>{@link #tryAcquire()} admite la request solo si las requests en curso no
+ *       alcanzaron el límite actual; si lo alcanzaron la rechaza de inmediato
+ *       (no encola).</li>
+ *   <li>Al terminar, {@link #release(long)} informa la latencia: si supera el umbral
+ *       configurado el límite se multiplica por {@code backoffRatio} (como máximo una
+ *       vez por ventana de umbral, para no colapsar ante una ráfaga de muestras
+ *       lentas); si no, y el límite está al menos a medio uso, crece en uno.</li>
+ * </ul>
+ *
+ * <p>Todo el estado es atómico y sin bloqueos, por lo que es seguro llamarlo
+ * desde cualquier cantidad de hilos (incluidos hilos virtuales).</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong lastDecreaseNanos;
+    private final LongAdder rejected = new LongAdder();
+    private final LongSupplier clock;
+
+    /**
+     * @param name nombre del camino protegido (se usa como tag de métricas)
+     * @param initialLimit límite inicial
+     * @param minLimit límite mínimo
+     * @param maxLimit límite máximo
+     * @param latencyThresholdMillis latencia a partir de la cual una muestra se considera sobrecarga
+     * @param backoffRatio factor multiplicativo de reducción (entre 0 y 1)
+     */
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      long latencyThresholdMillis, double backoffRatio) {
+        this(name, initialLimit, minLimit, maxLimit, latencyThresholdMillis, backoffRatio, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                               long latencyThresholdMillis, double backoffRatio, LongSupplier clock) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Se requiere 1 <= minLimit <= initialLimit <= maxLimit");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio debe estar entre 0 y 1");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMillis);
+        this.backoffRatio = backoffRatio;
+        this.limit = new AtomicInteger(initialLimit);
+        this.clock = clock;
+        this.lastDecreaseNanos = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * Intenta admitir una request.
+     *
+     * @return {@code true} si fue admitida (debe llamarse luego a {@link #release(long)}),
+     *         {@code false} si se rechazó por estar en el límite
+     */
+    public boolean tryAcquire() {
+        for (;;) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera una request admitida y ajusta el límite según su latencia.
+     *
+     * @param latencyNanos duración de la request en nanosegundos
+     */
+    public void release(long latencyNanos) {
+        int current = inFlight.getAndDecrement();
+        if (latencyNanos > latencyThresholdNanos) {
+            long now = clock.getAsLong();
+            long last = lastDecreaseNanos.get();
+            if (now - last >= latencyThresholdNanos && lastDecreaseNanos.compareAndSet(last, now)) {
+                limit.updateAndGet(l -> Math.max(minLimit, (int) (l * backoffRatio)));
+            }
+        } else if (current * 2 >= limit.get()) {
+            limit.updateAndGet(l -> Math.min(maxLimit, l + 1));
+        }
+    }
+
+    /** @return nombre del camino protegido */
+    public String getName() {
+        return name;
+    }
+
+    /** @return límite de concurrencia actual */
+    public int getLimit() {
+        return limit.get();
+    }
+
+    /** @return requests admitidas que aún no terminaron */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /** @return cantidad total de requests rechazadas */
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.userservice.concurrency;
+
+import com.example.userservice.dto.exception.ErrorEnvelope;
+import com.example.userservice.serialization.UserJsonWriter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Filtro servlet que aplica un {@link AdaptiveConcurrencyLimiter} por endpoint.
+ *
+ * <p>Si el límite del camino está alcanzado responde de inmediato
+ * {@code 503 Service Unavailable} con un {@link ErrorEnvelope} y
+ * {@code Retry-After}, sin encolar la request. Las rutas sin limitador pasan
+ * directo.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Map<String, AdaptiveConcurrencyLimiter> limitersByPath;
+
+    /**
+     * @param limitersByPath limitador por ruta exacta (por ejemplo {@code /login})
+     */
+    public ConcurrencyLimitFilter(Map<String, AdaptiveConcurrencyLimiter> limitersByPath) {
+        this.limitersByPath = limitersByPath;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter limiter = limitersByPath.get(request.getServletPath());
+        if (limiter == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!limiter.tryAcquire()) {
+            reject(response);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limiter.release(System.nanoTime() - start);
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        UserJsonWriter.writeError(
+                ErrorEnvelope.of(HttpStatus.SERVICE_UNAVAILABLE.value(), "Servicio saturado, reintente más tarde"),
+                response.getOutputStream());
+    }
+}
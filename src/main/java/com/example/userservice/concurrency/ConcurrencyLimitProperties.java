@@ -0,0 +1,57 @@
+package com.example.userservice.concurrency;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Parámetros de los límites de concurrencia ({@code app.concurrency.*}).
+ *
+ * <p>{@code /sign-up} y {@code /login} tienen límites independientes porque su
+ * costo es muy distinto: el registro calcula un hash BCrypt y el login no.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.concurrency")
+public class ConcurrencyLimitProperties {
+
+    /** Habilita el filtro de límite de concurrencia. */
+    private boolean enabled = true;
+
+    /** Límite para {@code POST /sign-up}. */
+    private Path signUp = new Path(8, 1, 200, 500);
+
+    /** Límite para {@code GET /login}. */
+    private Path login = new Path(32, 2, 500, 100);
+
+    /**
+     * Parámetros AIMD de un camino.
+     */
+    @Getter
+    @Setter
+    public static class Path {
+        /** Límite inicial. */
+        private int initialLimit;
+        /** Límite mínimo. */
+        private int minLimit;
+        /** Límite máximo. */
+        private int maxLimit;
+        /** Latencia (ms) a partir de la cual se reduce el límite. */
+        private long latencyThresholdMillis;
+        /** Factor multiplicativo de reducción. */
+        private double backoffRatio = 0.9;
+
+        public Path() {
+        }
+
+        Path(int initialLimit, int minLimit, int maxLimit, long latencyThresholdMillis) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.latencyThresholdMillis = latencyThresholdMillis;
+        }
+    }
+}
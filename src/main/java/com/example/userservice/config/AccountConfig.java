@@ -0,0 +1,28 @@
+package com.example.userservice.config;
+
+import com.example.userservice.service.AccountStatusService;
+import com.example.userservice.support.AccountEndpoint;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de la administración del estado de las cuentas.
+ *
+ * <p>Publica el endpoint {@code /actuator/accounts} (conteo y listado de activos e
+ * inactivos, desactivación y reactivación).</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Configuration
+public class AccountConfig {
+
+    /**
+     * @param accountStatusService estado de las cuentas
+     * @return endpoint {@code /actuator/accounts}
+     */
+    @Bean
+    public AccountEndpoint accountEndpoint(AccountStatusService accountStatusService) {
+        return new AccountEndpoint(accountStatusService);
+    }
+}
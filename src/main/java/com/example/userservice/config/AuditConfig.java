@@ -0,0 +1,105 @@
+package com.example.userservice.config;
+
+import com.example.userservice.audit.AuditEndpoint;
+import com.example.userservice.audit.AuditEntry;
+import com.example.userservice.audit.AuditFilter;
+import com.example.userservice.audit.AuditProperties;
+import com.example.userservice.audit.AuditRingBuffer;
+import com.example.userservice.audit.AuditSink;
+import com.example.userservice.audit.AuditTrail;
+import com.example.userservice.audit.JdbcAuditSink;
+import com.example.userservice.audit.MappedFileAuditSink;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Configuración de la auditoría asíncrona de autenticación.
+ *
+ * <p>Arma el {@link AuditTrail} con el sink de {@code app.audit.sink}, registra el
+ * {@link AuditFilter} primero en la cadena de filtros (para ver también los rechazos
+ * y las repeticiones de los filtros siguientes), publica el endpoint
+ * {@code /actuator/audit} y exporta las métricas:</p>
+ * <ul>
+ *   <li>{@code audit.pending}: registros en el buffer</li>
+ *   <li>{@code audit.written}: registros persistidos</li>
+ *   <li>{@code audit.dropped}: registros descartados por backpressure</li>
+ *   <li>{@code audit.failures}: escrituras fallidas (reintentadas)</li>
+ *   <li>{@code audit.oversized}: registros descartados por no entrar en un segmento
+ *       (sink {@code file})</li>
+ * </ul>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.audit.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(AuditProperties.class)
+public class AuditConfig {
+
+    /**
+     * Auditoría con su hilo consumidor.
+     *
+     * @param properties parámetros de la auditoría
+     * @param jdbc acceso JDBC (sink {@code jdbc})
+     * @param registry registro de métricas de Micrometer
+     * @return {@link AuditTrail} iniciado (persiste lo pendiente al cerrar el contexto)
+     * @throws IOException si no se puede abrir el primer segmento (sink {@code file})
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public AuditTrail auditTrail(AuditProperties properties, JdbcTemplate jdbc, MeterRegistry registry)
+            throws IOException {
+        AuditSink sink;
+        if (properties.getSink() == AuditProperties.SinkType.FILE) {
+            MappedFileAuditSink file = new MappedFileAuditSink(Paths.get(properties.getDirectory()),
+                    properties.getSegmentBytes(), properties.getMaxFiles());
+            FunctionCounter.builder("audit.oversized", file, MappedFileAuditSink::getOversized).register(registry);
+            sink = file;
+        } else {
+            sink = new JdbcAuditSink(jdbc);
+        }
+        AuditRingBuffer<AuditEntry> buffer =
+                new AuditRingBuffer<>(properties.getBufferCapacity(), properties.getBackpressure());
+        AuditTrail trail = new AuditTrail(buffer, sink, properties.getBatchSize(), properties.getRecentCapacity(),
+                properties.getMaxAttempts());
+        Gauge.builder("audit.pending", trail, AuditTrail::getPending).register(registry);
+        FunctionCounter.builder("audit.written", trail, AuditTrail::getWritten).register(registry);
+        FunctionCounter.builder("audit.dropped", trail, AuditTrail::getDropped).register(registry);
+        FunctionCounter.builder("audit.failures", trail, AuditTrail::getFailures).register(registry);
+        FunctionCounter.builder("audit.discarded", trail, AuditTrail::getDiscarded).register(registry);
+        return trail;
+    }
+
+    /**
+     * @param auditTrail auditoría de autenticación
+     * @return registro del filtro para las rutas de autenticación
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<AuditFilter> auditFilter(AuditTrail auditTrail) {
+        FilterRegistrationBean<AuditFilter> registration = new FilterRegistrationBean<>(new AuditFilter(auditTrail));
+        registration.addUrlPatterns("/sign-up", "/login");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * @param auditTrail auditoría de autenticación
+     * @return endpoint {@code /actuator/audit}
+     */
+    @Bean
+    public AuditEndpoint auditEndpoint(AuditTrail auditTrail) {
+        return new AuditEndpoint(auditTrail);
+    }
+}
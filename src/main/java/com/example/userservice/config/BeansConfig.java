@@ -1,8 +1,14 @@
 package com.example.userservice.config;
 
+import com.example.userservice.datasource.ShardRouter;
+import com.example.userservice.datasource.ShardingProperties;
+import com.example.userservice.security.BoundedPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 /**
  * Clase de configuración de Spring que define beans utilizados en la aplicación.
@@ -18,6 +24,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
  * @since 1.0
  */
 @Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
 public class BeansConfig {
 
     /**
@@ -28,10 +35,39 @@ public class BeansConfig {
      * antes de persistirlas en la base de datos y para validarlas
      * durante el proceso de autenticación.</p>
      *
-     * @return una instancia de {@link BCryptPasswordEncoder}
+     * <p>Con hilos virtuales ({@code app.threads.virtual=true}) se envuelve en un
+     * {@link BoundedPasswordEncoder} para que BCrypt no ocupe todos los carrier threads.
+     * Por defecto hay un carrier por procesador, así que el límite deja uno libre.</p>
+     *
+     * @param virtualThreads {@code true} si las requests corren sobre hilos virtuales
+     * @param hashingPermits máximo de hashes simultáneos en modo hilos virtuales
+     *                       (0 = procesadores - 1, mínimo 1)
+     * @return el {@link PasswordEncoder} basado en BCrypt
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${app.threads.virtual:false}") boolean virtualThreads,
+                                           @Value("${app.threads.hashing-permits:0}") int hashingPermits) {
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder();
+        if (!virtualThreads) {
+            return bcrypt;
+        }
+        int permits = hashingPermits > 0
+                ? hashingPermits
+                : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        return new BoundedPasswordEncoder(bcrypt, permits);
+    }
+
+    /**
+     * Ruteo de usuarios a shards por hash del email.
+     *
+     * <p>Con el sharding deshabilitado hay un único shard y todo va al 0.</p>
+     *
+     * @param sharding propiedades {@code app.datasource.sharding.*}
+     * @return {@link ShardRouter} con la cantidad de shards configurada
      */
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public ShardRouter shardRouter(ShardingProperties sharding) {
+        int shards = sharding.isEnabled() ? sharding.getShards().size() : 1;
+        return new ShardRouter(sharding.getBuckets(), shards);
     }
 }
@@ -0,0 +1,75 @@
+package com.example.userservice.config;
+
+import com.example.userservice.concurrency.AdaptiveConcurrencyLimiter;
+import com.example.userservice.concurrency.ConcurrencyLimitFilter;
+import com.example.userservice.concurrency.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuración de los límites de concurrencia adaptativos de {@code /sign-up} y {@code /login}.
+ *
+ * <p>Registra el {@link ConcurrencyLimitFilter} antes que el resto de los filtros
+ * (incluido Spring Security, y solo después de los de auditoría e idempotencia), para que el
+ * rechazo sea lo más barato posible, y
+ * exporta por limitador las métricas:</p>
+ * <ul>
+ *   <li>{@code auth.concurrency.limit}: límite actual</li>
+ *   <li>{@code auth.concurrency.inflight}: requests en curso</li>
+ *   <li>{@code auth.concurrency.rejected}: total de rechazos con 503</li>
+ * </ul>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "app.concurrency.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class ConcurrencyLimitConfig {
+
+    /**
+     * Registra el filtro con un limitador por endpoint.
+     *
+     * @param properties parámetros de los límites
+     * @param registry registro de métricas de Micrometer
+     * @return registro del filtro para las rutas de autenticación
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(ConcurrencyLimitProperties properties,
+                                                                                 MeterRegistry registry) {
+        Map<String, AdaptiveConcurrencyLimiter> limiters = new HashMap<>();
+        limiters.put("/sign-up", bind(properties.getSignUp(), "sign-up", registry));
+        limiters.put("/login", bind(properties.getLogin(), "login", registry));
+
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(limiters));
+        registration.addUrlPatterns("/sign-up", "/login");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    private static AdaptiveConcurrencyLimiter bind(ConcurrencyLimitProperties.Path path, String name,
+                                                   MeterRegistry registry) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(name, path.getInitialLimit(),
+                path.getMinLimit(), path.getMaxLimit(), path.getLatencyThresholdMillis(), path.getBackoffRatio());
+        Gauge.builder("auth.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("path", name).register(registry);
+        Gauge.builder("auth.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("path", name).register(registry);
+        FunctionCounter.builder("auth.concurrency.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+                .tag("path", name).register(registry);
+        return limiter;
+    }
+}
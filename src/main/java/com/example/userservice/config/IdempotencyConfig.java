@@ -0,0 +1,68 @@
+package com.example.userservice.config;
+
+import com.example.userservice.idempotency.IdempotencyFilter;
+import com.example.userservice.idempotency.IdempotencyProperties;
+import com.example.userservice.idempotency.IdempotencyStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuración de las claves de idempotencia de {@code POST /sign-up}.
+ *
+ * <p>Registra el {@link IdempotencyFilter} al principio de la cadena (solo detrás de la
+ * auditoría), antes incluso del límite de concurrencia, para que una repetición cueste
+ * una búsqueda en el mapa y no ocupe un permiso. Exporta las métricas:</p>
+ * <ul>
+ *   <li>{@code idempotency.entries}: claves guardadas</li>
+ *   <li>{@code idempotency.replayed}: respuestas repetidas</li>
+ *   <li>{@code idempotency.evicted}: claves desalojadas por TTL o capacidad</li>
+ * </ul>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "app.idempotency.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+    /**
+     * @param properties parámetros de las claves
+     * @param registry registro de métricas de Micrometer
+     * @return almacén de respuestas por clave
+     */
+    @Bean
+    public IdempotencyStore idempotencyStore(IdempotencyProperties properties, MeterRegistry registry) {
+        IdempotencyStore store = new IdempotencyStore(properties.getMaxEntries(), properties.getTtlMillis(),
+                properties.getMaxResponseBytes());
+        Gauge.builder("idempotency.entries", store, IdempotencyStore::size).register(registry);
+        FunctionCounter.builder("idempotency.replayed", store, IdempotencyStore::getReplayed).register(registry);
+        FunctionCounter.builder("idempotency.evicted", store, IdempotencyStore::getEvicted).register(registry);
+        return store;
+    }
+
+    /**
+     * @param store almacén de respuestas por clave
+     * @param properties parámetros de las claves
+     * @return registro del filtro para {@code /sign-up}
+     */
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyStore store,
+                                                                       IdempotencyProperties properties) {
+        FilterRegistrationBean<IdempotencyFilter> registration =
+                new FilterRegistrationBean<>(new IdempotencyFilter(store, properties.getWaitTimeoutMillis(),
+                        properties.getMaxRequestBytes()));
+        registration.addUrlPatterns("/sign-up");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.userservice.config;
+
+import com.example.userservice.invalidation.InvalidationBus;
+import com.example.userservice.invalidation.InvalidationListener;
+import com.example.userservice.invalidation.InvalidationProperties;
+import com.example.userservice.invalidation.InvalidationPublisher;
+import com.example.userservice.invalidation.MulticastInvalidationBus;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.stream.Collectors;
+
+/**
+ * Configuración del bus de invalidación entre instancias.
+ *
+ * <p>Con {@code app.invalidation.enabled=true} une la instancia al grupo multicast,
+ * publica cada alta confirmada y entrega las de los demás nodos a todos los
+ * {@link InvalidationListener} del contexto (los cargadores de los índices de búsqueda
+ * y de teléfonos). Exporta las métricas:</p>
+ * <ul>
+ *   <li>{@code invalidation.pending}: invalidaciones esperando el próximo lote</li>
+ *   <li>{@code invalidation.frames.sent} / {@code invalidation.frames.received}: lotes enviados y aplicados</li>
+ *   <li>{@code invalidation.gaps}: saltos de secuencia detectados</li>
+ *   <li>{@code invalidation.flushes}: recargas completas</li>
+ *   <li>{@code invalidation.dropped}: invalidaciones descartadas por cola llena y tramas inválidas</li>
+ * </ul>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.invalidation.enabled", havingValue = "true")
+@EnableConfigurationProperties(InvalidationProperties.class)
+public class InvalidationConfig {
+
+    /**
+     * @param properties parámetros del bus
+     * @param listeners caches locales a mantener al día
+     * @param registry registro de métricas de Micrometer
+     * @return bus iniciado (se detiene con el contexto)
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public MulticastInvalidationBus invalidationBus(InvalidationProperties properties,
+                                                    ObjectProvider<InvalidationListener> listeners,
+                                                    MeterRegistry registry) {
+        MulticastInvalidationBus bus = new MulticastInvalidationBus(properties,
+                listeners.orderedStream().collect(Collectors.toList()));
+        Gauge.builder("invalidation.pending", bus, MulticastInvalidationBus::getPending).register(registry);
+        FunctionCounter.builder("invalidation.frames.sent", bus, MulticastInvalidationBus::getSent).register(registry);
+        FunctionCounter.builder("invalidation.frames.received", bus, MulticastInvalidationBus::getReceived)
+                .register(registry);
+        FunctionCounter.builder("invalidation.gaps", bus, MulticastInvalidationBus::getGaps).register(registry);
+        FunctionCounter.builder("invalidation.flushes", bus, MulticastInvalidationBus::getFlushes).register(registry);
+        FunctionCounter.builder("invalidation.dropped", bus, MulticastInvalidationBus::getDropped).register(registry);
+        return bus;
+    }
+
+    /**
+     * @param bus bus de invalidación
+     * @return listener que publica las altas y los cambios de estado confirmados en este nodo
+     */
+    @Bean
+    public InvalidationPublisher invalidationPublisher(InvalidationBus bus) {
+        return new InvalidationPublisher(bus);
+    }
+}
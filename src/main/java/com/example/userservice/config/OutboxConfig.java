@@ -0,0 +1,76 @@
+package com.example.userservice.config;
+
+import com.example.userservice.datasource.ShardRouter;
+import com.example.userservice.outbox.FileOutboxSink;
+import com.example.userservice.outbox.InMemoryOutboxSink;
+import com.example.userservice.outbox.OutboxProperties;
+import com.example.userservice.outbox.OutboxRelay;
+import com.example.userservice.outbox.OutboxSink;
+import com.example.userservice.repository.OutboxRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Configuración del relay del outbox transaccional.
+ *
+ * <p>Elige el {@link OutboxSink} según {@code app.outbox.sink} y arranca el
+ * {@link OutboxRelay} con el contexto. Exporta las métricas:</p>
+ * <ul>
+ *   <li>{@code outbox.relay.lag}: antigüedad (ms) del evento pendiente más viejo</li>
+ *   <li>{@code outbox.relay.published}: eventos publicados</li>
+ *   <li>{@code outbox.relay.failures}: pasadas fallidas (se reintentan)</li>
+ * </ul>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.outbox.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    /**
+     * Destino de los eventos.
+     *
+     * @param properties parámetros del outbox
+     * @return {@link InMemoryOutboxSink} o {@link FileOutboxSink}
+     * @throws IOException si no se puede abrir el archivo de salida
+     */
+    @Bean
+    public OutboxSink outboxSink(OutboxProperties properties) throws IOException {
+        if (properties.getSink() == OutboxProperties.SinkType.FILE) {
+            return new FileOutboxSink(Paths.get(properties.getFilePath()));
+        }
+        return new InMemoryOutboxSink(properties.getQueueCapacity());
+    }
+
+    /**
+     * Relay que drena el outbox de todos los shards.
+     *
+     * @param repository repositorio del outbox
+     * @param sink destino de los eventos
+     * @param shardRouter ruteo de shards (define cuántos recorrer)
+     * @param properties parámetros del outbox
+     * @param registry registro de métricas de Micrometer
+     * @return {@link OutboxRelay} iniciado (se detiene con el contexto)
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public OutboxRelay outboxRelay(OutboxRepository repository, OutboxSink sink, ShardRouter shardRouter,
+                                   OutboxProperties properties, MeterRegistry registry) {
+        OutboxRelay relay = new OutboxRelay(repository, sink, shardRouter.getShardCount(),
+                properties.getBatchSize(), properties.getPollIntervalMillis());
+        Gauge.builder("outbox.relay.lag", relay, OutboxRelay::getLagMillis)
+                .baseUnit("milliseconds").register(registry);
+        FunctionCounter.builder("outbox.relay.published", relay, OutboxRelay::getPublished).register(registry);
+        FunctionCounter.builder("outbox.relay.failures", relay, OutboxRelay::getFailures).register(registry);
+        return relay;
+    }
+}
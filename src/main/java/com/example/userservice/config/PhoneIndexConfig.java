@@ -0,0 +1,75 @@
+package com.example.userservice.config;
+
+import com.example.userservice.datasource.ShardRouter;
+import com.example.userservice.index.OffHeapPhoneIndex;
+import com.example.userservice.index.PhoneIndexRefresher;
+import com.example.userservice.service.PhoneLookupService;
+import com.example.userservice.support.PhoneLookupEndpoint;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Configuración de la búsqueda inversa por teléfono.
+ *
+ * <p>Publica el endpoint {@code /actuator/phones} y, con
+ * {@code app.phone-index.off-heap=true}, carga al iniciar un {@link OffHeapPhoneIndex}
+ * con los teléfonos de todos los shards ({@link PhoneIndexRefresher}) y exporta su tamaño:</p>
+ * <ul>
+ *   <li>{@code phone.index.entries}: números indexados</li>
+ *   <li>{@code phone.index.bytes}: memoria fuera del heap de la tabla</li>
+ * </ul>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Configuration
+public class PhoneIndexConfig {
+
+    /**
+     * @param phoneLookupService búsqueda inversa por teléfono
+     * @return endpoint {@code /actuator/phones}
+     */
+    @Bean
+    public PhoneLookupEndpoint phoneLookupEndpoint(PhoneLookupService phoneLookupService) {
+        return new PhoneLookupEndpoint(phoneLookupService);
+    }
+
+    /**
+     * Índice fuera del heap, vacío hasta que lo carga {@link #phoneIndexRefresher}.
+     *
+     * @param expectedEntries cantidad esperada de teléfonos
+     * @param registry registro de métricas de Micrometer
+     * @return índice vacío
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.phone-index.off-heap", havingValue = "true")
+    public OffHeapPhoneIndex offHeapPhoneIndex(@Value("${app.phone-index.expected-entries:100000}") int expectedEntries,
+                                               MeterRegistry registry) {
+        OffHeapPhoneIndex index = new OffHeapPhoneIndex(expectedEntries);
+        Gauge.builder("phone.index.entries", index, OffHeapPhoneIndex::size).register(registry);
+        Gauge.builder("phone.index.bytes", index, OffHeapPhoneIndex::getMemoryBytes)
+                .baseUnit("bytes").register(registry);
+        return index;
+    }
+
+    /**
+     * Carga el índice al iniciar, desde la columna {@code phone.e164} de cada shard, y lo
+     * mantiene al día con las invalidaciones de otros nodos.
+     *
+     * @param index índice fuera del heap
+     * @param jdbc acceso JDBC (ruteado por shard)
+     * @param shardRouter ruteo de shards
+     * @return cargador del índice
+     */
+    @Bean(initMethod = "refreshAll")
+    @ConditionalOnProperty(name = "app.phone-index.off-heap", havingValue = "true")
+    public PhoneIndexRefresher phoneIndexRefresher(OffHeapPhoneIndex index, JdbcTemplate jdbc,
+                                                   ShardRouter shardRouter) {
+        return new PhoneIndexRefresher(index, jdbc, shardRouter);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.userservice.config;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Configuración de la variante reactiva (perfil {@code reactive}).
+ *
+ * <p>Solo se activa cuando la aplicación corre sobre WebFlux/Netty y define:</p>
+ * <ul>
+ *   <li>Un {@link ConnectionFactory} R2DBC con pool sobre la misma base H2 en memoria
+ *       que usa JPA (el esquema lo crean las migraciones de Flyway sobre el {@code DataSource}
+ *       JDBC al iniciar; R2DBC no lo modifica).</li>
+ *   <li>Un {@link DatabaseClient} y un {@link TransactionalOperator} para el acceso
+ *       no bloqueante.</li>
+ *   <li>Un {@link Scheduler} acotado donde se ejecuta el trabajo de CPU (BCrypt y
+ *       firma/parseo de JWT) para no bloquear los event loops de Netty.</li>
+ * </ul>
+ *
+ * <p>El {@link R2dbcTransactionManager} no se publica como bean para no competir con
+ * el {@code JpaTransactionManager} que resuelve {@code @Transactional}.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConfig {
+
+    /**
+     * Fábrica de conexiones R2DBC con pool.
+     *
+     * @param url URL R2DBC (por ejemplo {@code r2dbc:pool:h2:mem:///usersdb})
+     * @param username usuario de la base
+     * @param password contraseña de la base
+     * @return {@link ConnectionFactory} configurada
+     */
+    @Bean
+    public ConnectionFactory connectionFactory(@Value("${app.reactive.r2dbc-url}") String url,
+                                               @Value("${app.reactive.username:sa}") String username,
+                                               @Value("${app.reactive.password:}") String password) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        return ConnectionFactories.get(options);
+    }
+
+    /**
+     * Cliente SQL reactivo.
+     *
+     * @param connectionFactory fábrica de conexiones R2DBC
+     * @return {@link DatabaseClient}
+     */
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    /**
+     * Operador transaccional reactivo basado en R2DBC.
+     *
+     * @param connectionFactory fábrica de conexiones R2DBC
+     * @return {@link TransactionalOperator}
+     */
+    @Bean
+    public TransactionalOperator transactionalOperator(ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    /**
+     * Scheduler acotado para trabajo de CPU (hash de contraseñas y JWT).
+     *
+     * <p>Usa tantos hilos como procesadores y una cola limitada: si se llena, las
+     * nuevas tareas se rechazan en lugar de acumular latencia.</p>
+     *
+     * @param queueCapacity cantidad máxima de tareas en espera
+     * @return {@link Scheduler} dedicado
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler authScheduler(@Value("${app.reactive.cpu-queue-capacity:1000}") int queueCapacity) {
+        return Schedulers.newBoundedElastic(Runtime.getRuntime().availableProcessors(), queueCapacity, "auth-cpu");
+    }
+}
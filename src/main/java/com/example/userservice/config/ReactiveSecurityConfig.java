@@ -0,0 +1,46 @@
+package com.example.userservice.config;
+
+import org.springframework.boot.actuate.autoconfigure.security.reactive.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+
+/**
+ * Equivalente reactivo de {@link SecurityConfig} para el perfil {@code reactive}.
+ *
+ * <p>Aplica las mismas reglas: CSRF deshabilitado, Actuator (salvo {@code health}) solo
+ * para el rol {@code ADMIN} con HTTP Basic, y acceso libre a {@code /sign-up},
+ * {@code /login} y al resto de las rutas.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+    /**
+     * Define la cadena de filtros de seguridad de WebFlux.
+     *
+     * @param http objeto de configuración de seguridad reactiva
+     * @return un {@link SecurityWebFilterChain} con las reglas de seguridad aplicadas
+     */
+    @Bean
+    public SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http) {
+        return http.csrf().disable()
+                .authorizeExchange()
+                    .matchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                    .matchers(EndpointRequest.toAnyEndpoint()).hasRole("ADMIN")
+                    .pathMatchers("/sign-up", "/login").permitAll()
+                    .anyExchange().permitAll()
+                .and()
+                .httpBasic()
+                .and()
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.userservice.config;
+
+import com.example.userservice.datasource.ReadWriteRoutingDataSource;
+import com.example.userservice.datasource.RoutingDataSourceProperties;
+import com.example.userservice.datasource.ShardDataSources;
+import com.example.userservice.datasource.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Configuración del ruteo de conexiones (perfiles {@code replicas} y {@code sharding}).
+ *
+ * <p>Reemplaza el {@link DataSource} autoconfigurado por un
+ * {@link LazyConnectionDataSourceProxy} sobre un {@link ReadWriteRoutingDataSource}:</p>
+ * <ul>
+ *   <li>Sin sharding hay un solo shard: la primaria de {@code spring.datasource.*} y las
+ *       réplicas de {@code app.datasource.routing.replicas}.</li>
+ *   <li>Con sharding cada shard de {@code app.datasource.sharding.shards} trae su
+ *       primaria y sus réplicas.</li>
+ * </ul>
+ *
+ * <p>Cada conexión tiene su propio pool Hikari, por lo que agregar réplicas o shards
+ * agrega capacidad.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Configuration
+@ConditionalOnExpression("${app.datasource.routing.enabled:false} or ${app.datasource.sharding.enabled:false}")
+@EnableConfigurationProperties(RoutingDataSourceProperties.class)
+public class RoutingDataSourceConfig {
+
+    /**
+     * DataSource de ruteo con los pools de todos los shards y sus réplicas.
+     *
+     * @param primaryProperties propiedades {@code spring.datasource.*}
+     * @param routing propiedades de las réplicas (sin sharding)
+     * @param sharding propiedades de los shards
+     * @return {@link ReadWriteRoutingDataSource} (se cierra con el contexto)
+     */
+    @Bean(destroyMethod = "close")
+    public ReadWriteRoutingDataSource routingDataSource(DataSourceProperties primaryProperties,
+                                                       RoutingDataSourceProperties routing,
+                                                       ShardingProperties sharding) {
+        String driver = primaryProperties.determineDriverClassName();
+        List<ShardDataSources> shards = new ArrayList<>();
+        if (sharding.isEnabled()) {
+            for (ShardingProperties.Shard s : sharding.getShards()) {
+                DataSource primary = pool(driver, s.getUrl(), s.getUsername(), s.getPassword(), sharding.isMigrateShards());
+                shards.add(new ShardDataSources(primary, replicas(driver, s.getReplicas(), sharding.isMigrateShards())));
+            }
+        } else {
+            DataSource primary = primaryProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            shards.add(new ShardDataSources(primary, replicas(driver, routing.getReplicas(), routing.isMigrateReplicas())));
+        }
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(shards);
+        routingDataSource.afterPropertiesSet();
+        return routingDataSource;
+    }
+
+    /**
+     * DataSource principal de la aplicación: demora la obtención de la conexión física
+     * hasta la primera sentencia, cuando ya se conoce el shard y si la transacción es
+     * de solo lectura.
+     *
+     * @param routingDataSource DataSource de ruteo
+     * @return {@link LazyConnectionDataSourceProxy} sobre el ruteo
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private static List<DataSource> replicas(String driver, List<RoutingDataSourceProperties.Replica> replicas,
+                                             boolean migrate) {
+        if (replicas.isEmpty()) return Collections.emptyList();
+        List<DataSource> pools = new ArrayList<>(replicas.size());
+        for (RoutingDataSourceProperties.Replica r : replicas) {
+            pools.add(pool(driver, r.getUrl(), r.getUsername(), r.getPassword(), migrate));
+        }
+        return pools;
+    }
+
+    private static DataSource pool(String driver, String url, String username, String password, boolean migrate) {
+        DataSource ds = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(driver)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        if (migrate) {
+            Flyway.configure().dataSource(ds).locations("classpath:db/migration").load().migrate();
+        }
+        return ds;
+    }
+}
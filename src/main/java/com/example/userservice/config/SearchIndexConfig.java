@@ -0,0 +1,116 @@
+package com.example.userservice.config;
+
+import com.example.userservice.datasource.ShardRouter;
+import com.example.userservice.index.PrefixSearchIndex;
+import com.example.userservice.index.SearchIndexRefresher;
+import com.example.userservice.repository.UserRepository;
+import com.example.userservice.service.UserSearchService;
+import com.example.userservice.support.UserSearchEndpoint;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Configuración de la búsqueda por prefijo sobre nombre y email.
+ *
+ * <p>El {@link PrefixSearchIndex} arranca vacío y, una vez lista la aplicación, se carga
+ * en un hilo aparte ({@code search-index-load}) con un escaneo en streaming de
+ * {@code users} en cada shard; las altas que llegan mientras tanto se agregan igual.
+ * Exporta {@code search.index.keys} con la cantidad de claves indexadas.</p>
+ *
+ * <p>Está deshabilitada salvo que se configure {@code app.search.enabled=true}.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.search.enabled", havingValue = "true", matchIfMissing = false)
+public class SearchIndexConfig {
+
+    /**
+     * Hilo de las fusiones del índice; se detiene al cerrar el contexto.
+     *
+     * @return executor de un solo hilo ({@code search-index-merge})
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService searchIndexMergeExecutor() {
+        return Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "search-index-merge");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * @param mergeThreshold altas acumuladas que disparan la fusión con la base
+     * @param searchIndexMergeExecutor hilo de las fusiones
+     * @param registry registro de métricas de Micrometer
+     * @return índice vacío (lo carga {@link #searchIndexRefresher})
+     */
+    @Bean
+    public PrefixSearchIndex prefixSearchIndex(@Value("${app.search.merge-threshold:4096}") int mergeThreshold,
+                                               ExecutorService searchIndexMergeExecutor, MeterRegistry registry) {
+        PrefixSearchIndex index = new PrefixSearchIndex(mergeThreshold, searchIndexMergeExecutor);
+        Gauge.builder("search.index.keys", index, PrefixSearchIndex::size).register(registry);
+        return index;
+    }
+
+    /**
+     * @param index índice de búsqueda
+     * @param userRepository repositorio de usuarios
+     * @param shardRouter ruteo de shards
+     * @return servicio de búsqueda (también mantiene el índice al día)
+     */
+    @Bean
+    public UserSearchService userSearchService(PrefixSearchIndex index, UserRepository userRepository,
+                                               ShardRouter shardRouter) {
+        return new UserSearchService(index, userRepository, shardRouter);
+    }
+
+    /**
+     * @param userSearchService búsqueda por prefijo
+     * @return endpoint {@code /actuator/usersearch}
+     */
+    @Bean
+    public UserSearchEndpoint userSearchEndpoint(UserSearchService userSearchService) {
+        return new UserSearchEndpoint(userSearchService);
+    }
+
+    /**
+     * @param index índice de búsqueda
+     * @param dataSource DataSource de la aplicación (ruteado por shard)
+     * @param shardRouter ruteo de shards
+     * @param fetchSize filas por ida y vuelta durante el escaneo
+     * @return cargador del índice (también aplica las invalidaciones de otros nodos)
+     */
+    @Bean
+    public SearchIndexRefresher searchIndexRefresher(PrefixSearchIndex index, DataSource dataSource,
+                                                     ShardRouter shardRouter,
+                                                     @Value("${app.search.fetch-size:1000}") int fetchSize) {
+        return new SearchIndexRefresher(index, dataSource, shardRouter, fetchSize);
+    }
+
+    /**
+     * Carga el índice en segundo plano, una vez lista la aplicación, sin demorar el arranque.
+     *
+     * @param refresher cargador del índice
+     * @return listener que lanza el hilo de carga
+     */
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> searchIndexLoader(SearchIndexRefresher refresher) {
+        return event -> {
+            Thread loader = new Thread(refresher::refreshAll, "search-index-load");
+            loader.setDaemon(true);
+            loader.start();
+        };
+    }
+}
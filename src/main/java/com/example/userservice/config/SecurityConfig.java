@@ -1,5 +1,8 @@
 package com.example.userservice.config;
 
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -24,18 +27,24 @@ import org.springframework.security.web.SecurityFilterChain;
  *   </li>
  *   <li>Configura cabeceras para permitir el uso de la consola H2
  *       dentro de un iframe ({@code frameOptions().sameOrigin()}).</li>
- *   <li>Actualmente todas las demás peticiones están permitidas
- *       sin autenticación ({@code anyRequest().permitAll()}).</li>
+ *   <li>Los endpoints de Actuator, salvo {@code health} (probes), requieren HTTP Basic
+ *       con rol {@code ADMIN}: {@code /actuator/accounts} desactiva cuentas. El usuario
+ *       es el de {@code spring.security.user} (sin contraseña configurada, Spring Boot
+ *       genera una al arrancar y la muestra en el log).</li>
+ *   <li>Todas las demás peticiones están permitidas sin autenticación
+ *       ({@code anyRequest().permitAll()}).</li>
  * </ul>
  *
  * <p>La anotación {@code @EnableWebSecurity} habilita la integración
- * de Spring Security en la aplicación.</p>
+ * de Spring Security en la aplicación. Solo aplica al stack servlet; el perfil
+ * {@code reactive} usa {@link ReactiveSecurityConfig}.</p>
  *
  * @author Federico Rosales
  * @since 1.0
  */
 @Configuration
 @EnableWebSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class SecurityConfig {
 
     /**
@@ -52,8 +61,12 @@ public class SecurityConfig {
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.csrf().disable()
             .authorizeRequests()
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                .requestMatchers(EndpointRequest.toAnyEndpoint()).hasRole("ADMIN")
                 .antMatchers("/sign-up", "/login", "/h2-console/**").permitAll()
                 .anyRequest().permitAll()
+            .and()
+                .httpBasic()
             .and()
                 .headers().frameOptions().sameOrigin(); // h2 console
         return http.build();
@@ -0,0 +1,77 @@
+package com.example.userservice.config;
+
+import com.example.userservice.startup.FirstRequestTimer;
+import com.example.userservice.startup.StartupTimelineReporter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuración del arranque: qué beans quedan fuera de la inicialización diferida y
+ * cómo se mide el tiempo hasta quedar disponible.
+ *
+ * <p>Con {@code spring.main.lazy-initialization=true} (perfil {@code fast-start}) los
+ * beans propios de la aplicación se siguen creando al arrancar, salvo los endpoints de
+ * Actuator: así la primera request no paga la creación del servicio, del
+ * {@code EntityManagerFactory} ni de las migraciones, y los hilos de fondo (relay del
+ * outbox, auditoría) arrancan con el contexto. Lo diferido es la infraestructura que
+ * ningún bean propio necesita.</p>
+ *
+ * <p>Exporta {@code startup.first.request} (ms desde el inicio de la JVM hasta la primera
+ * respuesta) y registra el {@link StartupTimelineReporter}.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Configuration
+public class StartupConfig {
+
+    private static final String APP_PACKAGE = "com.example.userservice.";
+
+    /**
+     * Beans que se crean al arrancar aunque la inicialización diferida esté activa.
+     *
+     * @return filtro que excluye a los beans de la aplicación, salvo los {@link Endpoint}
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerApplicationBeans() {
+        return (beanName, definition, type) -> type != null
+                && type.getName().startsWith(APP_PACKAGE)
+                && !AnnotatedElementUtils.hasAnnotation(type, Endpoint.class);
+    }
+
+    /**
+     * @param print {@code true} para imprimir fases y beans más costosos
+     * @param topBeans cantidad de beans a listar
+     * @param exitAfterReady {@code true} para terminar después de arrancar (entrenamiento AppCDS)
+     * @return reporte del arranque
+     */
+    @Bean
+    public StartupTimelineReporter startupTimelineReporter(@Value("${app.startup.timeline:false}") boolean print,
+                                                           @Value("${app.startup.top-beans:15}") int topBeans,
+                                                           @Value("${app.startup.exit-after-ready:false}") boolean exitAfterReady) {
+        return new StartupTimelineReporter(print, topBeans, exitAfterReady);
+    }
+
+    /**
+     * @param registry registro de métricas de Micrometer
+     * @return registro del filtro que mide la primera respuesta
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<FirstRequestTimer> firstRequestTimer(MeterRegistry registry) {
+        FirstRequestTimer timer = new FirstRequestTimer();
+        TimeGauge.builder("startup.first.request", timer, TimeUnit.MILLISECONDS, FirstRequestTimer::getFirstRequestMillis)
+                .register(registry);
+        return new FilterRegistrationBean<>(timer);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.userservice.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Modo opcional de ejecución de requests sobre hilos virtuales (perfil {@code virtual-threads}).
+ *
+ * <p>Reemplaza el pool de hilos de plataforma de Tomcat por un executor que crea un
+ * hilo virtual por request, de modo que las esperas de JDBC no consumen hilos del
+ * sistema operativo. La concurrencia efectiva queda acotada por el pool de conexiones
+ * (Hikari) y por {@link com.example.userservice.security.BoundedPasswordEncoder} para BCrypt.</p>
+ *
+ * <p>El proyecto compila para Java 11, por eso el executor se obtiene por reflexión:
+ * si la JVM no ofrece hilos virtuales (JDK 21+) el arranque falla con un mensaje claro
+ * en lugar de degradar en silencio al pool de plataforma.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "app.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+    /**
+     * Executor de un hilo virtual por tarea.
+     *
+     * @return {@link ExecutorService} basado en hilos virtuales
+     * @throws IllegalStateException si la JVM no soporta hilos virtuales
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("app.threads.virtual=true requiere un JDK 21 o superior ("
+                    + System.getProperty("java.version") + " en uso)", e);
+        }
+    }
+
+    /**
+     * Hace que Tomcat despache cada request en un hilo virtual.
+     *
+     * @param virtualThreadExecutor executor de hilos virtuales
+     * @return customizer del protocol handler de Tomcat
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+}
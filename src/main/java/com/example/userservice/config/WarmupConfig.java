@@ -0,0 +1,42 @@
+package com.example.userservice.config;
+
+import com.example.userservice.service.UserService;
+import com.example.userservice.warmup.CompiledMethods;
+import com.example.userservice.warmup.JitWarmup;
+import com.example.userservice.warmup.WarmupProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.Validator;
+
+/**
+ * Configuración del calentamiento del JIT previo a la readiness ({@code app.warmup.enabled=true}).
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true")
+@EnableConfigurationProperties(WarmupProperties.class)
+public class WarmupConfig {
+
+    /**
+     * @param userService servicio a calentar
+     * @param transactionManager transacciones JPA (cada ronda se revierte)
+     * @param validator validador de Bean Validation
+     * @param objectMapper mapper de Jackson de la aplicación
+     * @param properties parámetros del calentamiento
+     * @return runner que calienta antes de aceptar tráfico
+     */
+    @Bean
+    public JitWarmup jitWarmup(UserService userService, PlatformTransactionManager transactionManager,
+                               Validator validator, ObjectMapper objectMapper, WarmupProperties properties) {
+        return new JitWarmup(userService, new TransactionTemplate(transactionManager), validator, objectMapper,
+                new CompiledMethods()::sample, properties);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.userservice.config;
+
+import com.example.userservice.jfr.AuthRequestInterceptor;
+import com.example.userservice.serialization.UserCborHttpMessageConverter;
+import com.example.userservice.serialization.UserJsonHttpMessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Configuración de Spring MVC.
+ *
+ * <p>Registra el {@link UserJsonHttpMessageConverter} en primer lugar para que
+ * {@code UserResponse} y {@code ErrorEnvelope} se serialicen con el escritor
+ * especializado en lugar de Jackson, y detrás el {@link UserCborHttpMessageConverter}
+ * para los clientes que piden {@code Accept: application/cbor}. JSON queda primero:
+ * es el formato cuando el cliente acepta cualquiera.</p>
+ *
+ * <p>También registra el {@link AuthRequestInterceptor}, que mide las requests de
+ * autenticación como eventos JFR.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class WebConfig implements WebMvcConfigurer {
+
+    /**
+     * Agrega los conversores especializados al inicio de la lista de conversores.
+     *
+     * @param converters conversores ya configurados por Spring Boot
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new UserJsonHttpMessageConverter());
+        converters.add(1, new UserCborHttpMessageConverter());
+    }
+
+    /**
+     * Registra el interceptor JFR para {@code /sign-up} y {@code /login}.
+     *
+     * @param registry registro de interceptores de Spring MVC
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AuthRequestInterceptor()).addPathPatterns("/sign-up", "/login");
+    }
+}
@@ -1,16 +1,26 @@
 package com.example.userservice.controller;
 
+import com.example.userservice.audit.AuditFilter;
 import com.example.userservice.dto.exception.ErrorEnvelope;
 import com.example.userservice.dto.SignUpRequest;
 import com.example.userservice.dto.UserResponse;
+import com.example.userservice.serialization.UserFields;
+import com.example.userservice.serialization.UserView;
 import com.example.userservice.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 
 /**
@@ -22,17 +32,23 @@ import javax.validation.Valid;
  *   <li>{@code GET /login} para iniciar sesión y obtener un token JWT</li>
  * </ul>
  *
- * <p>Usa {@link UserService} para la lógica de negocio y maneja
- * errores devolviendo {@link ErrorEnvelope} con el código HTTP adecuado.</p>
+ * <p>Usa {@link UserService} para la lógica de negocio. Los errores se
+ * propagan como excepciones y el {@code GlobalExceptionHandler} los traduce
+ * a {@link ErrorEnvelope} con el código HTTP adecuado.</p>
+ *
+ * <p>Ambos endpoints aceptan {@code ?fields=id,token,...} para devolver solo esos
+ * atributos ({@link UserFields}) y responden en CBOR con {@code Accept: application/cbor}.</p>
  *
  * <p>La anotación {@code @RestController} indica que esta clase expone
  * endpoints REST y {@code @Validated} permite la validación automática
- * de los DTOs.</p>
+ * de los DTOs. Solo se registra sobre el stack servlet; en el perfil
+ * {@code reactive} los mismos endpoints los expone {@link ReactiveAuthController}.</p>
  *
  * @author Federico Rosales
  * @since 1.0
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 @Validated
 public class AuthController {
@@ -51,19 +67,24 @@ public class AuthController {
      *   <li>{@code 409 Conflict} si ya existe un usuario con el mismo email</li>
      * </ul>
      *
+     * <p>Los reintentos con el mismo {@code Idempotency-Key} los responde el
+     * {@code IdempotencyFilter} sin llegar hasta aquí. La auditoría ({@link AuditFilter})
+     * registra todos los intentos con el código final de la respuesta.</p>
+     *
      * @param request DTO con los datos de registro del usuario
+     * @param fields atributos a devolver, separados por coma; todos si se omite
      * @return {@link ResponseEntity} con {@link UserResponse} o {@link ErrorEnvelope}
      */
-    @PostMapping(value = "/sign-up", consumes = "application/json", produces = "application/json")
+    @PostMapping(value = "/sign-up", consumes = "application/json", produces = {"application/json", "application/cbor"})
     @Operation(summary = "Registra un nuevo usuario")
-    public ResponseEntity<?> signUp(@Valid @RequestBody SignUpRequest request) {
-        try {
-            UserResponse resp = userService.signUp(request);
-            return ResponseEntity.status(HttpStatus.CREATED).body(resp);
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.CONFLICT)
-                    .body(ErrorEnvelope.of(HttpStatus.CONFLICT.value(), e.getMessage()));
-        }
+    @Parameter(in = ParameterIn.HEADER, name = "Idempotency-Key", required = false,
+            description = "Clave para reintentar sin registrar dos veces: se repite la primera respuesta")
+    @ApiResponse(responseCode = "201", content = @Content(schema = @Schema(implementation = UserResponse.class)))
+    public ResponseEntity<UserView> signUp(@Valid @RequestBody SignUpRequest request,
+                                           @RequestParam(name = "fields", required = false) String fields) {
+        int selected = UserFields.parse(fields);
+        UserResponse resp = userService.signUp(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(new UserView(resp, selected));
     }
 
     /**
@@ -78,17 +99,22 @@ public class AuthController {
      *   <li>{@code 401 Unauthorized} si el token es inválido o el usuario no existe</li>
      * </ul>
      *
+     * <p>Solo un login exitoso deja el email para la auditoría: si falla, el token
+     * puede no ser confiable.</p>
+     *
      * @param authorization token Bearer enviado en el header Authorization
+     * @param fields atributos a devolver, separados por coma; todos si se omite
+     * @param http request HTTP (lleva el email a la auditoría)
      * @return {@link ResponseEntity} con {@link UserResponse} o {@link ErrorEnvelope}
      */
-    @GetMapping(value = "/login", produces = "application/json")
-    public ResponseEntity<?> login(@RequestHeader(name = "Authorization", required = false) String authorization) {
-        try {
-            UserResponse resp = userService.login(authorization);
-            return ResponseEntity.ok(resp);
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(ErrorEnvelope.of(HttpStatus.UNAUTHORIZED.value(), e.getMessage()));
-        }
+    @GetMapping(value = "/login", produces = {"application/json", "application/cbor"})
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = UserResponse.class)))
+    public ResponseEntity<UserView> login(@RequestHeader(name = "Authorization", required = false) String authorization,
+                                          @RequestParam(name = "fields", required = false) String fields,
+                                          HttpServletRequest http) {
+        int selected = UserFields.parse(fields);
+        UserResponse resp = userService.login(authorization);
+        http.setAttribute(AuditFilter.SUBJECT, resp.getEmail());
+        return ResponseEntity.ok(new UserView(resp, selected));
     }
 }
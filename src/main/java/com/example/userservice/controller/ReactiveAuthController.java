@@ -0,0 +1,59 @@
+package com.example.userservice.controller;
+
+import com.example.userservice.dto.SignUpRequest;
+import com.example.userservice.dto.UserResponse;
+import com.example.userservice.dto.exception.ErrorEnvelope;
+import com.example.userservice.service.ReactiveUserService;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+
+/**
+ * Versión WebFlux de {@link AuthController} para el perfil {@code reactive}.
+ *
+ * <p>Expone los mismos endpoints con los mismos contratos de request/response;
+ * la lógica se delega en {@link ReactiveUserService} y los errores los traduce
+ * el {@code GlobalExceptionHandler} a {@link ErrorEnvelope}.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Validated
+public class ReactiveAuthController {
+
+    private final ReactiveUserService userService;
+
+    /**
+     * Endpoint reactivo para registrar un nuevo usuario.
+     *
+     * @param request DTO con los datos de registro del usuario
+     * @return {@link Mono} con {@code 201 Created} y el {@link UserResponse}
+     */
+    @PostMapping(value = "/sign-up", consumes = "application/json", produces = "application/json")
+    @Operation(summary = "Registra un nuevo usuario")
+    public Mono<ResponseEntity<UserResponse>> signUp(@Valid @RequestBody SignUpRequest request) {
+        return userService.signUp(request)
+                .map(resp -> ResponseEntity.status(HttpStatus.CREATED).body(resp));
+    }
+
+    /**
+     * Endpoint reactivo para iniciar sesión.
+     *
+     * @param authorization token Bearer enviado en el header Authorization
+     * @return {@link Mono} con {@code 200 OK} y el {@link UserResponse}
+     */
+    @GetMapping(value = "/login", produces = "application/json")
+    public Mono<ResponseEntity<UserResponse>> login(@RequestHeader(name = "Authorization", required = false) String authorization) {
+        return userService.login(authorization).map(ResponseEntity::ok);
+    }
+}
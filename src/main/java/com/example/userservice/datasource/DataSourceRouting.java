@@ -0,0 +1,45 @@
+package com.example.userservice.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Contexto por hilo que permite forzar que las lecturas vayan a la base primaria.
+ *
+ * <p>Lo consulta {@link ReadWriteRoutingDataSource} al momento de obtener la conexión
+ * física; por eso debe activarse antes de que la transacción ejecute su primera
+ * sentencia.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public final class DataSourceRouting {
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private DataSourceRouting() {
+    }
+
+    /**
+     * Ejecuta la operación enviando incluso las transacciones de solo lectura a la primaria.
+     *
+     * @param work operación a ejecutar
+     * @param <T> tipo de resultado
+     * @return resultado de la operación
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) FORCE_PRIMARY.remove(); else FORCE_PRIMARY.set(previous);
+        }
+    }
+
+    /**
+     * @return {@code true} si el hilo actual debe leer de la primaria
+     */
+    public static boolean isPrimaryForced() {
+        return Boolean.TRUE.equals(FORCE_PRIMARY.get());
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.userservice.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link AbstractRoutingDataSource} que elige shard y separa lecturas de escrituras.
+ *
+ * <ul>
+ *   <li>El shard es el de {@link ShardContext} (0 si no se fijó ninguno).</li>
+ *   <li>Dentro del shard, las transacciones {@code @Transactional(readOnly = true)}
+ *       se reparten en round-robin entre sus réplicas.</li>
+ *   <li>El resto (y las lecturas dentro de {@link DataSourceRouting#onPrimary}) van
+ *       a la primaria del shard.</li>
+ * </ul>
+ *
+ * <p>Debe usarse detrás de un
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: el flag
+ * de solo lectura se publica después de que el transaction manager pide la conexión,
+ * y el proxy demora la elección hasta la primera sentencia SQL.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private final List<ShardDataSources> shards;
+    private final String[] primaryKeys;
+    private final String[][] replicaKeys;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Crea un ruteo de un solo shard.
+     *
+     * @param primary base de escritura
+     * @param replicas réplicas de lectura (puede estar vacía: todo va a la primaria)
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas) {
+        this(Collections.singletonList(new ShardDataSources(primary, replicas)));
+    }
+
+    /**
+     * Crea un ruteo sobre varios shards.
+     *
+     * @param shards conexiones de cada shard, en orden de índice
+     */
+    public ReadWriteRoutingDataSource(List<ShardDataSources> shards) {
+        if (shards.isEmpty()) throw new IllegalArgumentException("Se requiere al menos un shard");
+        this.shards = new ArrayList<>(shards);
+        this.primaryKeys = new String[shards.size()];
+        this.replicaKeys = new String[shards.size()][];
+        Map<Object, Object> targets = new HashMap<>();
+        for (int s = 0; s < shards.size(); s++) {
+            ShardDataSources shard = shards.get(s);
+            primaryKeys[s] = key(s, "primary");
+            targets.put(primaryKeys[s], shard.getPrimary());
+            replicaKeys[s] = new String[shard.getReplicas().size()];
+            for (int r = 0; r < replicaKeys[s].length; r++) {
+                replicaKeys[s][r] = key(s, "replica-" + r);
+                targets.put(replicaKeys[s][r], shard.getReplicas().get(r));
+            }
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0).getPrimary());
+    }
+
+    static String key(int shard, String role) {
+        return "shard-" + shard + "/" + role;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        int shard = ShardContext.current();
+        if (shard < 0 || shard >= primaryKeys.length) {
+            throw new IllegalStateException("Shard inexistente: " + shard);
+        }
+        String[] replicas = replicaKeys[shard];
+        if (replicas.length == 0
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || DataSourceRouting.isPrimaryForced()) {
+            return primaryKeys[shard];
+        }
+        return replicas[Math.floorMod(next.getAndIncrement(), replicas.length)];
+    }
+
+    /** @return cantidad de shards */
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    /**
+     * Cierra los pools de todas las primarias y réplicas.
+     */
+    @Override
+    public void close() throws IOException {
+        for (ShardDataSources shard : shards) {
+            closeQuietly(shard.getPrimary());
+            shard.getReplicas().forEach(ReadWriteRoutingDataSource::closeQuietly);
+        }
+    }
+
+    private static void closeQuietly(DataSource ds) {
+        if (ds instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) ds).close();
+            } catch (Exception ignored) {
+                // se está cerrando el contexto; no hay nada más que hacer
+            }
+        }
+    }
+}
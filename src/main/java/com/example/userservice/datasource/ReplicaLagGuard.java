@@ -0,0 +1,74 @@
+package com.example.userservice.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Protección read-after-write frente al retraso de replicación.
+ *
+ * <p>Recuerda durante una ventana configurable
+ * ({@code app.datasource.routing.replica-lag-window-millis}) los emails recién
+ * escritos en la primaria. Mientras la ventana no venza, las lecturas de ese
+ * usuario deben ir a la primaria porque la réplica podría no tenerlo todavía
+ * (por ejemplo, el primer {@code /login} justo después del {@code /sign-up}).</p>
+ *
+ * <p>Si el ruteo de réplicas está deshabilitado no registra nada.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Component
+public class ReplicaLagGuard {
+
+    private static final int PURGE_EVERY = 1024;
+
+    private final boolean enabled;
+    private final long windowNanos;
+    private final Map<String, Long> recentWrites = new ConcurrentHashMap<>();
+    private final AtomicInteger writesSincePurge = new AtomicInteger();
+
+    /**
+     * @param enabled {@code true} si hay ruteo a réplicas
+     * @param windowMillis ventana durante la cual se lee de la primaria tras una escritura
+     */
+    public ReplicaLagGuard(@Value("${app.datasource.routing.enabled:false}") boolean enabled,
+                           @Value("${app.datasource.routing.replica-lag-window-millis:2000}") long windowMillis) {
+        this.enabled = enabled;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+
+    /**
+     * Registra que el usuario acaba de escribirse en la primaria.
+     *
+     * @param email email del usuario escrito
+     */
+    public void recordWrite(String email) {
+        if (!enabled) return;
+        long now = System.nanoTime();
+        recentWrites.put(email, now);
+        if (writesSincePurge.incrementAndGet() >= PURGE_EVERY) {
+            writesSincePurge.set(0);
+            recentWrites.values().removeIf(t -> now - t > windowNanos);
+        }
+    }
+
+    /**
+     * @param email email del usuario a leer
+     * @return {@code true} si la lectura debe hacerse en la primaria
+     */
+    public boolean isRecentlyWritten(String email) {
+        if (!enabled) return false;
+        Long writtenAt = recentWrites.get(email);
+        if (writtenAt == null) return false;
+        if (System.nanoTime() - writtenAt > windowNanos) {
+            recentWrites.remove(email, writtenAt);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.userservice.datasource;
+
+import org.flywaydb.core.Flyway;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Herramienta offline para redistribuir usuarios al cambiar la cantidad de shards.
+ *
+ * <p>Recorre cada shard de origen por keyset sobre {@code id}, calcula el shard destino
+ * de cada usuario con el {@link ShardRouter} nuevo (siempre por hash del email, que es
+ * la clave autoritativa) y mueve los que cambian de base: copia el usuario y sus
+ * teléfonos al destino, confirma, y recién entonces los borra del origen. Si se
+ * interrumpe, volver a ejecutarla es seguro: la copia usa {@code MERGE} y reemplaza los
+ * teléfonos del usuario en el destino. Al terminar recalcula el contador de usuarios
+ * activos ({@code active_user_count}) de cada shard destino.</p>
+ *
+ * <p>Debe ejecutarse con la aplicación detenida. La cantidad de buckets tiene que ser
+ * la misma con la que se generaron los ids.</p>
+ *
+ * <pre>
+ * java -cp app.jar -Dloader.main=com.example.userservice.datasource.ReshardTool \
+ *      org.springframework.boot.loader.PropertiesLauncher \
+ *      --buckets=1024 --user=sa --password= --batch=500 \
+ *      --from=jdbc:h2:file:./data/s0,jdbc:h2:file:./data/s1 \
+ *      --to=jdbc:h2:file:./data/s0,jdbc:h2:file:./data/s1,jdbc:h2:file:./data/s2
+ * </pre>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public final class ReshardTool {
+
+    private static final String USER_COLUMNS =
+            "SELECT id, name, email, password, created, last_login, is_active, session_version, normalized_email "
+                    + "FROM users ";
+    private static final String SELECT_FIRST_USERS = USER_COLUMNS + "ORDER BY id LIMIT ?";
+    private static final String SELECT_NEXT_USERS = USER_COLUMNS + "WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String SELECT_PHONES =
+            "SELECT number, citycode, countrycode, e164 FROM phone WHERE user_id = ?";
+    private static final String MERGE_USER =
+            "MERGE INTO users (id, name, email, password, created, last_login, is_active, session_version, "
+                    + "normalized_email) KEY (id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_PHONES = "DELETE FROM phone WHERE user_id = ?";
+    private static final String INSERT_PHONE =
+            "INSERT INTO phone (number, citycode, countrycode, e164, user_id) VALUES (?, ?, ?, ?, ?)";
+    private static final String DELETE_USER = "DELETE FROM users WHERE id = ?";
+    private static final String RESET_ACTIVE_COUNT = "UPDATE active_user_count SET active = 0";
+    private static final String RECOUNT_ACTIVE =
+            "UPDATE active_user_count SET active = (SELECT COUNT(*) FROM users WHERE is_active) WHERE stripe = 0";
+
+    private final ShardRouter router;
+    private final List<String> from;
+    private final List<String> to;
+    private final String user;
+    private final String password;
+    private final int batchSize;
+
+    /**
+     * @param buckets cantidad de buckets virtuales
+     * @param from URLs JDBC de los shards actuales, en orden de índice
+     * @param to URLs JDBC de los shards nuevos, en orden de índice
+     * @param user usuario de las bases
+     * @param password contraseña de las bases
+     * @param batchSize usuarios leídos por consulta
+     */
+    public ReshardTool(int buckets, List<String> from, List<String> to, String user, String password, int batchSize) {
+        this.router = new ShardRouter(buckets, to.size());
+        this.from = from;
+        this.to = to;
+        this.user = user;
+        this.password = password;
+        this.batchSize = batchSize;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        Map<String, String> opts = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Argumento inválido: " + arg);
+            }
+            opts.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        if (!opts.containsKey("from") || !opts.containsKey("to")) {
+            throw new IllegalArgumentException("Se requieren --from y --to");
+        }
+        ReshardTool tool = new ReshardTool(
+                Integer.parseInt(opts.getOrDefault("buckets", "1024")),
+                Arrays.asList(opts.get("from").split(",")),
+                Arrays.asList(opts.get("to").split(",")),
+                opts.getOrDefault("user", "sa"),
+                opts.getOrDefault("password", ""),
+                Integer.parseInt(opts.getOrDefault("batch", "500")));
+        long moved = tool.run();
+        System.out.println("Usuarios movidos: " + moved);
+    }
+
+    /**
+     * Migra el esquema de los shards destino y mueve los usuarios que cambian de shard.
+     *
+     * @return cantidad de usuarios movidos
+     * @throws SQLException si falla el acceso a alguna base
+     */
+    public long run() throws SQLException {
+        for (String url : to) {
+            Flyway.configure().dataSource(url, user, password).locations("classpath:db/migration").load().migrate();
+        }
+        List<Connection> targets = new ArrayList<>(to.size());
+        try {
+            for (String url : to) {
+                Connection c = DriverManager.getConnection(url, user, password);
+                c.setAutoCommit(false);
+                targets.add(c);
+            }
+            long moved = 0;
+            for (String url : from) {
+                try (Connection source = DriverManager.getConnection(url, user, password)) {
+                    source.setAutoCommit(false);
+                    moved += drain(url, source, targets);
+                }
+            }
+            for (Connection target : targets) {
+                recountActive(target);
+            }
+            return moved;
+        } finally {
+            for (Connection c : targets) {
+                c.close();
+            }
+        }
+    }
+
+    private long drain(String sourceUrl, Connection source, List<Connection> targets) throws SQLException {
+        long moved = 0;
+        byte[] last = null;
+        while (true) {
+            List<Object[]> rows = new ArrayList<>(batchSize);
+            try (PreparedStatement ps = source.prepareStatement(last == null ? SELECT_FIRST_USERS : SELECT_NEXT_USERS)) {
+                int i = 1;
+                if (last != null) ps.setBytes(i++, last);
+                ps.setInt(i, batchSize);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        rows.add(new Object[]{rs.getBytes(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                                rs.getTimestamp(5), rs.getTimestamp(6), rs.getObject(7), rs.getObject(8),
+                                rs.getString(9)});
+                    }
+                }
+            }
+            if (rows.isEmpty()) return moved;
+            last = (byte[]) rows.get(rows.size() - 1)[0];
+
+            for (Object[] row : rows) {
+                int shard = router.shardForEmail((String) row[2]);
+                if (to.get(shard).equals(sourceUrl)) continue;
+                copy(row, source, targets.get(shard));
+                delete((byte[]) row[0], source);
+                moved++;
+            }
+        }
+    }
+
+    private static void copy(Object[] row, Connection source, Connection target) throws SQLException {
+        byte[] id = (byte[]) row[0];
+        try (PreparedStatement merge = target.prepareStatement(MERGE_USER)) {
+            for (int i = 0; i < row.length; i++) {
+                merge.setObject(i + 1, row[i]);
+            }
+            merge.executeUpdate();
+        }
+        try (PreparedStatement del = target.prepareStatement(DELETE_PHONES)) {
+            del.setBytes(1, id);
+            del.executeUpdate();
+        }
+        try (PreparedStatement select = source.prepareStatement(SELECT_PHONES);
+             PreparedStatement insert = target.prepareStatement(INSERT_PHONE)) {
+            select.setBytes(1, id);
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    insert.setObject(1, rs.getObject(1));
+                    insert.setObject(2, rs.getObject(2));
+                    insert.setString(3, rs.getString(3));
+                    insert.setObject(4, rs.getObject(4));
+                    insert.setBytes(5, id);
+                    insert.addBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        target.commit();
+    }
+
+    private static void delete(byte[] id, Connection source) throws SQLException {
+        try (PreparedStatement phones = source.prepareStatement(DELETE_PHONES);
+             PreparedStatement users = source.prepareStatement(DELETE_USER)) {
+            phones.setBytes(1, id);
+            phones.executeUpdate();
+            users.setBytes(1, id);
+            users.executeUpdate();
+        }
+        source.commit();
+    }
+
+    private static void recountActive(Connection target) throws SQLException {
+        try (PreparedStatement reset = target.prepareStatement(RESET_ACTIVE_COUNT);
+             PreparedStatement recount = target.prepareStatement(RECOUNT_ACTIVE)) {
+            reset.executeUpdate();
+            recount.executeUpdate();
+        }
+        target.commit();
+    }
+}
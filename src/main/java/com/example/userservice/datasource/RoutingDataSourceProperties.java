@@ -0,0 +1,52 @@
+package com.example.userservice.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parámetros del ruteo lectura/escritura ({@code app.datasource.routing.*}).
+ *
+ * <p>La primaria se configura con las propiedades estándar {@code spring.datasource.*};
+ * aquí solo se declaran las réplicas.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class RoutingDataSourceProperties {
+
+    /** Habilita el ruteo de transacciones de solo lectura a réplicas. */
+    private boolean enabled;
+
+    /**
+     * Aplica las migraciones de Flyway también en cada réplica. Solo para pruebas
+     * locales, donde las "réplicas" son bases independientes sin replicación real.
+     */
+    private boolean migrateReplicas;
+
+    /** Ventana (ms) tras una escritura durante la cual ese usuario se lee de la primaria. */
+    private long replicaLagWindowMillis = 2000;
+
+    /** Réplicas de lectura. */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Conexión a una réplica.
+     */
+    @Getter
+    @Setter
+    public static class Replica {
+        /** URL JDBC. */
+        private String url;
+        /** Usuario. */
+        private String username;
+        /** Contraseña. */
+        private String password;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.userservice.datasource;
+
+/**
+ * Shard activo para el hilo actual.
+ *
+ * <p>{@link ReadWriteRoutingDataSource} lo consulta al obtener la conexión física, por lo
+ * que debe fijarse antes de la primera sentencia SQL de la transacción. Sin shard
+ * explícito se usa el 0, que es el único cuando el sharding está deshabilitado.</p>
+ *
+ * <pre>
+ * try (ShardContext.Scope ignored = ShardContext.use(shard)) {
+ *     userRepository.findByNormalizedEmail(normalizedEmail);
+ * }
+ * </pre>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * Activa un shard hasta que se cierre el {@link Scope} devuelto.
+     *
+     * @param shard índice del shard
+     * @return scope que restaura el shard anterior al cerrarse
+     */
+    public static Scope use(int shard) {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(shard);
+        return scope;
+    }
+
+    /**
+     * @return shard activo, o 0 si no se fijó ninguno
+     */
+    public static int current() {
+        Integer shard = CURRENT.get();
+        return shard == null ? 0 : shard;
+    }
+
+    /**
+     * Alcance de un shard activo.
+     */
+    public static final class Scope implements AutoCloseable {
+        private final Integer previous;
+
+        private Scope(Integer previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) CURRENT.remove(); else CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.userservice.datasource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Conexiones de un shard: su primaria y sus réplicas de lectura.
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public final class ShardDataSources {
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+
+    /**
+     * @param primary base de escritura del shard
+     * @param replicas réplicas de lectura del shard (puede estar vacía)
+     */
+    public ShardDataSources(DataSource primary, List<DataSource> replicas) {
+        this.primary = primary;
+        this.replicas = Collections.unmodifiableList(new ArrayList<>(replicas));
+    }
+
+    /** @return base de escritura del shard */
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    /** @return réplicas de lectura del shard */
+    public List<DataSource> getReplicas() {
+        return replicas;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.userservice.datasource;
+
+import com.example.userservice.domain.Emails;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Ruteo de usuarios a shards por hash estable del email normalizado.
+ *
+ * <p>El espacio de claves se divide en {@code buckets} buckets virtuales fijos
+ * (FNV-1a de 64 bits sobre el email normalizado en UTF-8) y cada shard es dueño de
+ * un rango contiguo de buckets. Como la cantidad de buckets no cambia, un resharding
+ * solo mueve buckets completos entre shards (ver {@link ReshardTool}).</p>
+ *
+ * <p>Los ids de usuario llevan su bucket en los 16 bits más altos del UUID (el resto
+ * sigue siendo aleatorio y se respetan los bits de versión y variante), de modo que
+ * cualquier búsqueda por id sabe a qué shard ir sin consultar un directorio.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public class ShardRouter {
+
+    /** Cantidad máxima de buckets que se pueden codificar en el id. */
+    public static final int MAX_BUCKETS = 1 << 16;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int buckets;
+    private final int shardCount;
+
+    /**
+     * @param buckets cantidad de buckets virtuales (fija durante la vida de los datos)
+     * @param shardCount cantidad de shards
+     */
+    public ShardRouter(int buckets, int shardCount) {
+        if (buckets < 1 || buckets > MAX_BUCKETS) {
+            throw new IllegalArgumentException("buckets debe estar entre 1 y " + MAX_BUCKETS);
+        }
+        if (shardCount < 1 || shardCount > buckets) {
+            throw new IllegalArgumentException("shardCount debe estar entre 1 y buckets");
+        }
+        this.buckets = buckets;
+        this.shardCount = shardCount;
+    }
+
+    /**
+     * @param email email del usuario (se normaliza)
+     * @return bucket virtual del email
+     */
+    public int bucketForEmail(String email) {
+        byte[] bytes = Emails.normalize(email).getBytes(StandardCharsets.UTF_8);
+        long hash = FNV_OFFSET;
+        for (byte b : bytes) {
+            hash ^= (b & 0xFF);
+            hash *= FNV_PRIME;
+        }
+        return (int) Long.remainderUnsigned(hash, buckets);
+    }
+
+    /**
+     * @param email email del usuario (se normaliza)
+     * @return índice del shard dueño del email
+     */
+    public int shardForEmail(String email) {
+        return shardForBucket(bucketForEmail(email));
+    }
+
+    /**
+     * @param bucket bucket virtual
+     * @return índice del shard dueño del bucket
+     */
+    public int shardForBucket(int bucket) {
+        return (int) ((long) bucket * shardCount / buckets);
+    }
+
+    /**
+     * Genera un id aleatorio para un usuario nuevo con su bucket embebido.
+     *
+     * @param email email del usuario
+     * @return UUID versión 4 con el bucket en los 16 bits más altos
+     */
+    public UUID newUserId(String email) {
+        UUID random = UUID.randomUUID();
+        long msb = (random.getMostSignificantBits() & 0x0000_FFFF_FFFF_FFFFL) | ((long) bucketForEmail(email) << 48);
+        return new UUID(msb, random.getLeastSignificantBits());
+    }
+
+    /**
+     * @param id id de usuario generado con {@link #newUserId(String)}
+     * @return índice del shard que guarda ese usuario
+     */
+    public int shardForId(UUID id) {
+        return shardForBucket(bucketOf(id) % buckets);
+    }
+
+    /**
+     * @param id id de usuario
+     * @return bucket embebido en el id
+     */
+    public static int bucketOf(UUID id) {
+        return (int) (id.getMostSignificantBits() >>> 48);
+    }
+
+    /** @return cantidad de buckets virtuales */
+    public int getBuckets() {
+        return buckets;
+    }
+
+    /** @return cantidad de shards */
+    public int getShardCount() {
+        return shardCount;
+    }
+}
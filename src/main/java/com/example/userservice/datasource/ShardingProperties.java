@@ -0,0 +1,56 @@
+package com.example.userservice.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parámetros del sharding por email ({@code app.datasource.sharding.*}).
+ *
+ * <p>Con el sharding habilitado cada shard declara su propia conexión (y sus réplicas);
+ * {@code spring.datasource.*} solo aporta el driver. Deshabilitado, hay un único shard:
+ * la primaria de {@code spring.datasource} con las réplicas de
+ * {@link RoutingDataSourceProperties}.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.sharding")
+public class ShardingProperties {
+
+    /** Habilita el sharding por hash del email. */
+    private boolean enabled;
+
+    /**
+     * Cantidad de buckets virtuales. No debe cambiar una vez que hay datos:
+     * queda embebida en los ids de usuario.
+     */
+    private int buckets = 1024;
+
+    /** Aplica las migraciones de Flyway en cada shard (y sus réplicas) al iniciar. */
+    private boolean migrateShards = true;
+
+    /** Shards, en orden de índice. */
+    private List<Shard> shards = new ArrayList<>();
+
+    /**
+     * Conexión de un shard.
+     */
+    @Getter
+    @Setter
+    public static class Shard {
+        /** URL JDBC de la primaria del shard. */
+        private String url;
+        /** Usuario. */
+        private String username;
+        /** Contraseña. */
+        private String password;
+        /** Réplicas de lectura del shard. */
+        private List<RoutingDataSourceProperties.Replica> replicas = new ArrayList<>();
+    }
+}
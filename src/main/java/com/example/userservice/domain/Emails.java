@@ -0,0 +1,26 @@
+package com.example.userservice.domain;
+
+import java.util.Locale;
+
+/**
+ * Utilidades sobre direcciones de email.
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public final class Emails {
+
+    private Emails() {
+    }
+
+    /**
+     * Normaliza un email para compararlo sin distinguir mayúsculas ni espacios
+     * externos. Es la forma que se usa para rutear al shard y para las búsquedas.
+     *
+     * @param email email tal como lo envió el cliente
+     * @return email en minúsculas y sin espacios al inicio o al final, o {@code null}
+     */
+    public static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
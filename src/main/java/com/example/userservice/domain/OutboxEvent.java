@@ -0,0 +1,116 @@
+package com.example.userservice.domain;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Evento de dominio pendiente de publicar (tabla {@code outbox_event}).
+ *
+ * <p>Se inserta en la misma transacción que el cambio que lo origina, de modo que el
+ * evento existe si y solo si el cambio se confirmó. {@code OutboxRelay} lo publica
+ * después y lo borra; el orden de publicación es el de {@code id}.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Entity
+@Table(name = "outbox_event")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    /** Tipo de evento de un usuario registrado. */
+    public static final String USER_CREATED = "user-created";
+
+    /** Tipo de evento de un inicio de sesión. */
+    public static final String USER_LOGGED_IN = "user-logged-in";
+
+    /** Tipo de evento de una cuenta desactivada. */
+    public static final String USER_DEACTIVATED = "user-deactivated";
+
+    /** Tipo de evento de una cuenta reactivada. */
+    public static final String USER_REACTIVATED = "user-reactivated";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Identificador secuencial; define el orden de publicación.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Id del usuario al que se refiere el evento.
+     */
+    @Column(name = "aggregate_id", columnDefinition = "BINARY(16)", nullable = false)
+    private UUID aggregateId;
+
+    /**
+     * Tipo de evento ({@link #USER_CREATED}, {@link #USER_LOGGED_IN}, {@link #USER_DEACTIVATED}
+     * o {@link #USER_REACTIVATED}).
+     */
+    @Column(nullable = false)
+    private String type;
+
+    /**
+     * Contenido del evento en JSON.
+     */
+    @Column(nullable = false)
+    private String payload;
+
+    /**
+     * Momento en que se originó el evento.
+     */
+    @Column(nullable = false)
+    private Instant created;
+
+    /**
+     * @param user usuario recién registrado
+     * @return evento {@link #USER_CREATED}
+     */
+    public static OutboxEvent userCreated(User user) {
+        return of(USER_CREATED, user, user.getCreated());
+    }
+
+    /**
+     * @param user usuario que inició sesión
+     * @param at momento del inicio de sesión
+     * @return evento {@link #USER_LOGGED_IN}
+     */
+    public static OutboxEvent userLoggedIn(User user, Instant at) {
+        return of(USER_LOGGED_IN, user, at);
+    }
+
+    /**
+     * @param user usuario que cambió de estado
+     * @param active nuevo estado
+     * @param at momento del cambio
+     * @return evento {@link #USER_REACTIVATED} o {@link #USER_DEACTIVATED}
+     */
+    public static OutboxEvent statusChanged(User user, boolean active, Instant at) {
+        return of(active ? USER_REACTIVATED : USER_DEACTIVATED, user, at);
+    }
+
+    private static OutboxEvent of(String type, User user, Instant at) {
+        ObjectNode json = MAPPER.createObjectNode()
+                .put("type", type)
+                .put("userId", user.getId().toString())
+                .put("email", user.getEmail())
+                .put("at", at.toString());
+        return OutboxEvent.builder()
+                .aggregateId(user.getId())
+                .type(type)
+                .payload(json.toString())
+                .created(at)
+                .build();
+    }
+}
@@ -63,4 +63,17 @@ public class Phone {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
+
+    /**
+     * Número completo empaquetado ({@link PhoneNumbers#packE164}), indexado para la
+     * búsqueda inversa. Se calcula al persistir; {@code null} si el teléfono está incompleto.
+     */
+    @Column(name = "e164")
+    private Long e164;
+
+    @PrePersist
+    @PreUpdate
+    void computeE164() {
+        e164 = PhoneNumbers.packE164(countrycode, citycode, number);
+    }
 }
@@ -0,0 +1,67 @@
+package com.example.userservice.domain;
+
+/**
+ * Utilidades sobre números de teléfono.
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public final class PhoneNumbers {
+
+    /** Máximo de dígitos de un número E.164. */
+    public static final int MAX_DIGITS = 15;
+
+    private PhoneNumbers() {
+    }
+
+    /**
+     * Empaqueta un teléfono en un {@code long} estilo E.164: los dígitos del código de
+     * país, seguidos del código de ciudad y del número.
+     *
+     * <p>Se ignoran los caracteres no numéricos del código de país ({@code "+54"} equivale a
+     * {@code "54"}). Como un código de país nunca empieza con 0, la concatenación no pierde
+     * dígitos al pasarla a {@code long}, y dos teléfonos con los mismos dígitos totales son
+     * el mismo número aunque se hayan cargado con otra división país/ciudad.</p>
+     *
+     * @param countrycode código de país
+     * @param citycode código de ciudad
+     * @param number número sin códigos de área
+     * @return clave empaquetada, o {@code null} si falta algún dato, no es válido
+     *         o supera los 15 dígitos
+     */
+    public static Long packE164(String countrycode, Integer citycode, Long number) {
+        if (countrycode == null || citycode == null || number == null || citycode < 0 || number < 0) {
+            return null;
+        }
+        long packed = 0;
+        int digits = 0;
+        for (int i = 0; i < countrycode.length(); i++) {
+            char c = countrycode.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (digits == 0 && c == '0') return null;
+                packed = packed * 10 + (c - '0');
+                digits++;
+            }
+        }
+        if (digits == 0) return null;
+        digits += digitCount(citycode) + digitCount(number);
+        if (digits > MAX_DIGITS) return null;
+        packed = packed * pow10(digitCount(citycode)) + citycode;
+        return packed * pow10(digitCount(number)) + number;
+    }
+
+    private static int digitCount(long value) {
+        int n = 1;
+        while (value >= 10) {
+            value /= 10;
+            n++;
+        }
+        return n;
+    }
+
+    private static long pow10(int exp) {
+        long p = 1;
+        for (int i = 0; i < exp; i++) p *= 10;
+        return p;
+    }
+}
@@ -1,7 +1,7 @@
 package com.example.userservice.domain;
 
 import lombok.*;
-import org.hibernate.annotations.GenericGenerator;
+import org.springframework.data.domain.Persistable;
 
 import javax.persistence.*;
 import java.time.Instant;
@@ -18,16 +18,24 @@ import java.util.UUID;
  *
  * <p>Características principales:</p>
  * <ul>
- *   <li>El identificador único se genera mediante un {@link UUID}
- *       usando el generador {@code uuid2} de Hibernate.</li>
+ *   <li>El identificador único es un {@link UUID} que asigna el servicio al
+ *       registrar ({@code ShardRouter.newUserId}, con el bucket del shard embebido);
+ *       no hay generador. Implementa {@link Persistable} para que {@code save} de una
+ *       entidad nueva haga {@code persist} con ese id y no un {@code merge}.</li>
  *   <li>El campo {@code email} es obligatorio y único
  *       ({@code @Column(nullable = false)}, {@code @UniqueConstraint}).</li>
+ *   <li>{@code normalizedEmail} ({@link Emails#normalize(String)}) se calcula al
+ *       persistir, es único y es la columna por la que se busca: dos emails que solo
+ *       difieren en mayúsculas son la misma cuenta.</li>
  *   <li>La contraseña se almacena en texto plano aquí, pero debería
  *       persistirse en formato encriptado por seguridad.</li>
  *   <li>Relación uno-a-muchos con {@link Phone}, con borrado en cascada
  *       y eliminación de huérfanos.</li>
  * </ul>
  *
+ * <p>El esquema de la tabla lo definen las migraciones de Flyway en
+ * {@code db/migration}; las anotaciones de índices aquí solo lo documentan.</p>
+ *
  * <p>Gracias a Lombok, esta clase incluye automáticamente:
  * <ul>
  *   <li>Getters y setters para todos los campos</li>
@@ -40,21 +48,27 @@ import java.util.UUID;
  * @since 1.0
  */
 @Entity
-@Table(name = "users", uniqueConstraints = @UniqueConstraint(columnNames = "email"))
+@Table(name = "users",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_users_email", columnNames = "email"),
+                @UniqueConstraint(name = "uk_users_normalized_email", columnNames = "normalized_email")
+        },
+        indexes = {
+                @Index(name = "ix_users_created_id", columnList = "created, id"),
+                @Index(name = "ix_users_active_created_id", columnList = "is_active, created, id")
+        })
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class User {
+public class User implements Persistable<UUID> {
 
     /**
      * Identificador único del usuario (clave primaria).
-     * Generado automáticamente como {@link UUID} con {@code uuid2}.
+     * Lo asigna {@code ShardRouter.newUserId} antes de guardar.
      */
     @Id
-    @GeneratedValue(generator = "uuid2")
-    @GenericGenerator(name = "uuid2", strategy = "org.hibernate.id.UUIDGenerator")
     @Column(columnDefinition = "BINARY(16)")
     private UUID id;
 
@@ -70,6 +84,12 @@ public class User {
     @Column(nullable = false)
     private String email;
 
+    /**
+     * Email normalizado ({@link Emails#normalize(String)}), clave de búsqueda única.
+     * <p>Se calcula al insertar a partir de {@link #email}; las actualizaciones no lo tocan.</p>
+     */
+    @Column(name = "normalized_email")
+    private String normalizedEmail;
 
     /**
      * Contraseña del usuario.
@@ -91,9 +111,18 @@ public class User {
 
     /**
      * Estado de la cuenta: {@code true} si está activa, {@code false} en caso contrario.
+     * <p>Una cuenta inactiva no puede iniciar sesión.</p>
      */
     private Boolean isActive;
 
+    /**
+     * Versión de las sesiones del usuario.
+     * <p>Viaja en el claim {@code sv} de cada token; desactivar la cuenta la incrementa,
+     * lo que invalida todos los tokens emitidos hasta entonces.</p>
+     */
+    @Column(name = "session_version", nullable = false)
+    private Integer sessionVersion;
+
     /**
      * Teléfonos asociados al usuario.
      * <p>Relación uno-a-muchos ({@code @OneToMany}) hacia {@link Phone},
@@ -101,4 +130,30 @@ public class User {
      */
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Phone> phones = new ArrayList<>();
+
+    /** {@code true} si la fila ya existe: la entidad se leyó o ya se guardó. */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+
+    /**
+     * Solo al insertar: en una actualización se respeta el valor guardado, que V7 deja en
+     * {@code null} en las cuentas que chocan con otra más antigua.
+     */
+    @PrePersist
+    void computeNormalizedEmail() {
+        normalizedEmail = Emails.normalize(email);
+    }
 }
@@ -31,6 +31,10 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 public class UserResponse {
+
+    /** Valor fijo de {@link #password}: el hash de la contraseña nunca se devuelve. */
+    public static final String MASKED_PASSWORD = "*****";
+
     /**
      * Identificador único del usuario.
      */
@@ -74,11 +78,11 @@ public class UserResponse {
     private String email;
 
     /**
-     * Contraseña del usuario.
-     * <p><b>Nota:</b> Por motivos de seguridad, normalmente este campo no debería
-     * exponerse en respuestas públicas de la API.</p>
+     * Contraseña del usuario, siempre enmascarada ({@link #MASKED_PASSWORD}).
+     * <p>Se mantiene por compatibilidad con el contrato original; el hash BCrypt
+     * no sale del servicio.</p>
      */
-    @Schema(description = "Contraseña encriptada.")
+    @Schema(description = "Siempre \"*****\": la contraseña no se devuelve.", example = MASKED_PASSWORD)
     private String password;
 
     /**
@@ -0,0 +1,26 @@
+package com.example.userservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Página de resultados de la búsqueda por prefijo.
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserSearchPage {
+
+    @Schema(description = "Usuarios de la página, en orden alfabético de la clave que coincidió.")
+    private List<UserSummary> items;
+
+    @Schema(description = "Cursor para pedir la página siguiente; null si no hay más.")
+    private String nextCursor;
+}
@@ -0,0 +1,34 @@
+package com.example.userservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * DTO reducido de un usuario para búsquedas de soporte.
+ *
+ * <p>No incluye contraseña, token ni teléfonos.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserSummary {
+
+    @Schema(description = "Identificador único del usuario.")
+    private UUID id;
+
+    @Schema(description = "Nombre completo del usuario.")
+    private String name;
+
+    @Schema(description = "Correo electrónico del usuario.")
+    private String email;
+
+    @Schema(description = "Indica si la cuenta está activa.")
+    private Boolean active;
+}
@@ -0,0 +1,31 @@
+package com.example.userservice.event;
+
+import com.example.userservice.domain.User;
+
+/**
+ * Evento de aplicación publicado al registrar un usuario.
+ *
+ * <p>Los listeners que mantienen índices en memoria lo escuchan con
+ * {@code @TransactionalEventListener(fallbackExecution = true)}: en la variante JPA
+ * se procesa después del commit, y en la reactiva (que lo publica ya confirmado) al
+ * momento de publicarse.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public final class UserCreatedEvent {
+
+    private final User user;
+
+    /**
+     * @param user usuario registrado (con sus teléfonos)
+     */
+    public UserCreatedEvent(User user) {
+        this.user = user;
+    }
+
+    /** @return usuario registrado; no debe modificarse */
+    public User getUser() {
+        return user;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.userservice.event;
+
+import java.util.UUID;
+
+/**
+ * Evento de aplicación publicado cuando una cuenta se desactiva o se reactiva.
+ *
+ * <p>Se publica dentro de la transacción del cambio; los listeners lo escuchan con
+ * {@code @TransactionalEventListener(fallbackExecution = true)}, como {@link UserCreatedEvent}.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public final class UserStatusChangedEvent {
+
+    private final UUID userId;
+    private final boolean active;
+
+    /**
+     * @param userId id del usuario
+     * @param active estado nuevo
+     */
+    public UserStatusChangedEvent(UUID userId, boolean active) {
+        this.userId = userId;
+        this.active = active;
+    }
+
+    /** @return id del usuario */
+    public UUID getUserId() {
+        return userId;
+    }
+
+    /** @return estado nuevo */
+    public boolean isActive() {
+        return active;
+    }
+}
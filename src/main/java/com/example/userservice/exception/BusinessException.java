@@ -0,0 +1,40 @@
+package com.example.userservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Excepción base para los resultados de negocio esperados del dominio
+ * (usuario duplicado, token ausente, usuario inexistente, etc.).
+ *
+ * <p>No captura el stack trace ni admite supresión: estos casos forman parte
+ * del flujo normal (por ejemplo, un login rechazado) y recorrer la pila en
+ * cada uno de ellos es costoso bajo tráfico malicioso. El
+ * {@link GlobalExceptionHandler} traduce cada subclase a un
+ * {@link com.example.userservice.dto.exception.ErrorEnvelope} con el
+ * código HTTP que expone {@link #getStatus()}.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public abstract class BusinessException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    /**
+     * Crea la excepción sin stack trace.
+     *
+     * @param status código HTTP con el que se responde al cliente
+     * @param message mensaje descriptivo que se devuelve en el {@code detail}
+     */
+    protected BusinessException(HttpStatus status, String message) {
+        super(message, null, false, false);
+        this.status = status;
+    }
+
+    /**
+     * @return código HTTP asociado a este resultado de negocio
+     */
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
@@ -1,11 +1,13 @@
 package com.example.userservice.exception;
 
 import com.example.userservice.dto.exception.ErrorEnvelope;
+import io.jsonwebtoken.JwtException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 /**
  * Manejador global de excepciones para la aplicación.
@@ -16,7 +18,12 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
  * <p>Se encarga de:</p>
  * <ul>
  *   <li>Manejar validaciones de DTOs con {@link MethodArgumentNotValidException}
- *       devolviendo {@code 400 Bad Request} con detalles del error</li>
+ *       devolviendo {@code 400 Bad Request} con detalles del error (o
+ *       {@link WebExchangeBindException} en el perfil {@code reactive})</li>
+ *   <li>Traducir los resultados de negocio ({@link BusinessException}) al
+ *       código HTTP que cada uno declara</li>
+ *   <li>Responder {@code 401 Unauthorized} ante tokens JWT inválidos,
+ *       mal formados o expirados ({@link JwtException})</li>
  *   <li>Manejar cualquier otra excepción no controlada devolviendo
  *       {@code 500 Internal Server Error}</li>
  * </ul>
@@ -46,6 +53,46 @@ public class GlobalExceptionHandler {
                 .body(ErrorEnvelope.of(HttpStatus.BAD_REQUEST.value(), detail));
     }
 
+    /**
+     * Maneja errores de validación en los controladores WebFlux.
+     *
+     * @param ex excepción lanzada por validación de DTO en el stack reactivo
+     * @return {@link ResponseEntity} con {@link ErrorEnvelope} y código 400
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorEnvelope> handleReactiveValidation(WebExchangeBindException ex) {
+        String detail = ex.getBindingResult().getAllErrors().stream()
+                .findFirst()
+                .map(e -> e.getDefaultMessage())
+                .orElse("Solicitud inválida");
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ErrorEnvelope.of(HttpStatus.BAD_REQUEST.value(), detail));
+    }
+
+    /**
+     * Maneja los resultados de negocio esperados del dominio.
+     *
+     * @param ex excepción de negocio lanzada por la capa de servicio
+     * @return {@link ResponseEntity} con {@link ErrorEnvelope} y el código de la excepción
+     */
+    @ExceptionHandler(BusinessException.class)
+    public ResponseEntity<ErrorEnvelope> handleBusiness(BusinessException ex) {
+        return ResponseEntity.status(ex.getStatus())
+                .body(ErrorEnvelope.of(ex.getStatus().value(), ex.getMessage()));
+    }
+
+    /**
+     * Maneja los errores de parseo o verificación de tokens JWT.
+     *
+     * @param ex excepción lanzada por la librería JWT
+     * @return {@link ResponseEntity} con {@link ErrorEnvelope} y código 401
+     */
+    @ExceptionHandler(JwtException.class)
+    public ResponseEntity<ErrorEnvelope> handleJwt(JwtException ex) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(ErrorEnvelope.of(HttpStatus.UNAUTHORIZED.value(), "Token inválido o expirado"));
+    }
+
     /**
      * Maneja cualquier otra excepción no controlada.
      *
@@ -0,0 +1,23 @@
+package com.example.userservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Se lanza cuando la credencial recibida no permite autenticar al usuario:
+ * header {@code Authorization} ausente o mal formado, o token que apunta
+ * a un usuario inexistente. Se responde con {@code 401 Unauthorized}.
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public class UnauthorizedException extends BusinessException {
+
+    /**
+     * Crea la excepción con el mensaje indicado.
+     *
+     * @param message motivo del rechazo
+     */
+    public UnauthorizedException(String message) {
+        super(HttpStatus.UNAUTHORIZED, message);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.userservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Se lanza cuando el parámetro {@code fields} pide un atributo que
+ * {@code UserResponse} no tiene. Se responde con {@code 400 Bad Request}.
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public class UnknownFieldException extends BusinessException {
+
+    /**
+     * Crea la excepción indicando el campo pedido.
+     *
+     * @param field nombre recibido
+     */
+    public UnknownFieldException(String field) {
+        super(HttpStatus.BAD_REQUEST, "Campo desconocido: " + field);
+    }
+}
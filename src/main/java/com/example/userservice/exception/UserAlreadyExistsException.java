@@ -0,0 +1,20 @@
+package com.example.userservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Se lanza cuando se intenta registrar un email que ya pertenece a otro usuario.
+ * Se responde con {@code 409 Conflict}.
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public class UserAlreadyExistsException extends BusinessException {
+
+    /**
+     * Crea la excepción con el mensaje estándar.
+     */
+    public UserAlreadyExistsException() {
+        super(HttpStatus.CONFLICT, "Usuario ya existe");
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.userservice.idempotency;
+
+import com.example.userservice.dto.exception.ErrorEnvelope;
+import com.example.userservice.serialization.UserJsonWriter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Filtro servlet que hace idempotentes los {@code POST} que traen {@code Idempotency-Key}.
+ *
+ * <p>La primera request con una clave se ejecuta normalmente y su respuesta (código,
+ * tipo de contenido y cuerpo) queda en el {@link IdempotencyStore}. Las repeticiones
+ * con la misma solicitud no llegan al controlador: esperan a la original si sigue en
+ * curso y reciben la misma respuesta byte a byte, con {@code Idempotent-Replayed: true}.
+ * La huella de la solicitud cubre el cuerpo, la query string ({@code fields}) y el
+ * header {@code Accept}, que deciden la representación guardada.</p>
+ *
+ * <p>Respuestas de error:</p>
+ * <ul>
+ *   <li>{@code 400} si la clave está vacía o supera {@value #MAX_KEY_LENGTH} caracteres</li>
+ *   <li>{@code 413} si el cuerpo supera {@code maxRequestBytes}: se comprueba con
+ *       {@code Content-Length} antes de leerlo, y sin ese header se deja de leer al pasarse</li>
+ *   <li>{@code 422} si la clave ya se usó con otro cuerpo, otra query string u otro {@code Accept}</li>
+ *   <li>{@code 409} si la request original sigue en curso después de la espera máxima</li>
+ * </ul>
+ *
+ * <p>Las requests sin el header pasan directo.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    /** Header con la clave elegida por el cliente. */
+    public static final String HEADER = "Idempotency-Key";
+
+    /** Header que marca una respuesta repetida. */
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    /** Largo máximo de la clave. */
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final long waitTimeoutNanos;
+    private final int maxRequestBytes;
+
+    /**
+     * @param store respuestas guardadas
+     * @param waitTimeoutMillis espera máxima de una repetición por la request original
+     * @param maxRequestBytes cuerpo máximo que se acepta (se lee completo en memoria)
+     */
+    public IdempotencyFilter(IdempotencyStore store, long waitTimeoutMillis, int maxRequestBytes) {
+        this.store = store;
+        this.waitTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(waitTimeoutMillis);
+        this.maxRequestBytes = maxRequestBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || request.getHeader(HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpStatus.BAD_REQUEST, "Idempotency-Key inválida");
+            return;
+        }
+        byte[] body = request.getContentLengthLong() > maxRequestBytes
+                ? null
+                : readBody(request.getInputStream(), maxRequestBytes);
+        if (body == null) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE, "Solicitud demasiado grande");
+            return;
+        }
+        HttpServletRequest cached = new CachedBodyRequest(request, body);
+        String scopedKey = request.getServletPath() + ' ' + key;
+        byte[] fingerprint = fingerprint(request, body);
+
+        long deadline = System.nanoTime() + waitTimeoutNanos;
+        while (true) {
+            IdempotencyStore.Claim claim = store.claim(scopedKey, fingerprint);
+            switch (claim.getKind()) {
+                case OWNER:
+                    execute(cached, response, chain, claim.getSlot());
+                    return;
+                case MISMATCH:
+                    reject(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                            "Idempotency-Key ya utilizada con otra solicitud");
+                    return;
+                default:
+                    IdempotencyStore.StoredResponse stored;
+                    try {
+                        stored = store.await(claim.getSlot(), deadline - System.nanoTime());
+                    } catch (TimeoutException e) {
+                        reject(response, HttpStatus.CONFLICT, "Solicitud con la misma Idempotency-Key en curso");
+                        return;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        reject(response, HttpStatus.SERVICE_UNAVAILABLE, "Servicio saturado, reintente más tarde");
+                        return;
+                    }
+                    if (stored != null) {
+                        replay(stored, response);
+                        return;
+                    }
+                    // La original no guardó respuesta: se vuelve a reclamar la clave.
+            }
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+                         IdempotencyStore.Slot slot) throws ServletException, IOException {
+        ContentCachingResponseWrapper captured = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            chain.doFilter(request, captured);
+            stored = store.complete(slot, captured.getStatus(), captured.getContentType(),
+                    captured.getContentAsByteArray());
+        } finally {
+            if (!stored) {
+                store.abandon(slot);
+            }
+            captured.copyBodyToResponse();
+        }
+    }
+
+    private static void replay(IdempotencyStore.StoredResponse stored, HttpServletResponse response)
+            throws IOException {
+        response.setStatus(stored.getStatus());
+        if (stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.getBody().length);
+        response.getOutputStream().write(stored.getBody());
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, String detail) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        UserJsonWriter.writeError(ErrorEnvelope.of(status.value(), detail), response.getOutputStream());
+    }
+
+    /**
+     * Lee el cuerpo completo, o devuelve {@code null} apenas supera {@code max} bytes.
+     */
+    private static byte[] readBody(InputStream in, int max) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.min(max, 1024));
+        byte[] chunk = new byte[1024];
+        int n;
+        while ((n = in.read(chunk)) != -1) {
+            if (out.size() + n > max) {
+                return null;
+            }
+            out.write(chunk, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] fingerprint(HttpServletRequest request, byte[] body) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        update(digest, request.getQueryString());
+        update(digest, request.getHeader(HttpHeaders.ACCEPT));
+        return digest.digest(body);
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) '\n');
+    }
+
+    /**
+     * Request con el cuerpo ya leído, para que el controlador lo vuelva a leer.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /** El cuerpo ya está en memoria: se avisa de inmediato que está disponible y completo. */
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.userservice.idempotency;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Parámetros de las claves de idempotencia de {@code POST /sign-up} ({@code app.idempotency.*}).
+ *
+ * <p>La memoria ocupada está acotada por {@code maxEntries × maxResponseBytes}; una
+ * respuesta de registro típica pesa menos de 1 KiB.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+    /** Habilita el filtro de idempotencia. */
+    private boolean enabled = true;
+
+    /** Máximo de claves guardadas; al superarlo se desalojan las más viejas. */
+    private int maxEntries = 10_000;
+
+    /** Vida de cada clave (ms) desde la primera request. */
+    private long ttlMillis = 24 * 60 * 60 * 1000L;
+
+    /** Espera máxima (ms) de una repetición mientras la original sigue en curso. */
+    private long waitTimeoutMillis = 10_000;
+
+    /** Respuestas más grandes (bytes) no se guardan. */
+    private int maxResponseBytes = 16 * 1024;
+
+    /** Cuerpo máximo (bytes) de una request con clave; más grande se responde {@code 413}. */
+    private int maxRequestBytes = 16 * 1024;
+}
@@ -0,0 +1,250 @@
+package com.example.userservice.idempotency;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Respuestas guardadas por {@code Idempotency-Key}, acotadas en cantidad y en tiempo.
+ *
+ * <p>La primera request con una clave la reclama ({@link Claim.Kind#OWNER}) y deja un
+ * futuro en el mapa; las repeticiones concurrentes esperan ese futuro en lugar de
+ * ejecutarse, y las posteriores lo encuentran resuelto. Cada clave guarda la huella
+ * del cuerpo original: reutilizarla con otro cuerpo es un error del cliente
+ * ({@link Claim.Kind#MISMATCH}).</p>
+ *
+ * <p>Las entradas vencen a los {@code ttlMillis} de creadas. Como el TTL es fijo, el
+ * orden de inserción es también el de vencimiento: una cola FIFO alcanza para
+ * expirarlas y, al llegar a {@code maxEntries}, para desalojar las más viejas. Si se
+ * desaloja una entrada en curso, quienes ya la esperaban reciben igual el resultado.</p>
+ *
+ * <p>El almacén es local al nodo: con varias instancias, una repetición que cae en
+ * otra no se deduplica.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public class IdempotencyStore {
+
+    private final ConcurrentHashMap<String, Slot> slots = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Slot> order = new ConcurrentLinkedQueue<>();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final int maxResponseBytes;
+    private final LongSupplier clock;
+
+    /**
+     * @param maxEntries máximo de claves guardadas
+     * @param ttlMillis vida de cada clave desde la primera request
+     * @param maxResponseBytes respuestas más grandes no se guardan
+     */
+    public IdempotencyStore(int maxEntries, long ttlMillis, int maxResponseBytes) {
+        this(maxEntries, ttlMillis, maxResponseBytes, System::nanoTime);
+    }
+
+    IdempotencyStore(int maxEntries, long ttlMillis, int maxResponseBytes, LongSupplier clock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries debe ser positivo");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.maxResponseBytes = maxResponseBytes;
+        this.clock = clock;
+    }
+
+    /**
+     * Reclama una clave o devuelve la entrada existente.
+     *
+     * @param key clave de idempotencia (incluye la ruta)
+     * @param fingerprint huella del cuerpo de la request
+     * @return resultado del reclamo
+     */
+    public Claim claim(String key, byte[] fingerprint) {
+        long now = clock.getAsLong();
+        evict(now);
+        Slot fresh = new Slot(key, fingerprint, now + ttlNanos);
+        while (true) {
+            Slot existing = slots.putIfAbsent(key, fresh);
+            if (existing == null) {
+                order.add(fresh);
+                evict(now);
+                return new Claim(Claim.Kind.OWNER, fresh);
+            }
+            if (existing.expiresAt - now <= 0) {
+                slots.remove(key, existing);
+                continue;
+            }
+            if (!Arrays.equals(existing.fingerprint, fingerprint)) {
+                return new Claim(Claim.Kind.MISMATCH, existing);
+            }
+            return new Claim(Claim.Kind.DUPLICATE, existing);
+        }
+    }
+
+    /**
+     * Guarda la respuesta de una clave reclamada y despierta a quienes la esperan.
+     *
+     * <p>No se guardan errores transitorios ({@code 5xx}, {@code 429}) ni respuestas de
+     * más de {@code maxResponseBytes}: en esos casos devuelve {@code false} y el llamador
+     * debe {@linkplain #abandon(Slot) abandonar} la clave para que se pueda reintentar.</p>
+     *
+     * @param slot entrada reclamada con {@link Claim.Kind#OWNER}
+     * @param status código HTTP
+     * @param contentType tipo de contenido, o {@code null}
+     * @param body cuerpo exacto de la respuesta
+     * @return {@code true} si la respuesta quedó guardada
+     */
+    public boolean complete(Slot slot, int status, String contentType, byte[] body) {
+        if (status >= 500 || status == 429 || body.length > maxResponseBytes) {
+            return false;
+        }
+        slot.result.complete(new StoredResponse(status, contentType, body));
+        return true;
+    }
+
+    /**
+     * Libera una clave sin respuesta guardada. Quienes la esperaban vuelven a reclamarla.
+     *
+     * @param slot entrada reclamada con {@link Claim.Kind#OWNER}
+     */
+    public void abandon(Slot slot) {
+        if (slots.remove(slot.key, slot)) {
+            order.remove(slot);
+        }
+        slot.result.complete(null);
+    }
+
+    /**
+     * Espera la respuesta de una entrada en curso (o ya resuelta).
+     *
+     * @param slot entrada obtenida con {@link Claim.Kind#DUPLICATE}
+     * @param timeoutNanos espera máxima
+     * @return respuesta a repetir, o {@code null} si la request original no la guardó
+     * @throws TimeoutException si la request original no terminó a tiempo
+     * @throws InterruptedException si se interrumpe la espera
+     */
+    public StoredResponse await(Slot slot, long timeoutNanos) throws TimeoutException, InterruptedException {
+        StoredResponse stored;
+        try {
+            stored = slot.result.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            stored = null;
+        }
+        if (stored != null) {
+            replayed.incrementAndGet();
+        }
+        return stored;
+    }
+
+    private void evict(long now) {
+        Slot head;
+        while ((head = order.peek()) != null && (head.expiresAt - now <= 0 || slots.size() > maxEntries)) {
+            if (order.remove(head) && slots.remove(head.key, head)) {
+                evicted.incrementAndGet();
+            }
+        }
+    }
+
+    /** @return claves guardadas (en curso o resueltas) */
+    public int size() {
+        return slots.size();
+    }
+
+    /** @return total de respuestas repetidas */
+    public long getReplayed() {
+        return replayed.get();
+    }
+
+    /** @return total de claves desalojadas por TTL o capacidad */
+    public long getEvicted() {
+        return evicted.get();
+    }
+
+    /**
+     * Resultado de {@link #claim(String, byte[])}.
+     */
+    public static final class Claim {
+
+        /** Tipos de reclamo. */
+        public enum Kind {
+            /** Primera request con la clave: debe ejecutarse y completar o abandonar la entrada. */
+            OWNER,
+            /** Repetición con el mismo cuerpo: debe esperar y repetir la respuesta. */
+            DUPLICATE,
+            /** Repetición con otro cuerpo. */
+            MISMATCH
+        }
+
+        private final Kind kind;
+        private final Slot slot;
+
+        Claim(Kind kind, Slot slot) {
+            this.kind = kind;
+            this.slot = slot;
+        }
+
+        /** @return tipo de reclamo */
+        public Kind getKind() {
+            return kind;
+        }
+
+        /** @return entrada de la clave */
+        public Slot getSlot() {
+            return slot;
+        }
+    }
+
+    /**
+     * Entrada de una clave: huella del cuerpo, vencimiento y respuesta (futura).
+     */
+    public static final class Slot {
+        private final String key;
+        private final byte[] fingerprint;
+        private final long expiresAt;
+        private final CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+
+        Slot(String key, byte[] fingerprint, long expiresAt) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Respuesta guardada, repetida byte a byte.
+     */
+    public static final class StoredResponse {
+        private final int status;
+        private final String contentType;
+        private final byte[] body;
+
+        StoredResponse(int status, String contentType, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        /** @return código HTTP */
+        public int getStatus() {
+            return status;
+        }
+
+        /** @return tipo de contenido, o {@code null} */
+        public String getContentType() {
+            return contentType;
+        }
+
+        /** @return cuerpo exacto de la respuesta original */
+        public byte[] getBody() {
+            return body;
+        }
+    }
+}
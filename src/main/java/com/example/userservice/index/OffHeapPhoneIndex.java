@@ -0,0 +1,156 @@
+package com.example.userservice.index;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Mapa {@code long -> UUID} fuera del heap para la búsqueda inversa por teléfono.
+ *
+ * <p>Tabla hash de direccionamiento abierto (sondeo lineal) sobre un {@link ByteBuffer}
+ * directo: cada celda ocupa 24 bytes (clave, y los dos {@code long} del UUID) y la clave
+ * 0 marca una celda vacía, lo que es seguro porque un número E.164 nunca es 0. No genera
+ * objetos por entrada ni presión sobre el GC.</p>
+ *
+ * <p>Si un mismo número pertenece a más de un usuario se guarda {@link #AMBIGUOUS} y
+ * la búsqueda debe resolverse en la base. Las lecturas son optimistas
+ * ({@link StampedLock}); las escrituras se serializan.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public final class OffHeapPhoneIndex {
+
+    /** Valor para números compartidos por varios usuarios. */
+    public static final UUID AMBIGUOUS = new UUID(0L, 0L);
+
+    /** Bytes por celda: clave + UUID. */
+    public static final int SLOT_BYTES = 24;
+
+    private static final double MAX_LOAD = 0.75;
+
+    private final StampedLock lock = new StampedLock();
+    private ByteBuffer table;
+    private int mask;
+    private int size;
+
+    /**
+     * @param expectedEntries cantidad esperada de teléfonos (dimensiona la tabla inicial)
+     */
+    public OffHeapPhoneIndex(int expectedEntries) {
+        allocate(capacityFor(Math.max(expectedEntries, 16)));
+    }
+
+    /**
+     * Agrega o actualiza la entrada de un número.
+     *
+     * @param key número empaquetado (mayor que 0)
+     * @param userId usuario dueño del número
+     */
+    public void put(long key, UUID userId) {
+        if (key <= 0) throw new IllegalArgumentException("clave inválida: " + key);
+        long stamp = lock.writeLock();
+        try {
+            if (size + 1 > (mask + 1) * MAX_LOAD) {
+                rehash((mask + 1) << 1);
+            }
+            int slot = find(table, mask, key);
+            int offset = slot * SLOT_BYTES;
+            long existing = table.getLong(offset);
+            if (existing == 0) {
+                table.putLong(offset, key);
+                writeUuid(offset, userId);
+                size++;
+            } else if (!readUuid(table, offset).equals(userId)) {
+                writeUuid(offset, AMBIGUOUS);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @param key número empaquetado
+     * @return usuario dueño, {@link #AMBIGUOUS} si hay varios, o {@code null} si no está
+     */
+    public UUID get(long key) {
+        long stamp = lock.tryOptimisticRead();
+        UUID result = lookup(key);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                result = lookup(key);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return result;
+    }
+
+    /** @return cantidad de números indexados */
+    public int size() {
+        return size;
+    }
+
+    /** @return memoria fuera del heap ocupada por la tabla, en bytes */
+    public long getMemoryBytes() {
+        return (long) (mask + 1) * SLOT_BYTES;
+    }
+
+    private UUID lookup(long key) {
+        ByteBuffer t = table;
+        int m = mask;
+        if (t.capacity() != (m + 1) * SLOT_BYTES) return null; // lectura concurrente con un rehash
+        int offset = find(t, m, key) * SLOT_BYTES;
+        return t.getLong(offset) == key ? readUuid(t, offset) : null;
+    }
+
+    private static int find(ByteBuffer t, int m, long key) {
+        int slot = mix(key) & m;
+        while (true) {
+            long k = t.getLong(slot * SLOT_BYTES);
+            if (k == 0 || k == key) return slot;
+            slot = (slot + 1) & m;
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        ByteBuffer grown = ByteBuffer.allocateDirect(newCapacity * SLOT_BYTES);
+        int grownMask = newCapacity - 1;
+        for (int i = 0; i <= mask; i++) {
+            long k = table.getLong(i * SLOT_BYTES);
+            if (k != 0) {
+                int offset = find(grown, grownMask, k) * SLOT_BYTES;
+                grown.putLong(offset, k);
+                grown.putLong(offset + 8, table.getLong(i * SLOT_BYTES + 8));
+                grown.putLong(offset + 16, table.getLong(i * SLOT_BYTES + 16));
+            }
+        }
+        table = grown;
+        mask = grownMask;
+    }
+
+    private void allocate(int capacity) {
+        table = ByteBuffer.allocateDirect(capacity * SLOT_BYTES);
+        mask = capacity - 1;
+    }
+
+    private void writeUuid(int offset, UUID id) {
+        table.putLong(offset + 8, id.getMostSignificantBits());
+        table.putLong(offset + 16, id.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(ByteBuffer t, int offset) {
+        return new UUID(t.getLong(offset + 8), t.getLong(offset + 16));
+    }
+
+    private static int capacityFor(int entries) {
+        int needed = (int) Math.ceil(entries / MAX_LOAD);
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.userservice.index;
+
+import com.example.userservice.datasource.ShardContext;
+import com.example.userservice.datasource.ShardRouter;
+import com.example.userservice.invalidation.Invalidation;
+import com.example.userservice.invalidation.InvalidationListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Carga el {@link OffHeapPhoneIndex} desde la columna {@code phone.e164} de cada shard.
+ *
+ * <p>El índice no borra entradas y {@link OffHeapPhoneIndex#put} es idempotente, así que
+ * una recarga completa vuelve a insertar todo sobre la tabla existente.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public class PhoneIndexRefresher implements InvalidationListener {
+
+    private final OffHeapPhoneIndex index;
+    private final JdbcTemplate jdbc;
+    private final ShardRouter shardRouter;
+
+    /**
+     * @param index índice a cargar
+     * @param jdbc acceso JDBC (ruteado por shard)
+     * @param shardRouter ruteo de shards
+     */
+    public PhoneIndexRefresher(OffHeapPhoneIndex index, JdbcTemplate jdbc, ShardRouter shardRouter) {
+        this.index = index;
+        this.jdbc = jdbc;
+        this.shardRouter = shardRouter;
+    }
+
+    /**
+     * Inserta los teléfonos de todos los shards.
+     */
+    public void refreshAll() {
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            try (ShardContext.Scope ignored = ShardContext.use(shard)) {
+                jdbc.query("SELECT e164, user_id FROM phone WHERE e164 IS NOT NULL", rs -> {
+                    index.put(rs.getLong(1), ShardedIds.uuid(rs.getBytes(2)));
+                });
+            }
+        }
+    }
+
+    @Override
+    public void invalidate(List<Invalidation> invalidations) {
+        NamedParameterJdbcTemplate named = new NamedParameterJdbcTemplate(jdbc);
+        for (Map.Entry<Integer, List<byte[]>> e : ShardedIds.usersByShard(invalidations, shardRouter).entrySet()) {
+            try (ShardContext.Scope ignored = ShardContext.use(e.getKey())) {
+                named.query("SELECT e164, user_id FROM phone WHERE e164 IS NOT NULL AND user_id IN (:ids)",
+                        Collections.singletonMap("ids", e.getValue()), rs -> {
+                            index.put(rs.getLong(1), ShardedIds.uuid(rs.getBytes(2)));
+                        });
+            }
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        refreshAll();
+    }
+}
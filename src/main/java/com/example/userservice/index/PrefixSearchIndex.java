@@ -0,0 +1,432 @@
+package com.example.userservice.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Índice en memoria para búsqueda por prefijo (typeahead) sobre nombre y email.
+ *
+ * <p>Cada usuario aporta varias claves normalizadas (minúsculas, sin tildes y con los
+ * espacios colapsados): el email, el nombre completo y el nombre a partir de cada
+ * palabra, para que "ros" encuentre a "Federico Rosales". Las claves viven en:</p>
+ * <ul>
+ *   <li>una base inmutable: arreglo ordenado de claves con los ids en arreglos
+ *       paralelos de {@code long}, que se consulta con búsqueda binaria;</li>
+ *   <li>un delta ({@link ConcurrentSkipListSet}) con las altas posteriores, que se
+ *       fusiona con la base en segundo plano cuando supera {@code mergeThreshold}.</li>
+ * </ul>
+ *
+ * <p>Las consultas recorren ambas estructuras en orden (clave, id) sin tomar locks y
+ * paginan con un cursor opaco: la posición de la última entrada devuelta. Cada clave
+ * guarda además el prefijo común más largo con las claves menores del mismo usuario
+ * ({@code shadow}): un usuario se devuelve solo en la primera de sus claves que empieza
+ * con el prefijo buscado, así no se repite ni dentro de una página ni entre páginas.</p>
+ *
+ * <p>Cargas y fusiones reemplazan la base bajo un mismo lock. Mientras hay una carga en
+ * curso no se fusiona, y una fusión que encuentra la base cambiada se descarta: así el
+ * delta conserva toda alta posterior al inicio del escaneo más viejo en curso, que una
+ * carga no puede pisar, y una fusión nunca reinstala una base anterior a la carga.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public final class PrefixSearchIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private final ConcurrentSkipListSet<Entry> delta = new ConcurrentSkipListSet<>();
+    private final AtomicBoolean merging = new AtomicBoolean();
+    private final Object swapLock = new Object();
+    private final Executor mergeExecutor;
+    private final int mergeThreshold;
+    private volatile Base base;
+    private volatile int loading;
+
+    /**
+     * @param mergeThreshold altas acumuladas en el delta que disparan una fusión
+     * @param mergeExecutor ejecutor de las fusiones (fuera del camino de la request)
+     */
+    public PrefixSearchIndex(int mergeThreshold, Executor mergeExecutor) {
+        this.mergeThreshold = mergeThreshold;
+        this.mergeExecutor = mergeExecutor;
+        this.base = new Base(new String[0], new long[0], new long[0], new int[0]);
+    }
+
+    /**
+     * Normaliza un texto para indexarlo o buscarlo.
+     *
+     * @param text texto original
+     * @return texto en minúsculas, sin diacríticos ni espacios repetidos, o {@code null}
+     */
+    public static String normalize(String text) {
+        if (text == null) return null;
+        String stripped = isAscii(text)
+                ? text
+                : MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        String collapsed = SPACES.matcher(stripped.trim()).replaceAll(" ");
+        return collapsed.isEmpty() ? null : collapsed.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Reemplaza la base con una carga completa. Las altas recibidas desde que empieza el
+     * escaneo quedan en el delta (no se fusionan hasta que termine); si también las leyó
+     * el escaneo, las consultas y la próxima fusión descartan el duplicado. Si el escaneo
+     * falla, la base no cambia.
+     *
+     * @param expectedKeys cantidad esperada de claves
+     * @param scan escaneo completo, que agrega cada usuario al {@link Builder}
+     */
+    public void load(int expectedKeys, Consumer<Builder> scan) {
+        synchronized (swapLock) {
+            loading++;
+        }
+        try {
+            Builder builder = new Builder(expectedKeys);
+            scan.accept(builder);
+            Base loaded = builder.build();
+            synchronized (swapLock) {
+                base = loaded;
+            }
+        } finally {
+            synchronized (swapLock) {
+                loading--;
+            }
+        }
+        scheduleMerge();
+    }
+
+    /**
+     * Agrega las claves de un usuario. Es visible de inmediato para las consultas.
+     *
+     * @param id id del usuario
+     * @param name nombre del usuario
+     * @param email email del usuario
+     */
+    public void add(UUID id, String name, String email) {
+        forEachKey(name, email, (key, shadow) ->
+                delta.add(new Entry(key, id.getMostSignificantBits(), id.getLeastSignificantBits(), shadow)));
+        scheduleMerge();
+    }
+
+    private void scheduleMerge() {
+        if (loading == 0 && delta.size() >= mergeThreshold && merging.compareAndSet(false, true)) {
+            mergeExecutor.execute(this::merge);
+        }
+    }
+
+    /**
+     * Busca usuarios cuyo nombre (o alguna de sus palabras) o email empiecen con el prefijo.
+     *
+     * @param prefix prefijo a buscar (se normaliza)
+     * @param limit máximo de resultados
+     * @param cursor cursor devuelto por la página anterior, o {@code null}
+     * @return página de ids en orden de clave, con el cursor de la siguiente si hay más
+     * @throws IllegalArgumentException si el cursor no es uno devuelto por el índice
+     */
+    public Page search(String prefix, int limit, String cursor) {
+        String p = normalize(prefix);
+        if (p == null || limit <= 0) return new Page(Collections.emptyList(), null);
+        Entry from = cursor == null ? new Entry(p, Long.MIN_VALUE, Long.MIN_VALUE, 0) : Entry.decode(cursor);
+        boolean inclusive = cursor == null;
+        if (from.key.compareTo(p) < 0) {
+            from = new Entry(p, Long.MIN_VALUE, Long.MIN_VALUE, 0);
+            inclusive = true;
+        }
+
+        Base b = base;
+        int i = b.lowerBound(from, inclusive);
+        Iterator<Entry> d = delta.tailSet(from, inclusive).iterator();
+        Entry nextDelta = d.hasNext() ? d.next() : null;
+
+        List<UUID> ids = new ArrayList<>(Math.min(limit, 64));
+        Entry last = null;
+        while (true) {
+            Entry candidate;
+            boolean fromBase;
+            Entry baseEntry = i < b.keys.length ? b.entry(i) : null;
+            if (baseEntry == null && nextDelta == null) break;
+            if (nextDelta == null || (baseEntry != null && baseEntry.compareTo(nextDelta) <= 0)) {
+                candidate = baseEntry;
+                fromBase = true;
+            } else {
+                candidate = nextDelta;
+                fromBase = false;
+            }
+            if (!candidate.key.startsWith(p)) break;
+            if (ids.size() == limit && p.length() > candidate.shadow) {
+                return new Page(ids, last.encode());
+            }
+            if (fromBase) {
+                i++;
+                if (nextDelta != null && nextDelta.compareTo(candidate) == 0) {
+                    nextDelta = d.hasNext() ? d.next() : null;
+                }
+            } else {
+                nextDelta = d.hasNext() ? d.next() : null;
+            }
+            // Las claves que ya coincidieron antes con el prefijo no se vuelven a contar
+            if (p.length() > candidate.shadow) ids.add(new UUID(candidate.msb, candidate.lsb));
+            last = candidate;
+        }
+        return new Page(ids, null);
+    }
+
+    /** @return cantidad de claves indexadas (base + delta, aproximado durante una fusión) */
+    public int size() {
+        return base.keys.length + delta.size();
+    }
+
+    private void merge() {
+        boolean superseded = false;
+        try {
+            if (loading > 0) return;
+            List<Entry> pending = new ArrayList<>(delta);
+            Base b = base;
+            int n = b.keys.length;
+            Builder merged = new Builder(n + pending.size());
+            int i = 0;
+            int j = 0;
+            while (i < n || j < pending.size()) {
+                Entry next;
+                if (j == pending.size() || (i < n && b.entry(i).compareTo(pending.get(j)) <= 0)) {
+                    next = b.entry(i++);
+                    if (j < pending.size() && next.compareTo(pending.get(j)) == 0) j++;
+                } else {
+                    next = pending.get(j++);
+                }
+                merged.append(next);
+            }
+            Base result = merged.buildSorted();
+            synchronized (swapLock) {
+                // Una carga empezó o terminó mientras tanto: su base manda y el delta se conserva
+                superseded = loading > 0 || base != b;
+                if (!superseded) base = result;
+            }
+            if (!superseded) delta.removeAll(pending);
+        } finally {
+            merging.set(false);
+        }
+        if (superseded) scheduleMerge();
+    }
+
+    private static void forEachKey(String name, String email, KeySink sink) {
+        List<String> keys = new ArrayList<>(4);
+        String e = normalize(email);
+        if (e != null) keys.add(e);
+        String n = normalize(name);
+        if (n != null) {
+            keys.add(n);
+            for (int at = n.indexOf(' '); at >= 0; at = n.indexOf(' ', at + 1)) {
+                keys.add(n.substring(at + 1));
+            }
+        }
+        for (String key : keys) {
+            int shadow = 0;
+            for (String other : keys) {
+                if (other.compareTo(key) < 0) shadow = Math.max(shadow, commonPrefix(other, key));
+            }
+            sink.accept(key, shadow);
+        }
+    }
+
+    private static int commonPrefix(String a, String b) {
+        int max = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < max && a.charAt(i) == b.charAt(i)) i++;
+        return i;
+    }
+
+    /** Recibe cada clave de un usuario con su {@code shadow}. */
+    private interface KeySink {
+        void accept(String key, int shadow);
+    }
+
+    /**
+     * Página de resultados.
+     */
+    public static final class Page {
+        private final List<UUID> ids;
+        private final String nextCursor;
+
+        Page(List<UUID> ids, String nextCursor) {
+            this.ids = ids;
+            this.nextCursor = nextCursor;
+        }
+
+        /** @return ids de usuario de la página */
+        public List<UUID> getIds() {
+            return ids;
+        }
+
+        /** @return cursor de la página siguiente, o {@code null} si no hay más */
+        public String getNextCursor() {
+            return nextCursor;
+        }
+    }
+
+    /**
+     * Acumula entradas para una carga completa.
+     */
+    public static final class Builder {
+        private String[] keys;
+        private long[] msb;
+        private long[] lsb;
+        private int[] shadow;
+        private int size;
+
+        /**
+         * @param expectedKeys cantidad esperada de claves
+         */
+        public Builder(int expectedKeys) {
+            int capacity = Math.max(expectedKeys, 16);
+            keys = new String[capacity];
+            msb = new long[capacity];
+            lsb = new long[capacity];
+            shadow = new int[capacity];
+        }
+
+        /**
+         * @param id id del usuario
+         * @param name nombre del usuario
+         * @param email email del usuario
+         */
+        public void add(UUID id, String name, String email) {
+            forEachKey(name, email, (key, shadow) ->
+                    append(new Entry(key, id.getMostSignificantBits(), id.getLeastSignificantBits(), shadow)));
+        }
+
+        void append(Entry e) {
+            if (size == keys.length) {
+                int capacity = size + (size >> 1);
+                keys = Arrays.copyOf(keys, capacity);
+                msb = Arrays.copyOf(msb, capacity);
+                lsb = Arrays.copyOf(lsb, capacity);
+                shadow = Arrays.copyOf(shadow, capacity);
+            }
+            keys[size] = e.key;
+            msb[size] = e.msb;
+            lsb[size] = e.lsb;
+            shadow[size] = e.shadow;
+            size++;
+        }
+
+        Base build() {
+            Entry[] entries = new Entry[size];
+            for (int i = 0; i < size; i++) entries[i] = new Entry(keys[i], msb[i], lsb[i], shadow[i]);
+            Arrays.parallelSort(entries);
+            String[] k = new String[size];
+            long[] m = new long[size];
+            long[] l = new long[size];
+            int[] s = new int[size];
+            for (int i = 0; i < size; i++) {
+                k[i] = entries[i].key;
+                m[i] = entries[i].msb;
+                l[i] = entries[i].lsb;
+                s[i] = entries[i].shadow;
+            }
+            return new Base(k, m, l, s);
+        }
+
+        Base buildSorted() {
+            return new Base(Arrays.copyOf(keys, size), Arrays.copyOf(msb, size), Arrays.copyOf(lsb, size),
+                    Arrays.copyOf(shadow, size));
+        }
+    }
+
+    private static final class Base {
+        final String[] keys;
+        final long[] msb;
+        final long[] lsb;
+        final int[] shadow;
+
+        Base(String[] keys, long[] msb, long[] lsb, int[] shadow) {
+            this.keys = keys;
+            this.msb = msb;
+            this.lsb = lsb;
+            this.shadow = shadow;
+        }
+
+        Entry entry(int i) {
+            return new Entry(keys[i], msb[i], lsb[i], shadow[i]);
+        }
+
+        /** Primera posición mayor (o igual, si {@code inclusive}) que {@code from}. */
+        int lowerBound(Entry from, boolean inclusive) {
+            int lo = 0;
+            int hi = keys.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                int c = compare(keys[mid], msb[mid], lsb[mid], from.key, from.msb, from.lsb);
+                if (c < 0 || (c == 0 && !inclusive)) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+        final String key;
+        final long msb;
+        final long lsb;
+        /** Prefijo común más largo con las claves menores del mismo usuario. */
+        final int shadow;
+
+        Entry(String key, long msb, long lsb, int shadow) {
+            this.key = key;
+            this.msb = msb;
+            this.lsb = lsb;
+            this.shadow = shadow;
+        }
+
+        @Override
+        public int compareTo(Entry o) {
+            return compare(key, msb, lsb, o.key, o.msb, o.lsb);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry && compareTo((Entry) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() * 31 + Long.hashCode(msb ^ lsb);
+        }
+
+        String encode() {
+            return new UUID(msb, lsb) + ":" + key;
+        }
+
+        static Entry decode(String cursor) {
+            int sep = cursor.indexOf(':');
+            if (sep < 0) throw new IllegalArgumentException("Cursor inválido");
+            UUID id = UUID.fromString(cursor.substring(0, sep));
+            return new Entry(cursor.substring(sep + 1), id.getMostSignificantBits(), id.getLeastSignificantBits(), 0);
+        }
+    }
+
+    private static int compare(String k1, long m1, long l1, String k2, long m2, long l2) {
+        int c = k1.compareTo(k2);
+        if (c != 0) return c;
+        c = Long.compare(m1, m2);
+        return c != 0 ? c : Long.compare(l1, l2);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.userservice.index;
+
+import com.example.userservice.datasource.ShardContext;
+import com.example.userservice.datasource.ShardRouter;
+import com.example.userservice.invalidation.Invalidation;
+import com.example.userservice.invalidation.InvalidationListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Carga el {@link PrefixSearchIndex} desde la tabla {@code users} de cada shard.
+ *
+ * <p>{@link #refreshAll()} hace el escaneo completo en streaming (al arrancar y cuando
+ * el bus de invalidación detecta una pérdida); las invalidaciones de otros nodos
+ * agregan solo los usuarios indicados, leídos por clave primaria.</p>
+ *
+ * <p>Las recargas no se superponen: si se pide una mientras otra está en curso (la del
+ * arranque y una pérdida en el bus, por ejemplo), quien la pide vuelve enseguida y el
+ * hilo que está cargando repite el escaneo una vez al terminar, para cubrir lo escrito
+ * mientras escaneaba.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Slf4j
+public class SearchIndexRefresher implements InvalidationListener {
+
+    private final PrefixSearchIndex index;
+    private final JdbcTemplate jdbc;
+    private final ShardRouter shardRouter;
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private final AtomicBoolean reloadRequested = new AtomicBoolean();
+
+    /**
+     * @param index índice a cargar
+     * @param dataSource DataSource de la aplicación (ruteado por shard)
+     * @param shardRouter ruteo de shards
+     * @param fetchSize filas por ida y vuelta durante el escaneo
+     */
+    public SearchIndexRefresher(PrefixSearchIndex index, DataSource dataSource, ShardRouter shardRouter,
+                                int fetchSize) {
+        this.index = index;
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.jdbc.setFetchSize(fetchSize);
+        this.shardRouter = shardRouter;
+    }
+
+    /**
+     * Reemplaza la base del índice con un escaneo de todos los shards, o deja la recarga
+     * pendiente para el hilo que ya está cargando.
+     */
+    public void refreshAll() {
+        reloadRequested.set(true);
+        while (reloadRequested.get() && reloading.compareAndSet(false, true)) {
+            try {
+                if (reloadRequested.getAndSet(false)) {
+                    load();
+                }
+            } finally {
+                reloading.set(false);
+            }
+        }
+    }
+
+    private void load() {
+        long start = System.nanoTime();
+        index.load(1024, builder -> {
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                try (ShardContext.Scope ignored = ShardContext.use(shard)) {
+                    jdbc.query("SELECT id, name, email FROM users", rs -> {
+                        builder.add(ShardedIds.uuid(rs.getBytes(1)), rs.getString(2), rs.getString(3));
+                    });
+                }
+            }
+        });
+        log.info("Índice de búsqueda cargado: {} claves en {} ms", index.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public void invalidate(List<Invalidation> invalidations) {
+        NamedParameterJdbcTemplate named = new NamedParameterJdbcTemplate(jdbc);
+        for (Map.Entry<Integer, List<byte[]>> e : ShardedIds.usersByShard(invalidations, shardRouter).entrySet()) {
+            try (ShardContext.Scope ignored = ShardContext.use(e.getKey())) {
+                named.query("SELECT id, name, email FROM users WHERE id IN (:ids)",
+                        Collections.singletonMap("ids", e.getValue()), rs -> {
+                            index.add(ShardedIds.uuid(rs.getBytes(1)), rs.getString(2), rs.getString(3));
+                        });
+            }
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        refreshAll();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.userservice.index;
+
+import com.example.userservice.datasource.ShardRouter;
+import com.example.userservice.invalidation.Invalidation;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Conversión de ids de usuario entre {@link UUID} y la columna {@code BINARY(16)}, para
+ * las recargas de los índices por JDBC.
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+final class ShardedIds {
+
+    private ShardedIds() {
+    }
+
+    /**
+     * @param bytes valor de una columna de id
+     * @return id leído
+     */
+    static UUID uuid(byte[] bytes) {
+        ByteBuffer b = ByteBuffer.wrap(bytes);
+        return new UUID(b.getLong(), b.getLong());
+    }
+
+    /**
+     * Agrupa por shard los usuarios de un lote de invalidaciones. El shard sale del id:
+     * solo se invalidan usuarios creados o modificados desde que existe el sharding.
+     *
+     * @param invalidations lote recibido
+     * @param shardRouter ruteo de shards
+     * @return valores de la columna {@code id} de cada shard (vacío si no hay usuarios)
+     */
+    static Map<Integer, List<byte[]>> usersByShard(List<Invalidation> invalidations, ShardRouter shardRouter) {
+        Map<Integer, List<byte[]>> byShard = new HashMap<>();
+        for (Invalidation i : invalidations) {
+            if (i.getType() != Invalidation.EntityType.USER) continue;
+            UUID id = i.getId();
+            byte[] column = ByteBuffer.allocate(16)
+                    .putLong(id.getMostSignificantBits())
+                    .putLong(id.getLeastSignificantBits())
+                    .array();
+            byShard.computeIfAbsent(shardRouter.shardForId(id), s -> new ArrayList<>()).add(column);
+        }
+        return byShard;
+    }
+}
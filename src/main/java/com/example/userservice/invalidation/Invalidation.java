@@ -0,0 +1,93 @@
+package com.example.userservice.invalidation;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Aviso de que una entidad cambió y las copias en memoria de otros nodos deben releerse.
+ *
+ * <p>Viaja en {@link InvalidationFrame#ENTRY_BYTES} bytes: el código del tipo y el id.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public final class Invalidation {
+
+    private final EntityType type;
+    private final UUID id;
+
+    /**
+     * @param type tipo de la entidad
+     * @param id identificador de la entidad
+     */
+    public Invalidation(EntityType type, UUID id) {
+        this.type = Objects.requireNonNull(type, "type");
+        this.id = Objects.requireNonNull(id, "id");
+    }
+
+    /**
+     * @param id id del usuario que cambió
+     * @return invalidación de ese usuario
+     */
+    public static Invalidation user(UUID id) {
+        return new Invalidation(EntityType.USER, id);
+    }
+
+    /** @return tipo de la entidad */
+    public EntityType getType() {
+        return type;
+    }
+
+    /** @return identificador de la entidad */
+    public UUID getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Invalidation)) return false;
+        Invalidation that = (Invalidation) o;
+        return type == that.type && id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * type.hashCode() + id.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return type + ":" + id;
+    }
+
+    /**
+     * Tipos de entidad invalidables. El código viaja en la trama: no reutilizar códigos.
+     */
+    public enum EntityType {
+        /** Usuario (índices por nombre, email y teléfono). */
+        USER((byte) 1);
+
+        private final byte code;
+
+        EntityType(byte code) {
+            this.code = code;
+        }
+
+        /** @return código en la trama */
+        public byte getCode() {
+            return code;
+        }
+
+        /**
+         * @param code código leído de la trama
+         * @return tipo con ese código, o {@code null} si este nodo no lo conoce
+         */
+        public static EntityType of(byte code) {
+            for (EntityType t : values()) {
+                if (t.code == code) return t;
+            }
+            return null;
+        }
+    }
+}
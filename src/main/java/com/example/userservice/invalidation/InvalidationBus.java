@@ -0,0 +1,30 @@
+package com.example.userservice.invalidation;
+
+import java.io.Closeable;
+
+/**
+ * Difunde invalidaciones de cache entre las instancias del servicio.
+ *
+ * <p>La entrega es a lo sumo una vez y sin confirmación; lo que garantiza el bus es que
+ * una pérdida no pase inadvertida: si un nodo detecta que le faltan mensajes de otro,
+ * pide a sus {@link InvalidationListener} una recarga completa.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public interface InvalidationBus extends Closeable {
+
+    /**
+     * Encola una invalidación para los demás nodos. No bloquea ni falla: si la cola está
+     * llena, los demás nodos terminan recargando todo.
+     *
+     * @param invalidation entidad que cambió
+     */
+    void publish(Invalidation invalidation);
+
+    /**
+     * Detiene el bus; las invalidaciones pendientes se descartan.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,115 @@
+package com.example.userservice.invalidation;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Trama binaria del bus: un lote de invalidaciones de un nodo con su número de secuencia.
+ *
+ * <pre>
+ * magic (2) | versión (1) | nodo (8) | secuencia (8) | cantidad (2) | cantidad × [tipo (1) | id (16)]
+ * </pre>
+ *
+ * <p>Una trama sin entradas es un latido: no consume secuencia y repite la última
+ * usada, para que los demás nodos detecten también la pérdida de las últimas tramas.
+ * Las entradas de tipos desconocidos se saltean (nodos con otra versión).</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public final class InvalidationFrame {
+
+    /** Bytes fijos antes de las entradas. */
+    public static final int HEADER_BYTES = 21;
+
+    /** Bytes por invalidación. */
+    public static final int ENTRY_BYTES = 17;
+
+    private static final short MAGIC = 0x5549;
+    private static final byte VERSION = 1;
+
+    private final long nodeId;
+    private final long sequence;
+    private final List<Invalidation> invalidations;
+    private final boolean heartbeat;
+
+    InvalidationFrame(long nodeId, long sequence, List<Invalidation> invalidations, boolean heartbeat) {
+        this.nodeId = nodeId;
+        this.sequence = sequence;
+        this.invalidations = invalidations;
+        this.heartbeat = heartbeat;
+    }
+
+    /**
+     * @param maxBytes tamaño máximo de la trama
+     * @return invalidaciones que entran en una trama de ese tamaño
+     */
+    public static int capacity(int maxBytes) {
+        return Math.min((maxBytes - HEADER_BYTES) / ENTRY_BYTES, 0xFFFF);
+    }
+
+    /**
+     * Escribe una trama a partir de la posición actual de {@code out}.
+     *
+     * @param nodeId nodo emisor
+     * @param sequence secuencia de la trama (la última usada si es un latido)
+     * @param invalidations entradas (vacío para un latido)
+     * @param out destino con lugar para {@code HEADER_BYTES + n × ENTRY_BYTES} bytes
+     */
+    public static void encode(long nodeId, long sequence, List<Invalidation> invalidations, ByteBuffer out) {
+        out.putShort(MAGIC).put(VERSION).putLong(nodeId).putLong(sequence).putShort((short) invalidations.size());
+        for (Invalidation i : invalidations) {
+            out.put(i.getType().getCode())
+                    .putLong(i.getId().getMostSignificantBits())
+                    .putLong(i.getId().getLeastSignificantBits());
+        }
+    }
+
+    /**
+     * @param in trama recibida, entre la posición y el límite
+     * @return trama leída, o {@code null} si no es una trama válida de este bus
+     */
+    public static InvalidationFrame decode(ByteBuffer in) {
+        try {
+            if (in.getShort() != MAGIC || in.get() != VERSION) return null;
+            long nodeId = in.getLong();
+            long sequence = in.getLong();
+            int count = Short.toUnsignedInt(in.getShort());
+            if (in.remaining() != count * ENTRY_BYTES) return null;
+            if (count == 0) return new InvalidationFrame(nodeId, sequence, Collections.emptyList(), true);
+            List<Invalidation> invalidations = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Invalidation.EntityType type = Invalidation.EntityType.of(in.get());
+                UUID id = new UUID(in.getLong(), in.getLong());
+                if (type != null) invalidations.add(new Invalidation(type, id));
+            }
+            return new InvalidationFrame(nodeId, sequence, invalidations, false);
+        } catch (BufferUnderflowException e) {
+            return null;
+        }
+    }
+
+    /** @return nodo emisor */
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    /** @return secuencia de la trama */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /** @return entradas de tipos conocidos por este nodo */
+    public List<Invalidation> getInvalidations() {
+        return invalidations;
+    }
+
+    /** @return {@code true} si es un latido */
+    public boolean isHeartbeat() {
+        return heartbeat;
+    }
+}
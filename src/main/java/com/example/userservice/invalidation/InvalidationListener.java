@@ -0,0 +1,29 @@
+package com.example.userservice.invalidation;
+
+import java.util.List;
+
+/**
+ * Cache en memoria que se mantiene al día con las invalidaciones de otros nodos.
+ *
+ * <p>El bus invoca a cada listener desde un único hilo propio, en el orden de llegada:
+ * no hace falta sincronizar entre llamadas, pero una recarga lenta demora las
+ * invalidaciones siguientes (el bus las encola y, si se llena la cola, las reemplaza
+ * por una recarga completa).</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public interface InvalidationListener {
+
+    /**
+     * Relee las entidades indicadas.
+     *
+     * @param invalidations lote recibido de un nodo (sin repetidos)
+     */
+    void invalidate(List<Invalidation> invalidations);
+
+    /**
+     * Descarta o relee todo: se perdieron invalidaciones y no se sabe cuáles.
+     */
+    void invalidateAll();
+}
@@ -0,0 +1,53 @@
+package com.example.userservice.invalidation;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Parámetros del bus de invalidación entre instancias ({@code app.invalidation.*}).
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.invalidation")
+public class InvalidationProperties {
+
+    /** Habilita el bus. Sin él, cada instancia solo ve sus propias altas en los índices. */
+    private boolean enabled = false;
+
+    /** Grupo multicast (IPv4, de alcance administrativo). */
+    private String group = "239.255.42.99";
+
+    /** Puerto UDP del grupo; todas las instancias deben usar el mismo. */
+    private int port = 4446;
+
+    /**
+     * Interfaz de red. Vacío: la primera activa, no loopback y con multicast. El envío
+     * siempre se entrega también a las instancias de la misma máquina.
+     */
+    private String networkInterface = "";
+
+    /** TTL de los datagramas; 1 no sale de la subred. */
+    private int timeToLive = 1;
+
+    /** Ventana (ms) en la que se juntan invalidaciones antes de enviar un lote. */
+    private long batchWindowMillis = 5;
+
+    /** Tamaño máximo (bytes) de un datagrama; por debajo del MTU para no fragmentar. */
+    private int maxDatagramBytes = 1400;
+
+    /** Intervalo (ms) de los latidos que exponen pérdidas de las últimas tramas. */
+    private long heartbeatMillis = 1000;
+
+    /** Latidos seguidos sin noticias de un nodo tras los que se olvida su secuencia. */
+    private int peerTimeoutHeartbeats = 10;
+
+    /** Invalidaciones pendientes de envío, y lotes pendientes de aplicar. */
+    private int queueCapacity = 10_000;
+
+    /** Buffer de recepción del socket (bytes). */
+    private int receiveBufferBytes = 1024 * 1024;
+}
@@ -0,0 +1,37 @@
+package com.example.userservice.invalidation;
+
+import com.example.userservice.event.UserCreatedEvent;
+import com.example.userservice.event.UserStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Publica en el bus los cambios confirmados en este nodo.
+ *
+ * <p>Escucha después del commit, igual que los índices locales: una invalidación
+ * nunca llega a otro nodo antes de que el cambio sea visible en la base.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@RequiredArgsConstructor
+public class InvalidationPublisher {
+
+    private final InvalidationBus bus;
+
+    /**
+     * @param event usuario registrado
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserCreated(UserCreatedEvent event) {
+        bus.publish(Invalidation.user(event.getUser().getId()));
+    }
+
+    /**
+     * @param event cuenta desactivada o reactivada
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserStatusChanged(UserStatusChangedEvent event) {
+        bus.publish(Invalidation.user(event.getUserId()));
+    }
+}
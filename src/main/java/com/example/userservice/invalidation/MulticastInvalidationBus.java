@@ -0,0 +1,330 @@
+package com.example.userservice.invalidation;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link InvalidationBus} sobre UDP multicast.
+ *
+ * <p>Cada instancia elige al arrancar un id de nodo aleatorio y numera sus tramas
+ * ({@link InvalidationFrame}). Trabaja con tres hilos daemon:</p>
+ * <ul>
+ *   <li>{@code invalidation-send}: espera la primera invalidación, junta las que llegan
+ *       durante {@code batchWindowMillis}, descarta repetidas y envía lotes de hasta
+ *       {@code maxDatagramBytes}. Sin tráfico envía un latido cada {@code heartbeatMillis}.</li>
+ *   <li>{@code invalidation-receive}: lee las tramas de los demás nodos (las propias
+ *       vuelven por el loopback del grupo y se ignoran) y las clasifica con
+ *       {@link PeerSequences}.</li>
+ *   <li>{@code invalidation-apply}: entrega los lotes a los {@link InvalidationListener},
+ *       fuera del hilo receptor para que una recarga no llene el buffer del socket.</li>
+ * </ul>
+ *
+ * <p>Ninguna pérdida queda sin recarga: un datagrama perdido deja un salto de secuencia
+ * en el receptor; si se llena la cola de envío, el emisor saltea un número a propósito;
+ * si se llena la de aplicación, el receptor la vacía y pide una recarga completa.</p>
+ *
+ * <p>Como el grupo entrega también en la máquina emisora, varias instancias en la
+ * misma máquina (distintas JVM, mismo puerto) se ven entre sí.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Slf4j
+public class MulticastInvalidationBus implements InvalidationBus {
+
+    private static final List<Invalidation> FLUSH = new ArrayList<>(0);
+
+    private final InvalidationProperties properties;
+    private final List<InvalidationListener> listeners;
+    private final long nodeId;
+    private final int capacity;
+    private final BlockingQueue<Invalidation> outgoing;
+    private final BlockingQueue<List<Invalidation>> incoming;
+    private final AtomicBoolean sendOverflow = new AtomicBoolean();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final PeerSequences sequences;
+    private final List<Thread> threads = new ArrayList<>(3);
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong gaps = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running;
+    private DatagramChannel channel;
+    private InetSocketAddress target;
+    private long sequence;
+
+    /**
+     * @param properties parámetros del bus
+     * @param listeners caches locales a mantener al día
+     */
+    public MulticastInvalidationBus(InvalidationProperties properties, List<InvalidationListener> listeners) {
+        this.capacity = InvalidationFrame.capacity(properties.getMaxDatagramBytes());
+        if (capacity < 1) {
+            throw new IllegalArgumentException("maxDatagramBytes no alcanza para una invalidación");
+        }
+        this.properties = properties;
+        this.listeners = listeners;
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        this.nodeId = id;
+        this.outgoing = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.incoming = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.sequences = new PeerSequences(
+                TimeUnit.MILLISECONDS.toNanos(properties.getHeartbeatMillis() * properties.getPeerTimeoutHeartbeats()));
+    }
+
+    /**
+     * Se une al grupo e inicia los hilos.
+     *
+     * @throws IOException si no se puede abrir el socket o unirse al grupo
+     */
+    public void start() throws IOException {
+        InetAddress group = InetAddress.getByName(properties.getGroup());
+        NetworkInterface nic = networkInterface(properties.getNetworkInterface());
+        target = new InetSocketAddress(group, properties.getPort());
+        channel = DatagramChannel.open(StandardProtocolFamily.INET)
+                .setOption(StandardSocketOptions.SO_REUSEADDR, true)
+                .setOption(StandardSocketOptions.SO_RCVBUF, properties.getReceiveBufferBytes())
+                .bind(new InetSocketAddress(properties.getPort()));
+        channel.setOption(StandardSocketOptions.IP_MULTICAST_IF, nic);
+        channel.setOption(StandardSocketOptions.IP_MULTICAST_TTL, properties.getTimeToLive());
+        channel.setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+        channel.join(group, nic);
+
+        running = true;
+        startThread("invalidation-send", this::sendLoop);
+        startThread("invalidation-receive", this::receiveLoop);
+        startThread("invalidation-apply", this::applyLoop);
+        log.info("Bus de invalidación en {} por {} (nodo {})", target, nic.getName(), Long.toHexString(nodeId));
+    }
+
+    private void startThread(String name, Runnable loop) {
+        Thread t = new Thread(loop, name);
+        t.setDaemon(true);
+        t.start();
+        threads.add(t);
+    }
+
+    @Override
+    public void publish(Invalidation invalidation) {
+        if (!outgoing.offer(invalidation)) {
+            dropped.incrementAndGet();
+            sendOverflow.set(true);
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        for (Thread t : threads) t.interrupt();
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("Error al cerrar el socket del bus", e);
+            }
+        }
+    }
+
+    private void sendLoop() {
+        ByteBuffer buffer = ByteBuffer.allocate(
+                InvalidationFrame.HEADER_BYTES + capacity * InvalidationFrame.ENTRY_BYTES);
+        long heartbeatNanos = TimeUnit.MILLISECONDS.toNanos(properties.getHeartbeatMillis());
+        long nextHeartbeat = System.nanoTime() + heartbeatNanos;
+        while (running) {
+            try {
+                long wait = Math.max(nextHeartbeat - System.nanoTime(), 0);
+                Invalidation first = outgoing.poll(wait, TimeUnit.NANOSECONDS);
+                if (sendOverflow.getAndSet(false)) {
+                    sequence++; // invalidaciones descartadas: los demás nodos verán el salto
+                }
+                if (first == null) {
+                    send(buffer, Collections.emptyList());
+                } else {
+                    TimeUnit.MILLISECONDS.sleep(properties.getBatchWindowMillis());
+                    Set<Invalidation> unique = new LinkedHashSet<>();
+                    unique.add(first);
+                    List<Invalidation> drained = new ArrayList<>(outgoing.size());
+                    outgoing.drainTo(drained);
+                    unique.addAll(drained);
+                    List<Invalidation> batch = new ArrayList<>(unique);
+                    for (int from = 0; from < batch.size(); from += capacity) {
+                        sequence++;
+                        send(buffer, batch.subList(from, Math.min(from + capacity, batch.size())));
+                    }
+                }
+                nextHeartbeat = System.nanoTime() + heartbeatNanos;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void send(ByteBuffer buffer, List<Invalidation> invalidations) {
+        buffer.clear();
+        InvalidationFrame.encode(nodeId, sequence, invalidations, buffer);
+        buffer.flip();
+        try {
+            channel.send(buffer, target);
+            if (!invalidations.isEmpty()) sent.incrementAndGet();
+        } catch (ClosedChannelException e) {
+            running = false;
+        } catch (IOException e) {
+            // la secuencia ya avanzó: los demás nodos lo tratarán como una pérdida
+            log.warn("No se pudo enviar una trama de invalidación: {}", e.toString());
+        }
+    }
+
+    private void receiveLoop() {
+        ByteBuffer buffer = ByteBuffer.allocate(65_535);
+        while (running) {
+            buffer.clear();
+            try {
+                channel.receive(buffer);
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                log.warn("Error al recibir del bus de invalidación: {}", e.toString());
+                continue;
+            }
+            buffer.flip();
+            InvalidationFrame frame = InvalidationFrame.decode(buffer);
+            if (frame == null) {
+                dropped.incrementAndGet();
+                continue;
+            }
+            if (frame.getNodeId() == nodeId) continue;
+            switch (sequences.accept(frame)) {
+                case IN_ORDER:
+                    if (frame.isHeartbeat() || frame.getInvalidations().isEmpty()) break;
+                    received.incrementAndGet();
+                    if (!incoming.offer(frame.getInvalidations())) requestFlush();
+                    break;
+                case GAP:
+                    gaps.incrementAndGet();
+                    log.debug("Salto de secuencia del nodo {} en {}", Long.toHexString(frame.getNodeId()),
+                            frame.getSequence());
+                    requestFlush();
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private void requestFlush() {
+        flushRequested.set(true);
+        incoming.offer(FLUSH); // si la cola está llena, el hilo ya tiene algo que tomar
+    }
+
+    private void applyLoop() {
+        while (running) {
+            List<Invalidation> next;
+            try {
+                next = incoming.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (flushRequested.getAndSet(false)) {
+                // lo encolado hasta acá queda cubierto por la recarga
+                incoming.clear();
+                flushes.incrementAndGet();
+                for (InvalidationListener l : listeners) {
+                    try {
+                        l.invalidateAll();
+                    } catch (RuntimeException e) {
+                        log.warn("Falló la recarga completa de {}", l.getClass().getSimpleName(), e);
+                    }
+                }
+            } else if (next != FLUSH) {
+                for (InvalidationListener l : listeners) {
+                    try {
+                        l.invalidate(next);
+                    } catch (RuntimeException e) {
+                        log.warn("Falló la invalidación en {}: {}", l.getClass().getSimpleName(), e.toString());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param name nombre de la interfaz, o vacío para elegir una
+     * @return la interfaz indicada, o la primera activa, no loopback y con multicast
+     * @throws SocketException si no hay ninguna adecuada
+     */
+    static NetworkInterface networkInterface(String name) throws SocketException {
+        if (name != null && !name.isEmpty()) {
+            NetworkInterface nic = NetworkInterface.getByName(name);
+            if (nic == null) throw new SocketException("No existe la interfaz " + name);
+            return nic;
+        }
+        for (NetworkInterface nic : Collections.list(NetworkInterface.getNetworkInterfaces())) {
+            if (nic.isUp() && !nic.isLoopback() && nic.supportsMulticast()) return nic;
+        }
+        throw new SocketException("No hay una interfaz con multicast; configurar app.invalidation.network-interface");
+    }
+
+    /** @return id de este nodo en las tramas */
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    /** @return tramas con invalidaciones enviadas */
+    public long getSent() {
+        return sent.get();
+    }
+
+    /** @return tramas con invalidaciones recibidas de otros nodos y aplicadas en orden */
+    public long getReceived() {
+        return received.get();
+    }
+
+    /** @return saltos de secuencia detectados */
+    public long getGaps() {
+        return gaps.get();
+    }
+
+    /** @return recargas completas pedidas a los listeners */
+    public long getFlushes() {
+        return flushes.get();
+    }
+
+    /** @return invalidaciones descartadas por cola llena y tramas inválidas */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /** @return invalidaciones esperando el próximo lote */
+    public int getPending() {
+        return outgoing.size();
+    }
+}
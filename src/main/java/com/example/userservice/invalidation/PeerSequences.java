@@ -0,0 +1,94 @@
+package com.example.userservice.invalidation;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Última secuencia recibida de cada nodo, para detectar tramas perdidas.
+ *
+ * <p>Cada nodo numera sus tramas de a una desde 1 y repite la última en sus latidos.
+ * Un nodo desconocido se compara contra 0: solo sigue en orden si su primera trama es
+ * la 1 (o un latido sin tramas previas). Si llega con una secuencia mayor, las tramas
+ * anteriores pudieron publicarse después del escaneo inicial de este nodo, así que
+ * cuenta como pérdida. Un salto hacia adelante es una pérdida; una secuencia vieja
+ * es un duplicado o un reordenamiento y se descarta.</p>
+ *
+ * <p>Un nodo del que no llega nada (ni latidos) durante {@code timeoutNanos} se olvida, para
+ * que las instancias que se apagan no queden en el mapa. Si vuelve a transmitir cuenta como
+ * desconocido: salvo que recién empiece, es una pérdida.</p>
+ *
+ * <p>No es thread-safe: la usa solo el hilo receptor del bus.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public final class PeerSequences {
+
+    private final Map<Long, Peer> peers = new HashMap<>();
+    private final long timeoutNanos;
+    private final LongSupplier clock;
+    private long nextSweep;
+
+    /**
+     * @param timeoutNanos tiempo sin recibir nada de un nodo tras el que se lo olvida
+     */
+    public PeerSequences(long timeoutNanos) {
+        this(timeoutNanos, System::nanoTime);
+    }
+
+    PeerSequences(long timeoutNanos, LongSupplier clock) {
+        this.timeoutNanos = timeoutNanos;
+        this.clock = clock;
+        this.nextSweep = clock.getAsLong() + timeoutNanos;
+    }
+
+    /**
+     * Registra una trama y clasifica su secuencia.
+     *
+     * @param frame trama recibida de otro nodo
+     * @return qué hacer con la trama
+     */
+    public Outcome accept(InvalidationFrame frame) {
+        long now = clock.getAsLong();
+        if (now - nextSweep >= 0) evictIdle(now);
+        Peer peer = peers.computeIfAbsent(frame.getNodeId(), id -> new Peer());
+        peer.seenAt = now;
+        long sequence = frame.getSequence();
+        // en un latido la secuencia es la última usada; en un lote, la siguiente
+        long expected = frame.isHeartbeat() ? peer.sequence : peer.sequence + 1;
+        if (sequence < expected) return Outcome.STALE;
+        peer.sequence = sequence;
+        return sequence == expected ? Outcome.IN_ORDER : Outcome.GAP;
+    }
+
+    private void evictIdle(long now) {
+        for (Iterator<Peer> it = peers.values().iterator(); it.hasNext(); ) {
+            if (now - it.next().seenAt > timeoutNanos) it.remove();
+        }
+        nextSweep = now + timeoutNanos;
+    }
+
+    /** @return nodos de los que se recibió algo dentro del plazo */
+    public int size() {
+        return peers.size();
+    }
+
+    private static final class Peer {
+        long sequence;
+        long seenAt;
+    }
+
+    /**
+     * Clasificación de una trama.
+     */
+    public enum Outcome {
+        /** Sigue a la anterior: aplicar sus invalidaciones. */
+        IN_ORDER,
+        /** Faltan tramas anteriores: recargar todo (incluye las de esta). */
+        GAP,
+        /** Ya recibida o superada: descartar. */
+        STALE
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.userservice.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Herramienta offline que resume por etapa los eventos de autenticación de un {@code .jfr}.
+ *
+ * <p>Agrupa los {@link AuthStageEvent} por tipo y operación y los {@link AuthRequestEvent}
+ * por endpoint, e imprime cantidad, percentiles de duración, errores y el porcentaje del
+ * tiempo total de las requests que se fue en cada etapa.</p>
+ *
+ * <pre>
+ * java -cp app.jar -Dloader.main=com.example.userservice.jfr.AuthJfrAnalyzer \
+ *      org.springframework.boot.loader.PropertiesLauncher auth.jfr
+ * </pre>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public final class AuthJfrAnalyzer {
+
+    private static final String PREFIX = "com.example.userservice.";
+    private static final String REQUEST = PREFIX + "AuthRequest";
+
+    private AuthJfrAnalyzer() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Uso: AuthJfrAnalyzer <grabacion.jfr>");
+        }
+        print(analyze(Paths.get(args[0])), System.out);
+    }
+
+    /**
+     * Lee una grabación y agrupa sus eventos de autenticación.
+     *
+     * @param recording archivo {@code .jfr}
+     * @return estadísticas por etapa, ordenadas por nombre ({@code Tipo/operación})
+     * @throws IOException si no se puede leer el archivo
+     */
+    public static Map<String, StageStats> analyze(Path recording) throws IOException {
+        Map<String, StageStats> stages = new TreeMap<>();
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                String type = event.getEventType().getName();
+                if (!type.startsWith(PREFIX)) continue;
+
+                String stage;
+                boolean failed;
+                if (type.equals(REQUEST)) {
+                    stage = "AuthRequest/" + event.getString("endpoint");
+                    failed = event.getInt("status") >= 500;
+                } else {
+                    stage = type.substring(PREFIX.length()) + '/' + event.getString("operation");
+                    failed = !AuthStageEvent.OK.equals(event.getString("outcome"));
+                }
+                stages.computeIfAbsent(stage, k -> new StageStats())
+                        .add(event.getDuration().toNanos(), failed);
+            }
+        }
+        return stages;
+    }
+
+    /**
+     * Imprime la tabla de etapas.
+     *
+     * @param stages estadísticas de {@link #analyze(Path)}
+     * @param out destino
+     */
+    public static void print(Map<String, StageStats> stages, PrintStream out) {
+        long requestNanos = 0;
+        for (Map.Entry<String, StageStats> e : stages.entrySet()) {
+            if (e.getKey().startsWith("AuthRequest/")) requestNanos += e.getValue().getTotalNanos();
+        }
+        out.printf("%-34s %8s %10s %10s %10s %10s %7s %7s%n",
+                "etapa", "n", "p50 us", "p90 us", "p99 us", "max us", "% req", "errores");
+        for (Map.Entry<String, StageStats> e : stages.entrySet()) {
+            StageStats s = e.getValue();
+            String share = requestNanos == 0 || e.getKey().startsWith("AuthRequest/")
+                    ? "-"
+                    : String.format("%.1f", 100.0 * s.getTotalNanos() / requestNanos);
+            out.printf("%-34s %8d %10.1f %10.1f %10.1f %10.1f %7s %7d%n", e.getKey(), s.getCount(),
+                    s.percentile(50) / 1e3, s.percentile(90) / 1e3, s.percentile(99) / 1e3,
+                    s.percentile(100) / 1e3, share, s.getFailures());
+        }
+    }
+
+    /**
+     * Duraciones de una etapa.
+     */
+    public static final class StageStats {
+        private long[] durations = new long[64];
+        private int count;
+        private long totalNanos;
+        private long failures;
+        private boolean sorted;
+
+        void add(long nanos, boolean failed) {
+            if (count == durations.length) durations = Arrays.copyOf(durations, count * 2);
+            durations[count++] = nanos;
+            totalNanos += nanos;
+            if (failed) failures++;
+            sorted = false;
+        }
+
+        /**
+         * @param p percentil entre 0 y 100
+         * @return duración (ns) del percentil, por el método del rango más cercano
+         */
+        public long percentile(double p) {
+            if (count == 0) return 0;
+            if (!sorted) {
+                Arrays.sort(durations, 0, count);
+                sorted = true;
+            }
+            int rank = (int) Math.ceil(p / 100.0 * count);
+            return durations[Math.max(rank, 1) - 1];
+        }
+
+        /** @return cantidad de eventos */
+        public int getCount() {
+            return count;
+        }
+
+        /** @return suma de las duraciones (ns) */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /** @return eventos con error (excepción en la etapa o {@code 5xx} en la request) */
+        public long getFailures() {
+            return failures;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.userservice.jfr;
+
+import com.example.userservice.datasource.ShardContext;
+
+import java.util.function.Supplier;
+
+/**
+ * Mide etapas del camino de autenticación como eventos JFR.
+ *
+ * <pre>
+ * String hash = AuthProfiling.passwordHash("encode", () -&gt; encoder.encode(raw));
+ * </pre>
+ *
+ * <p>Si el evento no está habilitado en la grabación activa (o no hay grabación), el
+ * costo es el de la lambda: no se registra nada ni se leen datos extra.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public final class AuthProfiling {
+
+    private AuthProfiling() {
+    }
+
+    /**
+     * @param operation operación ({@code encode} o {@code matches})
+     * @param body cálculo del hash
+     * @return resultado de {@code body}
+     */
+    public static <T> T passwordHash(String operation, Supplier<T> body) {
+        return record(new PasswordHashEvent(), operation, body);
+    }
+
+    /**
+     * @param operation operación ({@code sign} o {@code verify})
+     * @param body firma o verificación del token
+     * @return resultado de {@code body}
+     */
+    public static <T> T token(String operation, Supplier<T> body) {
+        return record(new TokenEvent(), operation, body);
+    }
+
+    /**
+     * @param operation método del repositorio
+     * @param body acceso al repositorio
+     * @return resultado de {@code body}
+     */
+    public static <T> T repository(String operation, Supplier<T> body) {
+        RepositoryEvent event = new RepositoryEvent();
+        if (event.isEnabled()) {
+            event.shard = ShardContext.current();
+        }
+        return record(event, operation, body);
+    }
+
+    /**
+     * @param body mapeo de la respuesta
+     * @return resultado de {@code body}
+     */
+    public static <T> T responseMapping(Supplier<T> body) {
+        return record(new ResponseMappingEvent(), "toResponse", body);
+    }
+
+    private static <T> T record(AuthStageEvent event, String operation, Supplier<T> body) {
+        event.begin();
+        String outcome = AuthStageEvent.OK;
+        try {
+            return body.get();
+        } catch (RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = operation;
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.userservice.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Request completa de {@code /sign-up} o {@code /login} en el controlador, emitida por
+ * {@link AuthRequestInterceptor} con el código HTTP final.
+ *
+ * <p>Contiene a los {@link AuthStageEvent} del mismo hilo, lo que permite calcular qué
+ * parte del tiempo de la request se va en cada etapa.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Name("com.example.userservice.AuthRequest")
+@Label("Auth Request")
+@Category({"User Service", "Auth"})
+@StackTrace(false)
+@Enabled(false)
+public class AuthRequestEvent extends Event {
+
+    /** Endpoint ({@code sign-up} o {@code login}). */
+    @Label("Endpoint")
+    public String endpoint;
+
+    /** Código HTTP de la respuesta. */
+    @Label("Status")
+    public int status;
+}
@@ -0,0 +1,46 @@
+package com.example.userservice.jfr;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Emite un {@link AuthRequestEvent} por cada request de {@code /sign-up} y {@code /login}
+ * que llega al controlador, con el código HTTP final de la respuesta (el que escribió el
+ * controlador o el {@code GlobalExceptionHandler}).
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public class AuthRequestInterceptor implements HandlerInterceptor {
+
+    private static final String EVENT = AuthRequestInterceptor.class.getName() + ".event";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        AuthRequestEvent event = new AuthRequestEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            request.setAttribute(EVENT, event);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object attribute = request.getAttribute(EVENT);
+        if (!(attribute instanceof AuthRequestEvent)) {
+            return;
+        }
+        AuthRequestEvent event = (AuthRequestEvent) attribute;
+        event.end();
+        if (event.shouldCommit()) {
+            event.endpoint = request.getServletPath().substring(1);
+            event.status = ex != null ? HttpStatus.INTERNAL_SERVER_ERROR.value() : response.getStatus();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.userservice.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base de los eventos JFR de las etapas de autenticación.
+ *
+ * <p>Los eventos están deshabilitados por defecto ({@code @Enabled(false)}): con las
+ * configuraciones {@code default} y {@code profile} de la JVM no se registran y, una vez
+ * compilado el código, {@code begin()}/{@code commit()} se reducen a un chequeo de
+ * bandera. Se habilitan con {@code jfr/auth.jfc}.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Category({"User Service", "Auth"})
+@StackTrace(false)
+@Enabled(false)
+public abstract class AuthStageEvent extends Event {
+
+    /** Resultado de una etapa sin errores. */
+    public static final String OK = "ok";
+
+    /** Operación dentro de la etapa (por ejemplo {@code findByEmail}). */
+    @Label("Operation")
+    String operation;
+
+    /** {@value #OK} o el nombre simple de la excepción lanzada. */
+    @Label("Outcome")
+    String outcome;
+}
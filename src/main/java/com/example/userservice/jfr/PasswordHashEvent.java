@@ -0,0 +1,15 @@
+package com.example.userservice.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Cálculo del hash BCrypt de una contraseña.
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Name("com.example.userservice.PasswordHash")
+@Label("Password Hash")
+public class PasswordHashEvent extends AuthStageEvent {
+}
@@ -0,0 +1,19 @@
+package com.example.userservice.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Consulta o escritura de usuarios en el repositorio, con el shard que la atendió.
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Name("com.example.userservice.Repository")
+@Label("Repository")
+public class RepositoryEvent extends AuthStageEvent {
+
+    /** Shard activo durante la operación. */
+    @Label("Shard")
+    int shard;
+}
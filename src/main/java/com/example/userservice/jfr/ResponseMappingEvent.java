@@ -0,0 +1,15 @@
+package com.example.userservice.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Mapeo de la entidad {@code User} a {@code UserResponse}.
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Name("com.example.userservice.ResponseMapping")
+@Label("Response Mapping")
+public class ResponseMappingEvent extends AuthStageEvent {
+}
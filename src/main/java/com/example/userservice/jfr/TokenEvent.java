@@ -0,0 +1,15 @@
+package com.example.userservice.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Firma o verificación de un token JWT.
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Name("com.example.userservice.Token")
+@Label("JWT Token")
+public class TokenEvent extends AuthStageEvent {
+}
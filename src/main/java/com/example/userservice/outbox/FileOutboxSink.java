@@ -0,0 +1,57 @@
+package com.example.userservice.outbox;
+
+import com.example.userservice.domain.OutboxEvent;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * {@link OutboxSink} que agrega los eventos a un archivo local, una línea JSON por
+ * evento ({@code {"id":N,"event":{...}}}). Pensado para pruebas e integración local.
+ *
+ * <p>Cada lote se escribe con una sola operación y se fuerza a disco antes de
+ * confirmarse, así que un lote confirmado no se pierde aunque caiga el proceso.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public class FileOutboxSink implements OutboxSink, Closeable {
+
+    private final FileChannel channel;
+
+    /**
+     * @param path archivo de salida (se crea si no existe; se agrega al final)
+     * @throws IOException si no se puede abrir el archivo
+     */
+    public FileOutboxSink(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> batch) throws IOException {
+        StringBuilder sb = new StringBuilder(batch.size() * 160);
+        for (OutboxEvent event : batch) {
+            sb.append("{\"id\":").append(event.getId()).append(",\"event\":").append(event.getPayload()).append("}\n");
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
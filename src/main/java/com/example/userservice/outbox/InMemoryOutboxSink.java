@@ -0,0 +1,56 @@
+package com.example.userservice.outbox;
+
+import com.example.userservice.domain.OutboxEvent;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OutboxSink} que deja los eventos en una cola acotada en memoria, para
+ * consumidores dentro del mismo proceso.
+ *
+ * <p>Si la cola está llena el lote falla y el relay lo reintenta más tarde, por lo que
+ * un consumidor lento frena al relay en lugar de perder eventos.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+    private final BlockingQueue<OutboxEvent> queue;
+
+    /**
+     * @param capacity capacidad máxima de la cola
+     */
+    public InMemoryOutboxSink(int capacity) {
+        this.queue = new LinkedBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> batch) throws IOException {
+        for (OutboxEvent event : batch) {
+            try {
+                if (!queue.offer(event, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    throw new IOException("Cola del outbox llena");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Publicación interrumpida", e);
+            }
+        }
+    }
+
+    /**
+     * Cola de la que leen los consumidores.
+     *
+     * @return cola de eventos publicados
+     */
+    public BlockingQueue<OutboxEvent> getQueue() {
+        return queue;
+    }
+}
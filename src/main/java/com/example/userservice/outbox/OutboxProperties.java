@@ -0,0 +1,45 @@
+package com.example.userservice.outbox;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Parámetros del relay del outbox ({@code app.outbox.*}).
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    /** Habilita el relay. Los eventos se escriben igual; sin relay quedan pendientes. */
+    private boolean enabled = true;
+
+    /** Destino de los eventos. */
+    private SinkType sink = SinkType.MEMORY;
+
+    /** Archivo de salida cuando {@code sink=file}. */
+    private String filePath = "./data/outbox.log";
+
+    /** Capacidad de la cola cuando {@code sink=memory}. */
+    private int queueCapacity = 10_000;
+
+    /** Eventos leídos y publicados por lote. */
+    private int batchSize = 200;
+
+    /** Espera (ms) entre pasadas cuando no quedan eventos pendientes. */
+    private long pollIntervalMillis = 200;
+
+    /**
+     * Destinos disponibles.
+     */
+    public enum SinkType {
+        /** Cola acotada en memoria ({@link InMemoryOutboxSink}). */
+        MEMORY,
+        /** Archivo local de líneas JSON ({@link FileOutboxSink}). */
+        FILE
+    }
+}
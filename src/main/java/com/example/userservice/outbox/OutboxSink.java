@@ -0,0 +1,29 @@
+package com.example.userservice.outbox;
+
+import com.example.userservice.domain.OutboxEvent;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destino al que {@link OutboxRelay} entrega los eventos del outbox.
+ *
+ * <p>La entrega es al menos una vez: si {@link #publish(List)} falla, o el proceso cae
+ * entre la publicación y el borrado, el lote se vuelve a entregar completo. Los
+ * consumidores deben deduplicar por {@link OutboxEvent#getId()}.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public interface OutboxSink {
+
+    /**
+     * Publica un lote de eventos, en orden.
+     *
+     * <p>Solo debe terminar normalmente cuando todo el lote quedó aceptado por el destino.</p>
+     *
+     * @param batch eventos en orden de {@code id}
+     * @throws IOException si el destino no aceptó el lote; se reintentará
+     */
+    void publish(List<OutboxEvent> batch) throws IOException;
+}
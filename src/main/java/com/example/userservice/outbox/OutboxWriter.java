@@ -0,0 +1,63 @@
+package com.example.userservice.outbox;
+
+import com.example.userservice.domain.OutboxEvent;
+import com.example.userservice.domain.User;
+import com.example.userservice.repository.OutboxRepository;
+import com.example.userservice.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Escribe los eventos de usuario en el outbox, siempre dentro de la transacción del
+ * cambio que los origina.
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxRepository outboxRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * Encola el evento de registro en la transacción en curso.
+     *
+     * @param user usuario recién guardado
+     * @throws org.springframework.transaction.IllegalTransactionStateException si no hay transacción
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void userCreated(User user) {
+        outboxRepository.save(OutboxEvent.userCreated(user));
+    }
+
+    /**
+     * Encola el evento de cambio de estado en la transacción en curso.
+     *
+     * @param user usuario con el estado ya actualizado
+     * @param active nuevo estado
+     * @param at momento del cambio
+     * @throws org.springframework.transaction.IllegalTransactionStateException si no hay transacción
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusChanged(User user, boolean active, Instant at) {
+        outboxRepository.save(OutboxEvent.statusChanged(user, active, at));
+    }
+
+    /**
+     * Actualiza el último login y encola el evento en una misma transacción.
+     *
+     * @param user usuario que inició sesión
+     * @param at momento del inicio de sesión
+     */
+    @Transactional
+    public void recordLogin(User user, Instant at) {
+        userRepository.updateLastLogin(user.getId(), at);
+        outboxRepository.save(OutboxEvent.userLoggedIn(user, at));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.userservice.repository;
+
+import com.example.userservice.domain.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio de la tabla {@code outbox_event}.
+ *
+ * <p>Las lecturas no son {@code readOnly}: el relay debe ver la primaria, no una réplica
+ * atrasada.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public interface OutboxRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * @param page tamaño del lote
+     * @return los eventos pendientes más antiguos, en orden de {@code id}
+     */
+    @Transactional
+    List<OutboxEvent> findByOrderByIdAsc(Pageable page);
+
+    /**
+     * Borra los eventos ya publicados.
+     *
+     * @param ids ids de los eventos publicados
+     * @return cantidad de filas borradas
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from OutboxEvent e where e.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
@@ -1,8 +1,19 @@
 package com.example.userservice.repository;
 
+import com.example.userservice.domain.Emails;
 import com.example.userservice.domain.User;
+import com.example.userservice.dto.UserSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,27 +29,165 @@ import java.util.UUID;
  *
  * <p>Incluye además consultas personalizadas:</p>
  * <ul>
- *   <li>{@link #findByEmail(String)}: busca un usuario por su correo electrónico.</li>
- *   <li>{@link #existsByEmail(String)}: verifica si existe un usuario con un correo específico.</li>
+ *   <li>{@link #findByNormalizedEmail(String)}: busca un usuario por su correo electrónico.</li>
+ *   <li>{@link #existsByNormalizedEmail(String)}: verifica si existe un usuario con un correo específico.</li>
+ *   <li>{@link #updateLastLogin(UUID, Instant)}: actualiza solo la fecha de último login.</li>
+ *   <li>{@link #findSummariesByPhone(long)}: búsqueda inversa por teléfono completo.</li>
+ *   <li>{@link #deactivate(UUID)} / {@link #reactivate(UUID)}: cambio condicional de estado.</li>
+ *   <li>{@link #findByStatus} / {@link #findByStatusAfter}: listado por estado con keyset
+ *       sobre el índice {@code ix_users_active_created_id}.</li>
+ *   <li>{@link #countActive()}: total de activos del shard desde {@code active_user_count}.</li>
  * </ul>
  *
+ * <p>Las consultas se declaran {@code readOnly}: fuera de una transacción de escritura
+ * se sirven desde una réplica cuando el ruteo lectura/escritura está habilitado.</p>
+ *
  * @author Federico Rosales
  * @since 1.0
  */
 public interface UserRepository extends JpaRepository<User, UUID> {
+
+    /** Filas de {@code active_user_count} (ver la migración {@code V5}). */
+    int ACTIVE_COUNT_STRIPES = 16;
+
     /**
-     * Busca un usuario por su correo electrónico.
+     * Busca un usuario por su correo electrónico normalizado, cargando también sus
+     * teléfonos en la misma consulta. Usa el índice único {@code uk_users_normalized_email}.
      *
-     * @param email correo electrónico del usuario
+     * @param normalizedEmail correo electrónico ya normalizado ({@link Emails#normalize(String)})
      * @return un {@link Optional} que contiene el usuario si existe, o vacío si no
      */
-    Optional<User> findByEmail(String email);
+    @Transactional(readOnly = true)
+    @EntityGraph(attributePaths = "phones")
+    Optional<User> findByNormalizedEmail(String normalizedEmail);
 
     /**
-     * Verifica si existe un usuario con el correo electrónico dado.
+     * Verifica si existe un usuario con el correo electrónico normalizado dado.
+     * Se resuelve solo con el índice único {@code uk_users_normalized_email}.
      *
-     * @param email correo electrónico a verificar
+     * @param normalizedEmail correo electrónico ya normalizado ({@link Emails#normalize(String)})
      * @return {@code true} si existe un usuario con ese email, {@code false} en caso contrario
      */
-    boolean existsByEmail(String email);
+    @Transactional(readOnly = true)
+    boolean existsByNormalizedEmail(String normalizedEmail);
+
+    /**
+     * Actualiza la fecha de último login sin cargar ni versionar la entidad.
+     *
+     * @param id identificador del usuario
+     * @param lastLogin nueva fecha de último login
+     * @return cantidad de filas actualizadas
+     */
+    @Modifying
+    @Transactional
+    @Query("update User u set u.lastLogin = :lastLogin where u.id = :id")
+    int updateLastLogin(@Param("id") UUID id, @Param("lastLogin") Instant lastLogin);
+
+    /**
+     * Busca los usuarios que tienen registrado un teléfono, usando el índice
+     * {@code ix_phone_e164}.
+     *
+     * @param e164 número empaquetado ({@link com.example.userservice.domain.PhoneNumbers#packE164})
+     * @return resúmenes de los usuarios con ese número
+     */
+    @Transactional(readOnly = true)
+    @Query("select distinct new com.example.userservice.dto.UserSummary(u.id, u.name, u.email, u.isActive) "
+            + "from Phone p join p.user u where p.e164 = :e164")
+    List<UserSummary> findSummariesByPhone(@Param("e164") long e164);
+
+    /**
+     * @param ids identificadores de usuario
+     * @return resúmenes de los usuarios encontrados
+     */
+    @Transactional(readOnly = true)
+    @Query("select new com.example.userservice.dto.UserSummary(u.id, u.name, u.email, u.isActive) "
+            + "from User u where u.id in :ids")
+    List<UserSummary> findSummariesByIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Desactiva la cuenta e incrementa su versión de sesión, si estaba activa.
+     *
+     * @param id identificador del usuario
+     * @return 1 si cambió el estado, 0 si no existe o ya estaba inactiva
+     */
+    @Modifying
+    @Transactional
+    @Query("update User u set u.isActive = false, u.sessionVersion = u.sessionVersion + 1 "
+            + "where u.id = :id and u.isActive = true")
+    int deactivate(@Param("id") UUID id);
+
+    /**
+     * Reactiva la cuenta, si estaba inactiva. Los tokens revocados siguen revocados.
+     *
+     * @param id identificador del usuario
+     * @return 1 si cambió el estado, 0 si no existe o ya estaba activa
+     */
+    @Modifying
+    @Transactional
+    @Query("update User u set u.isActive = true where u.id = :id and u.isActive = false")
+    int reactivate(@Param("id") UUID id);
+
+    /**
+     * Primera página de usuarios en un estado, por orden de (created, id).
+     *
+     * @param active estado buscado
+     * @param page tamaño de página (siempre la primera)
+     * @return usuarios, sin teléfonos
+     */
+    @Transactional(readOnly = true)
+    @Query("select u from User u where u.isActive = :active order by u.created, u.id")
+    List<User> findByStatus(@Param("active") boolean active, Pageable page);
+
+    /**
+     * Página siguiente a la posición (created, id) de la última fila devuelta.
+     *
+     * @param active estado buscado
+     * @param created fecha de creación de la última fila
+     * @param id id de la última fila
+     * @param page tamaño de página (siempre la primera)
+     * @return usuarios, sin teléfonos
+     */
+    @Transactional(readOnly = true)
+    @Query("select u from User u where u.isActive = :active "
+            + "and (u.created > :created or (u.created = :created and u.id > :id)) order by u.created, u.id")
+    List<User> findByStatusAfter(@Param("active") boolean active, @Param("created") Instant created,
+                                 @Param("id") UUID id, Pageable page);
+
+    /**
+     * Suma o resta usuarios activos en la fila del contador que le toca al usuario.
+     * Debe ir en la misma transacción que el cambio de estado.
+     *
+     * @param userId usuario que cambió de estado (elige la fila)
+     * @param delta {@code +1} o {@code -1}
+     * @return filas actualizadas
+     */
+    default int adjustActiveCount(UUID userId, int delta) {
+        return adjustActiveCountStripe(activeCountStripe(userId), delta);
+    }
+
+    /**
+     * @param userId usuario
+     * @return fila de {@code active_user_count} que le corresponde
+     */
+    static int activeCountStripe(UUID userId) {
+        return (int) (userId.getLeastSignificantBits() & (ACTIVE_COUNT_STRIPES - 1));
+    }
+
+    /**
+     * @param stripe fila del contador
+     * @param delta cantidad a sumar
+     * @return filas actualizadas
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE active_user_count SET active = active + :delta WHERE stripe = :stripe",
+            nativeQuery = true)
+    int adjustActiveCountStripe(@Param("stripe") int stripe, @Param("delta") int delta);
+
+    /**
+     * @return usuarios activos del shard (suma de {@value #ACTIVE_COUNT_STRIPES} filas)
+     */
+    @Transactional(readOnly = true)
+    @Query(value = "SELECT COALESCE(SUM(active), 0) FROM active_user_count", nativeQuery = true)
+    long countActive();
 }
@@ -0,0 +1,68 @@
+package com.example.userservice.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * {@link PasswordEncoder} que limita cuántos hashes se calculan en paralelo.
+ *
+ * <p>Con hilos virtuales la cantidad de requests concurrentes deja de estar acotada
+ * por el pool de Tomcat, pero BCrypt es trabajo de CPU puro: si miles de hilos
+ * virtuales lo ejecutan a la vez ocupan todos los carrier threads y las requests
+ * que solo esperan I/O no pueden reanudarse. Este decorador deja pasar como máximo
+ * {@code permits} cálculos simultáneos; el resto espera en un {@link Semaphore},
+ * que a diferencia de {@code synchronized} libera el carrier mientras espera.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Semaphore permits;
+
+    /**
+     * @param delegate encoder real (por ejemplo BCrypt)
+     * @param permits cantidad máxima de operaciones simultáneas
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int permits) {
+        if (permits < 1) throw new IllegalArgumentException("permits debe ser mayor a 0");
+        this.delegate = delegate;
+        this.permits = new Semaphore(permits);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        acquire();
+        try {
+            return delegate.encode(rawPassword);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        acquire();
+        try {
+            return delegate.matches(rawPassword, encodedPassword);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private void acquire() {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando turno para el hash de contraseña", e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.userservice.security;
 
+import com.example.userservice.jfr.AuthProfiling;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -25,7 +26,8 @@ import java.util.UUID;
  * <p>Los valores de {@code secret} y {@code expirationSeconds} se obtienen del
  * archivo de propiedades de la aplicación ({@code application.properties} o {@code application.yml}).</p>
  *
- * <p>Este componente se puede inyectar en servicios que necesiten generar o validar tokens.</p>
+ * <p>Este componente se puede inyectar en servicios que necesiten generar o validar tokens.
+ * La firma y la verificación se registran como eventos JFR ({@link AuthProfiling}).</p>
  *
  * @author Federico Rosales
  * @since 1.0
@@ -33,6 +35,12 @@ import java.util.UUID;
 @Component
 public class JwtUtil {
 
+    /** Claim con el id del usuario dueño del token. */
+    public static final String USER_ID = "uid";
+
+    /** Claim con la versión de sesión del usuario ({@code User.sessionVersion}). */
+    public static final String SESSION_VERSION = "sv";
+
     /** Secreto utilizado para firmar los tokens JWT */
     @Value("${app.jwt.secret}")
     private String secret;
@@ -44,28 +52,30 @@ public class JwtUtil {
     /**
      * Genera un token JWT para un usuario.
      *
-     * <p>Incluye el UID del usuario como claim y el email como subject.
-     * El token se firma usando HS256.</p>
+     * <p>Incluye el UID del usuario y su versión de sesión como claims y el email como
+     * subject. El token se firma usando HS256.</p>
      *
      * @param email correo electrónico del usuario (no puede ser nulo ni vacío)
      * @param uid identificador único del usuario (no puede ser nulo)
+     * @param sessionVersion versión de sesión vigente del usuario
      * @return token JWT firmado como {@link String}
      * @throws IllegalArgumentException si {@code email} o {@code uid} son nulos o inválidos
      */
-    public String generateToken(String email, UUID uid) {
+    public String generateToken(String email, UUID uid, int sessionVersion) {
         if (email == null || email.isEmpty()) throw new IllegalArgumentException("Email no puede ser nulo");
         if (uid == null) throw new IllegalArgumentException("UID no puede ser nulo");
 
         Instant now = Instant.now();
         byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
 
-        return Jwts.builder()
-                .claim("uid", uid.toString())
+        return AuthProfiling.token("sign", () -> Jwts.builder()
+                .claim(USER_ID, uid.toString())
+                .claim(SESSION_VERSION, sessionVersion)
                 .setSubject(email)
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(now.plusSeconds(expirationSeconds)))
                 .signWith(SignatureAlgorithm.HS256, keyBytes)
-                .compact();
+                .compact());
     }
 
     /**
@@ -76,9 +86,18 @@ public class JwtUtil {
      * @throws io.jsonwebtoken.JwtException si el token es inválido o ha expirado
      */
     public Claims parse(String token) {
-        return Jwts.parser()
+        return AuthProfiling.token("verify", () -> Jwts.parser()
                 .setSigningKey(secret.getBytes())
                 .parseClaimsJws(token)
-                .getBody();
+                .getBody());
+    }
+
+    /**
+     * @param claims claims de un token ya verificado
+     * @return versión de sesión del token (0 en tokens emitidos antes de existir el claim)
+     */
+    public static int sessionVersion(Claims claims) {
+        Integer version = claims.get(SESSION_VERSION, Integer.class);
+        return version == null ? 0 : version;
     }
 }
@@ -0,0 +1,67 @@
+package com.example.userservice.serialization;
+
+import com.example.userservice.dto.UserResponse;
+import com.example.userservice.dto.exception.ErrorEnvelope;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * {@link org.springframework.http.converter.HttpMessageConverter} de solo escritura
+ * para {@code application/cbor}: serializa {@link UserResponse}, {@link UserView} y
+ * {@link ErrorEnvelope} con {@link UserCborWriter}.
+ *
+ * <p>Se elige cuando el cliente lo pide con {@code Accept: application/cbor}; sin ese
+ * header la respuesta sigue siendo JSON. Los errores también salen en CBOR, para que
+ * un cliente que solo acepta CBOR no reciba un {@code 406}.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public class UserCborHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    /**
+     * Crea el conversor para {@code application/cbor}.
+     */
+    public UserCborHttpMessageConverter() {
+        super(MediaType.APPLICATION_CBOR);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return UserView.class == clazz || UserResponse.class == clazz || ErrorEnvelope.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Conversor de solo escritura", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+        UserJsonWriter.Buffer buf = UserJsonWriter.acquire();
+        try {
+            if (body instanceof UserView) {
+                UserView view = (UserView) body;
+                UserCborWriter.appendUser(buf, view.getUser(), view.getFields());
+            } else if (body instanceof UserResponse) {
+                UserCborWriter.appendUser(buf, (UserResponse) body, UserFields.ALL);
+            } else {
+                UserCborWriter.appendError(buf, (ErrorEnvelope) body);
+            }
+            outputMessage.getHeaders().setContentLength(buf.size());
+            buf.writeTo(outputMessage.getBody());
+        } finally {
+            UserJsonWriter.release(buf);
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.example.userservice.serialization;
+
+import com.example.userservice.dto.PhoneDto;
+import com.example.userservice.dto.UserResponse;
+import com.example.userservice.dto.exception.ErrorEnvelope;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Serializador CBOR (RFC 8949) especializado para {@link UserResponse} y {@link ErrorEnvelope}.
+ *
+ * <p>Misma estructura y nombres de propiedad que el JSON de {@link UserJsonWriter}, con
+ * tipos binarios donde ahorran bytes:</p>
+ * <ul>
+ *   <li>{@link UUID}: tag 37 sobre 16 bytes (en lugar de 38 caracteres).</li>
+ *   <li>{@link Instant}: tag 1, segundos epoch enteros, o {@code float64} si hay fracción
+ *       (resolución por debajo del microsegundo; en lugar de ~30 caracteres ISO-8601).</li>
+ *   <li>Enteros y booleanos en su forma más corta; cadenas en UTF-8 con largo prefijado,
+ *       sin escapado.</li>
+ * </ul>
+ *
+ * <p>Como {@link UserJsonWriter}, no usa reflexión y escribe sobre el buffer reutilizado
+ * del hilo.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public final class UserCborWriter {
+
+    private static final int MAJOR_UNSIGNED = 0;
+    private static final int MAJOR_NEGATIVE = 1;
+    private static final int MAJOR_BYTES = 2;
+    private static final int MAJOR_TEXT = 3;
+    private static final int MAJOR_ARRAY = 4;
+    private static final int MAJOR_MAP = 5;
+    private static final int MAJOR_TAG = 6;
+
+    private static final int TAG_EPOCH = 1;
+    private static final int TAG_UUID = 37;
+
+    private static final byte FALSE = (byte) 0xF4;
+    private static final byte TRUE = (byte) 0xF5;
+    private static final byte NULL = (byte) 0xF6;
+    private static final byte FLOAT64 = (byte) 0xFB;
+
+    private static final byte[] USER_ID = key("id");
+    private static final byte[] USER_CREATED = key("created");
+    private static final byte[] USER_LAST_LOGIN = key("lastLogin");
+    private static final byte[] USER_TOKEN = key("token");
+    private static final byte[] USER_NAME = key("name");
+    private static final byte[] USER_EMAIL = key("email");
+    private static final byte[] USER_PASSWORD = key("password");
+    private static final byte[] USER_PHONES = key("phones");
+    private static final byte[] USER_ACTIVE = key("active");
+
+    private static final byte[] PHONE_NUMBER = key("number");
+    private static final byte[] PHONE_CITYCODE = key("citycode");
+    private static final byte[] PHONE_COUNTRYCODE = key("countrycode");
+
+    private static final byte[] ERROR = key("error");
+    private static final byte[] ITEM_TIMESTAMP = key("timestamp");
+    private static final byte[] ITEM_CODIGO = key("codigo");
+    private static final byte[] ITEM_DETAIL = key("detail");
+
+    private UserCborWriter() {
+    }
+
+    /**
+     * Serializa solo los atributos seleccionados de un {@link UserResponse}.
+     *
+     * @param user respuesta a serializar
+     * @param fields máscara de {@link UserFields}
+     * @return CBOR
+     */
+    public static byte[] toBytes(UserResponse user, int fields) {
+        UserJsonWriter.Buffer buf = UserJsonWriter.acquire();
+        try {
+            appendUser(buf, user, fields);
+            return buf.toByteArray();
+        } finally {
+            UserJsonWriter.release(buf);
+        }
+    }
+
+    /**
+     * Serializa un {@link ErrorEnvelope}.
+     *
+     * @param envelope sobre de errores a serializar
+     * @return CBOR
+     */
+    public static byte[] toBytes(ErrorEnvelope envelope) {
+        UserJsonWriter.Buffer buf = UserJsonWriter.acquire();
+        try {
+            appendError(buf, envelope);
+            return buf.toByteArray();
+        } finally {
+            UserJsonWriter.release(buf);
+        }
+    }
+
+    static void appendUser(UserJsonWriter.Buffer buf, UserResponse u, int fields) {
+        head(buf, MAJOR_MAP, UserFields.count(fields));
+        if ((fields & UserFields.ID) != 0) {
+            buf.append(USER_ID);
+            appendUuid(buf, u.getId());
+        }
+        if ((fields & UserFields.CREATED) != 0) {
+            buf.append(USER_CREATED);
+            appendInstant(buf, u.getCreated());
+        }
+        if ((fields & UserFields.LAST_LOGIN) != 0) {
+            buf.append(USER_LAST_LOGIN);
+            appendInstant(buf, u.getLastLogin());
+        }
+        if ((fields & UserFields.TOKEN) != 0) {
+            buf.append(USER_TOKEN);
+            appendString(buf, u.getToken());
+        }
+        if ((fields & UserFields.NAME) != 0) {
+            buf.append(USER_NAME);
+            appendString(buf, u.getName());
+        }
+        if ((fields & UserFields.EMAIL) != 0) {
+            buf.append(USER_EMAIL);
+            appendString(buf, u.getEmail());
+        }
+        if ((fields & UserFields.PASSWORD) != 0) {
+            buf.append(USER_PASSWORD);
+            appendString(buf, u.getPassword());
+        }
+        if ((fields & UserFields.PHONES) != 0) {
+            buf.append(USER_PHONES);
+            appendPhones(buf, u.getPhones());
+        }
+        if ((fields & UserFields.ACTIVE) != 0) {
+            buf.append(USER_ACTIVE);
+            buf.append(u.isActive() ? TRUE : FALSE);
+        }
+    }
+
+    static void appendError(UserJsonWriter.Buffer buf, ErrorEnvelope envelope) {
+        head(buf, MAJOR_MAP, 1);
+        buf.append(ERROR);
+        List<ErrorEnvelope.ErrorItem> items = envelope.getError();
+        if (items == null) {
+            buf.append(NULL);
+            return;
+        }
+        head(buf, MAJOR_ARRAY, items.size());
+        for (ErrorEnvelope.ErrorItem item : items) {
+            if (item == null) {
+                buf.append(NULL);
+                continue;
+            }
+            head(buf, MAJOR_MAP, 3);
+            buf.append(ITEM_TIMESTAMP);
+            appendInstant(buf, item.getTimestamp());
+            buf.append(ITEM_CODIGO);
+            appendLong(buf, item.getCodigo());
+            buf.append(ITEM_DETAIL);
+            appendString(buf, item.getDetail());
+        }
+    }
+
+    private static void appendPhones(UserJsonWriter.Buffer buf, List<PhoneDto> phones) {
+        if (phones == null) {
+            buf.append(NULL);
+            return;
+        }
+        head(buf, MAJOR_ARRAY, phones.size());
+        for (PhoneDto p : phones) {
+            if (p == null) {
+                buf.append(NULL);
+                continue;
+            }
+            head(buf, MAJOR_MAP, 3);
+            buf.append(PHONE_NUMBER);
+            if (p.getNumber() == null) buf.append(NULL); else appendLong(buf, p.getNumber());
+            buf.append(PHONE_CITYCODE);
+            if (p.getCitycode() == null) buf.append(NULL); else appendLong(buf, p.getCitycode());
+            buf.append(PHONE_COUNTRYCODE);
+            appendString(buf, p.getCountrycode());
+        }
+    }
+
+    private static void appendUuid(UserJsonWriter.Buffer buf, UUID id) {
+        if (id == null) {
+            buf.append(NULL);
+            return;
+        }
+        head(buf, MAJOR_TAG, TAG_UUID);
+        head(buf, MAJOR_BYTES, 16);
+        appendFixed(buf, id.getMostSignificantBits(), 8);
+        appendFixed(buf, id.getLeastSignificantBits(), 8);
+    }
+
+    private static void appendInstant(UserJsonWriter.Buffer buf, Instant instant) {
+        if (instant == null) {
+            buf.append(NULL);
+            return;
+        }
+        head(buf, MAJOR_TAG, TAG_EPOCH);
+        if (instant.getNano() == 0) {
+            appendLong(buf, instant.getEpochSecond());
+        } else {
+            buf.append(FLOAT64);
+            double seconds = instant.getEpochSecond() + instant.getNano() / 1e9;
+            appendFixed(buf, Double.doubleToLongBits(seconds), 8);
+        }
+    }
+
+    private static void appendLong(UserJsonWriter.Buffer buf, long value) {
+        if (value >= 0) {
+            head(buf, MAJOR_UNSIGNED, value);
+        } else {
+            head(buf, MAJOR_NEGATIVE, -1 - value);
+        }
+    }
+
+    /**
+     * Cadena UTF-8 con largo prefijado. Los surrogates sin pareja se escriben como
+     * {@code ?}, igual que en {@link UserJsonWriter}.
+     */
+    private static void appendString(UserJsonWriter.Buffer buf, String s) {
+        if (s == null) {
+            buf.append(NULL);
+            return;
+        }
+        int len = s.length();
+        head(buf, MAJOR_TEXT, utf8Length(s));
+        buf.ensure(len * 3);
+        byte[] b = buf.bytes;
+        int n = buf.size;
+        for (int i = 0; i < len; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                b[n++] = (byte) c;
+            } else if (c < 0x800) {
+                b[n++] = (byte) (0xC0 | (c >> 6));
+                b[n++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                b[n++] = (byte) (0xF0 | (cp >> 18));
+                b[n++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                b[n++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                b[n++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                b[n++] = '?';
+            } else {
+                b[n++] = (byte) (0xE0 | (c >> 12));
+                b[n++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                b[n++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        buf.size = n;
+    }
+
+    private static int utf8Length(String s) {
+        int len = s.length();
+        int bytes = len;
+        for (int i = 0; i < len; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) continue;
+            if (c < 0x800) {
+                bytes += 1;
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                bytes += 2;
+                i++;
+            } else if (!Character.isSurrogate(c)) {
+                bytes += 2;
+            }
+        }
+        return bytes;
+    }
+
+    /** Cabecera CBOR: tipo mayor y argumento en su forma más corta. */
+    private static void head(UserJsonWriter.Buffer buf, int major, long value) {
+        int type = major << 5;
+        if (value < 24) {
+            buf.append((byte) (type | value));
+        } else if (value < 0x100) {
+            buf.append((byte) (type | 24));
+            appendFixed(buf, value, 1);
+        } else if (value < 0x10000) {
+            buf.append((byte) (type | 25));
+            appendFixed(buf, value, 2);
+        } else if (value < 0x1_0000_0000L) {
+            buf.append((byte) (type | 26));
+            appendFixed(buf, value, 4);
+        } else {
+            buf.append((byte) (type | 27));
+            appendFixed(buf, value, 8);
+        }
+    }
+
+    private static void appendFixed(UserJsonWriter.Buffer buf, long value, int bytes) {
+        buf.ensure(bytes);
+        for (int shift = (bytes - 1) * 8; shift >= 0; shift -= 8) {
+            buf.bytes[buf.size++] = (byte) (value >>> shift);
+        }
+    }
+
+    private static byte[] key(String name) {
+        byte[] ascii = name.getBytes(StandardCharsets.US_ASCII);
+        byte[] key = new byte[ascii.length + 1];
+        key[0] = (byte) ((MAJOR_TEXT << 5) | ascii.length);
+        System.arraycopy(ascii, 0, key, 1, ascii.length);
+        return key;
+    }
+}
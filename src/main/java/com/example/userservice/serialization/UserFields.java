@@ -0,0 +1,70 @@
+package com.example.userservice.serialization;
+
+import com.example.userservice.dto.UserResponse;
+import com.example.userservice.exception.UnknownFieldException;
+
+/**
+ * Atributos de {@link UserResponse} que se pueden pedir con el parámetro {@code fields}
+ * (por ejemplo {@code ?fields=id,token}), como máscara de bits.
+ *
+ * <p>Los nombres son los de las propiedades JSON. La selección no cambia el orden: los
+ * atributos siempre salen en el orden de la respuesta completa.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public final class UserFields {
+
+    public static final int ID = 1;
+    public static final int CREATED = 1 << 1;
+    public static final int LAST_LOGIN = 1 << 2;
+    public static final int TOKEN = 1 << 3;
+    public static final int NAME = 1 << 4;
+    public static final int EMAIL = 1 << 5;
+    public static final int PASSWORD = 1 << 6;
+    public static final int PHONES = 1 << 7;
+    public static final int ACTIVE = 1 << 8;
+
+    /** Respuesta completa. */
+    public static final int ALL = (1 << 9) - 1;
+
+    private UserFields() {
+    }
+
+    /**
+     * @param fields nombres separados por coma; {@code null} o vacío es la respuesta completa
+     * @return máscara con los atributos pedidos
+     * @throws UnknownFieldException si algún nombre no es un atributo de la respuesta
+     */
+    public static int parse(String fields) {
+        if (fields == null || fields.isBlank()) return ALL;
+        int mask = 0;
+        for (String name : fields.split(",")) {
+            mask |= bit(name.trim());
+        }
+        return mask;
+    }
+
+    /**
+     * @param mask máscara de atributos
+     * @return cantidad de atributos seleccionados
+     */
+    public static int count(int mask) {
+        return Integer.bitCount(mask & ALL);
+    }
+
+    private static int bit(String name) {
+        switch (name) {
+            case "id": return ID;
+            case "created": return CREATED;
+            case "lastLogin": return LAST_LOGIN;
+            case "token": return TOKEN;
+            case "name": return NAME;
+            case "email": return EMAIL;
+            case "password": return PASSWORD;
+            case "phones": return PHONES;
+            case "active": return ACTIVE;
+            default: throw new UnknownFieldException(name);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.userservice.serialization;
+
+import com.example.userservice.dto.UserResponse;
+import com.example.userservice.dto.exception.ErrorEnvelope;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * {@link org.springframework.http.converter.HttpMessageConverter} de solo escritura
+ * que serializa {@link UserResponse}, {@link UserView} y {@link ErrorEnvelope} con
+ * {@link UserJsonWriter}.
+ *
+ * <p>Se registra delante del conversor de Jackson, de modo que las respuestas de
+ * los endpoints de autenticación y del {@code GlobalExceptionHandler} evitan la
+ * serialización reflexiva. El resto de los tipos sigue pasando por Jackson.</p>
+ *
+ * <p>El cuerpo se arma completo en el buffer del hilo, por lo que además se
+ * informa {@code Content-Length} y se escribe al socket en una sola operación.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public class UserJsonHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    /**
+     * Crea el conversor para {@code application/json}.
+     */
+    public UserJsonHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return UserView.class == clazz || UserResponse.class == clazz || ErrorEnvelope.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Conversor de solo escritura", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+        UserJsonWriter.Buffer buf = UserJsonWriter.acquire();
+        try {
+            if (body instanceof UserView) {
+                UserView view = (UserView) body;
+                UserJsonWriter.appendUser(buf, view.getUser(), view.getFields());
+            } else if (body instanceof UserResponse) {
+                UserJsonWriter.appendUser(buf, (UserResponse) body, UserFields.ALL);
+            } else {
+                UserJsonWriter.appendError(buf, (ErrorEnvelope) body);
+            }
+            outputMessage.getHeaders().setContentLength(buf.size());
+            buf.writeTo(outputMessage.getBody());
+        } finally {
+            UserJsonWriter.release(buf);
+        }
+    }
+}
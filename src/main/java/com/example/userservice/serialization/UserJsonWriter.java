@@ -0,0 +1,491 @@
+package com.example.userservice.serialization;
+
+import com.example.userservice.dto.PhoneDto;
+import com.example.userservice.dto.UserResponse;
+import com.example.userservice.dto.exception.ErrorEnvelope;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Serializador JSON especializado para {@link UserResponse} y {@link ErrorEnvelope}.
+ *
+ * <p>Produce exactamente los mismos bytes que el {@code ObjectMapper} que configura
+ * Spring Boot (mismo orden de propiedades, {@code null} explícitos, fechas ISO-8601
+ * y el mismo escapado de cadenas), pero sin reflexión ni objetos intermedios:</p>
+ * <ul>
+ *   <li>Los nombres de propiedad y separadores están precalculados como bytes.</li>
+ *   <li>{@link UUID} e {@link Instant} se formatean directamente sobre el buffer.</li>
+ *   <li>Cada hilo reutiliza su propio buffer, por lo que una respuesta típica
+ *       no asigna memoria más allá de la escritura final al stream.</li>
+ * </ul>
+ *
+ * <p>El orden de las propiedades replica el que deriva Jackson de los beans de
+ * Lombok: primero los campos en orden de declaración y al final {@code active},
+ * que proviene del getter {@code isActive()}. Con una selección de {@link UserFields}
+ * se omiten las propiedades no pedidas y se conserva ese orden.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public final class UserJsonWriter {
+
+    private static final byte[] USER_ID = ascii(",\"id\":");
+    private static final byte[] USER_CREATED = ascii(",\"created\":");
+    private static final byte[] USER_LAST_LOGIN = ascii(",\"lastLogin\":");
+    private static final byte[] USER_TOKEN = ascii(",\"token\":");
+    private static final byte[] USER_NAME = ascii(",\"name\":");
+    private static final byte[] USER_EMAIL = ascii(",\"email\":");
+    private static final byte[] USER_PASSWORD = ascii(",\"password\":");
+    private static final byte[] USER_PHONES = ascii(",\"phones\":");
+    private static final byte[] USER_ACTIVE = ascii(",\"active\":");
+
+    private static final byte[] PHONE_NUMBER = ascii("{\"number\":");
+    private static final byte[] PHONE_CITYCODE = ascii(",\"citycode\":");
+    private static final byte[] PHONE_COUNTRYCODE = ascii(",\"countrycode\":");
+
+    private static final byte[] ERROR_OPEN = ascii("{\"error\":");
+    private static final byte[] ITEM_TIMESTAMP = ascii("{\"timestamp\":");
+    private static final byte[] ITEM_CODIGO = ascii(",\"codigo\":");
+    private static final byte[] ITEM_DETAIL = ascii(",\"detail\":");
+
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] TRUE = ascii("true");
+    private static final byte[] FALSE = ascii("false");
+
+    private static final byte[] HEX = ascii("0123456789abcdef");
+    private static final byte[] HEX_UPPER = ascii("0123456789ABCDEF");
+
+    /** Último segundo representable con año de cuatro dígitos (9999-12-31T23:59:59Z). */
+    private static final long MAX_FAST_EPOCH_SECOND = 253402300799L;
+
+    /** Tamaño a partir del cual el buffer no se retiene en el hilo. */
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private static final ThreadLocal<Buffer> BUFFERS = ThreadLocal.withInitial(() -> new Buffer(1024));
+
+    private UserJsonWriter() {
+    }
+
+    /**
+     * Escribe un {@link UserResponse} como JSON en el stream indicado.
+     *
+     * @param user respuesta a serializar
+     * @param out stream de salida; no se cierra
+     * @throws IOException si falla la escritura
+     */
+    public static void writeUser(UserResponse user, OutputStream out) throws IOException {
+        Buffer buf = acquire();
+        try {
+            appendUser(buf, user, UserFields.ALL);
+            buf.writeTo(out);
+        } finally {
+            release(buf);
+        }
+    }
+
+    /**
+     * Escribe un {@link ErrorEnvelope} como JSON en el stream indicado.
+     *
+     * @param envelope sobre de errores a serializar
+     * @param out stream de salida; no se cierra
+     * @throws IOException si falla la escritura
+     */
+    public static void writeError(ErrorEnvelope envelope, OutputStream out) throws IOException {
+        Buffer buf = acquire();
+        try {
+            appendError(buf, envelope);
+            buf.writeTo(out);
+        } finally {
+            release(buf);
+        }
+    }
+
+    /**
+     * Serializa un {@link UserResponse} a un arreglo de bytes nuevo.
+     *
+     * @param user respuesta a serializar
+     * @return JSON codificado en UTF-8
+     */
+    public static byte[] toBytes(UserResponse user) {
+        return toBytes(user, UserFields.ALL);
+    }
+
+    /**
+     * Serializa solo los atributos seleccionados de un {@link UserResponse}.
+     *
+     * @param user respuesta a serializar
+     * @param fields máscara de {@link UserFields}
+     * @return JSON codificado en UTF-8
+     */
+    public static byte[] toBytes(UserResponse user, int fields) {
+        Buffer buf = acquire();
+        try {
+            appendUser(buf, user, fields);
+            return buf.toByteArray();
+        } finally {
+            release(buf);
+        }
+    }
+
+    /**
+     * Serializa un {@link ErrorEnvelope} a un arreglo de bytes nuevo.
+     *
+     * @param envelope sobre de errores a serializar
+     * @return JSON codificado en UTF-8
+     */
+    public static byte[] toBytes(ErrorEnvelope envelope) {
+        Buffer buf = acquire();
+        try {
+            appendError(buf, envelope);
+            return buf.toByteArray();
+        } finally {
+            release(buf);
+        }
+    }
+
+    static void appendUser(Buffer buf, UserResponse u, int fields) {
+        buf.append('{');
+        boolean first = true;
+        if ((fields & UserFields.ID) != 0) {
+            first = property(buf, USER_ID, first);
+            appendUuid(buf, u.getId());
+        }
+        if ((fields & UserFields.CREATED) != 0) {
+            first = property(buf, USER_CREATED, first);
+            appendInstant(buf, u.getCreated());
+        }
+        if ((fields & UserFields.LAST_LOGIN) != 0) {
+            first = property(buf, USER_LAST_LOGIN, first);
+            appendInstant(buf, u.getLastLogin());
+        }
+        if ((fields & UserFields.TOKEN) != 0) {
+            first = property(buf, USER_TOKEN, first);
+            appendString(buf, u.getToken());
+        }
+        if ((fields & UserFields.NAME) != 0) {
+            first = property(buf, USER_NAME, first);
+            appendString(buf, u.getName());
+        }
+        if ((fields & UserFields.EMAIL) != 0) {
+            first = property(buf, USER_EMAIL, first);
+            appendString(buf, u.getEmail());
+        }
+        if ((fields & UserFields.PASSWORD) != 0) {
+            first = property(buf, USER_PASSWORD, first);
+            appendString(buf, u.getPassword());
+        }
+        if ((fields & UserFields.PHONES) != 0) {
+            first = property(buf, USER_PHONES, first);
+            appendPhones(buf, u.getPhones());
+        }
+        if ((fields & UserFields.ACTIVE) != 0) {
+            property(buf, USER_ACTIVE, first);
+            buf.append(u.isActive() ? TRUE : FALSE);
+        }
+        buf.append('}');
+    }
+
+    /** Escribe el nombre de la propiedad, sin la coma inicial si es la primera. */
+    private static boolean property(Buffer buf, byte[] name, boolean first) {
+        buf.append(name, first ? 1 : 0);
+        return false;
+    }
+
+    static void appendError(Buffer buf, ErrorEnvelope envelope) {
+        buf.append(ERROR_OPEN);
+        List<ErrorEnvelope.ErrorItem> items = envelope.getError();
+        if (items == null) {
+            buf.append(NULL);
+        } else {
+            buf.append('[');
+            for (int i = 0, n = items.size(); i < n; i++) {
+                if (i > 0) buf.append(',');
+                ErrorEnvelope.ErrorItem item = items.get(i);
+                if (item == null) {
+                    buf.append(NULL);
+                    continue;
+                }
+                buf.append(ITEM_TIMESTAMP);
+                appendInstant(buf, item.getTimestamp());
+                buf.append(ITEM_CODIGO);
+                appendLong(buf, item.getCodigo());
+                buf.append(ITEM_DETAIL);
+                appendString(buf, item.getDetail());
+                buf.append('}');
+            }
+            buf.append(']');
+        }
+        buf.append('}');
+    }
+
+    private static void appendPhones(Buffer buf, List<PhoneDto> phones) {
+        if (phones == null) {
+            buf.append(NULL);
+            return;
+        }
+        buf.append('[');
+        for (int i = 0, n = phones.size(); i < n; i++) {
+            if (i > 0) buf.append(',');
+            PhoneDto p = phones.get(i);
+            if (p == null) {
+                buf.append(NULL);
+                continue;
+            }
+            buf.append(PHONE_NUMBER);
+            if (p.getNumber() == null) buf.append(NULL); else appendLong(buf, p.getNumber());
+            buf.append(PHONE_CITYCODE);
+            if (p.getCitycode() == null) buf.append(NULL); else appendLong(buf, p.getCitycode());
+            buf.append(PHONE_COUNTRYCODE);
+            appendString(buf, p.getCountrycode());
+            buf.append('}');
+        }
+        buf.append(']');
+    }
+
+    private static void appendUuid(Buffer buf, UUID id) {
+        if (id == null) {
+            buf.append(NULL);
+            return;
+        }
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        buf.append('"');
+        appendHex(buf, msb >>> 32, 8);
+        buf.append('-');
+        appendHex(buf, msb >>> 16, 4);
+        buf.append('-');
+        appendHex(buf, msb, 4);
+        buf.append('-');
+        appendHex(buf, lsb >>> 48, 4);
+        buf.append('-');
+        appendHex(buf, lsb, 12);
+        buf.append('"');
+    }
+
+    private static void appendHex(Buffer buf, long value, int digits) {
+        buf.ensure(digits);
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            buf.bytes[buf.size++] = HEX[(int) ((value >>> shift) & 0xF)];
+        }
+    }
+
+    /**
+     * Escribe un {@link Instant} con el formato de {@code DateTimeFormatter.ISO_INSTANT}:
+     * fracción omitida si es cero y, si no, en grupos de 3, 6 o 9 dígitos.
+     */
+    private static void appendInstant(Buffer buf, Instant instant) {
+        if (instant == null) {
+            buf.append(NULL);
+            return;
+        }
+        long epochSecond = instant.getEpochSecond();
+        if (epochSecond < 0 || epochSecond > MAX_FAST_EPOCH_SECOND) {
+            appendString(buf, instant.toString());
+            return;
+        }
+        long days = epochSecond / 86400;
+        int secondOfDay = (int) (epochSecond % 86400);
+
+        // Conversión días -> fecha civil (algoritmo "civil_from_days" de H. Hinnant)
+        long z = days + 719468;
+        long era = z / 146097;
+        long doe = z - era * 146097;
+        long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp = (5 * doy + 2) / 153;
+        int day = (int) (doy - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        int year = (int) (yoe + era * 400 + (month <= 2 ? 1 : 0));
+
+        buf.append('"');
+        appendDigits(buf, year, 4);
+        buf.append('-');
+        appendDigits(buf, month, 2);
+        buf.append('-');
+        appendDigits(buf, day, 2);
+        buf.append('T');
+        appendDigits(buf, secondOfDay / 3600, 2);
+        buf.append(':');
+        appendDigits(buf, (secondOfDay / 60) % 60, 2);
+        buf.append(':');
+        appendDigits(buf, secondOfDay % 60, 2);
+
+        int nano = instant.getNano();
+        if (nano != 0) {
+            buf.append('.');
+            if (nano % 1_000_000 == 0) {
+                appendDigits(buf, nano / 1_000_000, 3);
+            } else if (nano % 1000 == 0) {
+                appendDigits(buf, nano / 1000, 6);
+            } else {
+                appendDigits(buf, nano, 9);
+            }
+        }
+        buf.append('Z');
+        buf.append('"');
+    }
+
+    private static void appendDigits(Buffer buf, int value, int width) {
+        buf.ensure(width);
+        for (int i = buf.size + width - 1; i >= buf.size; i--) {
+            buf.bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        buf.size += width;
+    }
+
+    private static void appendLong(Buffer buf, long value) {
+        if (value == Long.MIN_VALUE) {
+            buf.append(ascii(Long.toString(value)));
+            return;
+        }
+        if (value < 0) {
+            buf.append('-');
+            value = -value;
+        }
+        int width = 1;
+        for (long v = value; v >= 10; v /= 10) width++;
+        buf.ensure(width);
+        for (int i = buf.size + width - 1; i >= buf.size; i--) {
+            buf.bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        buf.size += width;
+    }
+
+    /**
+     * Escribe una cadena JSON en UTF-8 con el mismo escapado que Jackson:
+     * {@code \"}, {@code \\}, escapes cortos para {@code \b \t \n \f \r} y
+     * {@code \\u00XX} (hexadecimal en mayúsculas) para el resto de controles.
+     */
+    private static void appendString(Buffer buf, String s) {
+        if (s == null) {
+            buf.append(NULL);
+            return;
+        }
+        int len = s.length();
+        buf.ensure(len + 2);
+        buf.bytes[buf.size++] = '"';
+        for (int i = 0; i < len; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    buf.append((byte) c);
+                } else {
+                    appendEscape(buf, c);
+                }
+            } else if (c < 0x800) {
+                buf.ensure(2);
+                buf.bytes[buf.size++] = (byte) (0xC0 | (c >> 6));
+                buf.bytes[buf.size++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                buf.ensure(4);
+                buf.bytes[buf.size++] = (byte) (0xF0 | (cp >> 18));
+                buf.bytes[buf.size++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buf.bytes[buf.size++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buf.bytes[buf.size++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buf.append((byte) '?');
+            } else {
+                buf.ensure(3);
+                buf.bytes[buf.size++] = (byte) (0xE0 | (c >> 12));
+                buf.bytes[buf.size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf.bytes[buf.size++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        buf.append('"');
+    }
+
+    private static void appendEscape(Buffer buf, char c) {
+        buf.ensure(6);
+        buf.bytes[buf.size++] = '\\';
+        switch (c) {
+            case '"': buf.bytes[buf.size++] = '"'; return;
+            case '\\': buf.bytes[buf.size++] = '\\'; return;
+            case '\b': buf.bytes[buf.size++] = 'b'; return;
+            case '\t': buf.bytes[buf.size++] = 't'; return;
+            case '\n': buf.bytes[buf.size++] = 'n'; return;
+            case '\f': buf.bytes[buf.size++] = 'f'; return;
+            case '\r': buf.bytes[buf.size++] = 'r'; return;
+            default:
+                buf.bytes[buf.size++] = 'u';
+                buf.bytes[buf.size++] = '0';
+                buf.bytes[buf.size++] = '0';
+                buf.bytes[buf.size++] = HEX_UPPER[c >> 4];
+                buf.bytes[buf.size++] = HEX_UPPER[c & 0xF];
+        }
+    }
+
+    static Buffer acquire() {
+        Buffer buf = BUFFERS.get();
+        buf.size = 0;
+        return buf;
+    }
+
+    static void release(Buffer buf) {
+        if (buf.bytes.length > MAX_RETAINED_BUFFER) {
+            BUFFERS.remove();
+        }
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Buffer de bytes creciente, reutilizado por hilo.
+     */
+    static final class Buffer {
+        byte[] bytes;
+        int size;
+
+        Buffer(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+
+        void append(byte b) {
+            ensure(1);
+            bytes[size++] = b;
+        }
+
+        void append(char c) {
+            append((byte) c);
+        }
+
+        void append(byte[] b) {
+            append(b, 0);
+        }
+
+        void append(byte[] b, int offset) {
+            int n = b.length - offset;
+            ensure(n);
+            System.arraycopy(b, offset, bytes, size, n);
+            size += n;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            out.write(bytes, 0, size);
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.userservice.serialization;
+
+import com.example.userservice.dto.UserResponse;
+
+/**
+ * {@link UserResponse} junto con los atributos a serializar ({@link UserFields}).
+ *
+ * <p>Es lo que devuelven los endpoints de autenticación: los conversores
+ * ({@link UserJsonHttpMessageConverter}, {@link UserCborHttpMessageConverter}) escriben
+ * solo los atributos seleccionados, en el formato negociado con {@code Accept}.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public final class UserView {
+
+    private final UserResponse user;
+    private final int fields;
+
+    /**
+     * @param user respuesta completa
+     * @param fields máscara de {@link UserFields}
+     */
+    public UserView(UserResponse user, int fields) {
+        this.user = user;
+        this.fields = fields;
+    }
+
+    /**
+     * @return respuesta completa
+     */
+    public UserResponse getUser() {
+        return user;
+    }
+
+    /**
+     * @return máscara de {@link UserFields}
+     */
+    public int getFields() {
+        return fields;
+    }
+}
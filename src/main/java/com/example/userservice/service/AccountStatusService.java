@@ -0,0 +1,162 @@
+package com.example.userservice.service;
+
+import com.example.userservice.datasource.ReplicaLagGuard;
+import com.example.userservice.datasource.ShardContext;
+import com.example.userservice.datasource.ShardRouter;
+import com.example.userservice.domain.User;
+import com.example.userservice.dto.UserSearchPage;
+import com.example.userservice.dto.UserSummary;
+import com.example.userservice.event.UserStatusChangedEvent;
+import com.example.userservice.outbox.OutboxWriter;
+import com.example.userservice.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Activación y desactivación de cuentas, y consultas por estado.
+ *
+ * <ul>
+ *   <li>Desactivar incrementa la versión de sesión del usuario: todos sus tokens quedan
+ *       revocados ({@link UserService#login(String)} los rechaza), también si después se
+ *       reactiva la cuenta.</li>
+ *   <li>El cambio es condicional en la base ({@code UPDATE ... WHERE is_active = ...}), así
+ *       que dos pedidos concurrentes no cuentan dos veces. En la misma transacción se
+ *       ajusta el contador de activos y se escribe el evento del outbox; después del
+ *       commit se avisa a los otros nodos por el bus de invalidación
+ *       ({@link UserStatusChangedEvent}).</li>
+ *   <li>El listado recorre el índice {@code ix_users_active_created_id} por keyset sobre
+ *       (created, id) en cada shard y fusiona los resultados; el cursor es la posición de
+ *       la última fila devuelta.</li>
+ *   <li>El conteo suma las filas de {@code active_user_count} de cada shard: no depende de
+ *       la cantidad de usuarios.</li>
+ * </ul>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Service
+@RequiredArgsConstructor
+public class AccountStatusService {
+
+    /** Tamaño máximo de página. */
+    public static final int MAX_LIMIT = 100;
+
+    private static final Comparator<User> KEYSET = Comparator.comparing(User::getCreated)
+            .thenComparing(User::getId, AccountStatusService::compareUnsigned);
+
+    private final UserRepository userRepository;
+    private final ShardRouter shardRouter;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final OutboxWriter outboxWriter;
+    private final ApplicationEventPublisher events;
+
+    /**
+     * Activa o desactiva una cuenta. Repetir el pedido no tiene efecto.
+     *
+     * @param id id del usuario
+     * @param active nuevo estado
+     * @return el usuario con su estado actual, o vacío si no existe
+     */
+    @Transactional
+    public Optional<UserSummary> setActive(UUID id, boolean active) {
+        try (ShardContext.Scope ignored = ShardContext.use(shardRouter.shardForId(id))) {
+            int changed = active ? userRepository.reactivate(id) : userRepository.deactivate(id);
+            Optional<User> found = userRepository.findById(id);
+            if (found.isEmpty()) return Optional.empty();
+            User user = found.get();
+            if (changed == 1) {
+                userRepository.adjustActiveCount(id, active ? 1 : -1);
+                outboxWriter.statusChanged(user, active, Instant.now());
+                // el próximo login debe ver el estado nuevo aunque la réplica esté atrasada
+                replicaLagGuard.recordWrite(user.getEmail());
+                events.publishEvent(new UserStatusChangedEvent(id, active));
+            }
+            return Optional.of(toSummary(user));
+        }
+    }
+
+    /**
+     * @return usuarios activos en todos los shards
+     */
+    public long countActive() {
+        long total = 0;
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            try (ShardContext.Scope ignored = ShardContext.use(shard)) {
+                total += userRepository.countActive();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * @param active estado buscado
+     * @param limit tamaño de página (se acota a {@link #MAX_LIMIT})
+     * @param cursor cursor de la página anterior, o {@code null}
+     * @return página de usuarios en orden de creación
+     * @throws IllegalArgumentException si el cursor no es válido
+     */
+    public UserSearchPage list(boolean active, int limit, String cursor) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        User after = cursor == null ? null : decode(cursor);
+        // uno de más por shard para saber si queda otra página
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<User> merged = new ArrayList<>();
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            try (ShardContext.Scope ignored = ShardContext.use(shard)) {
+                merged.addAll(after == null
+                        ? userRepository.findByStatus(active, page)
+                        : userRepository.findByStatusAfter(active, after.getCreated(), after.getId(), page));
+            }
+        }
+        merged.sort(KEYSET);
+        List<UserSummary> items = new ArrayList<>(Math.min(size, merged.size()));
+        for (int i = 0; i < size && i < merged.size(); i++) {
+            items.add(toSummary(merged.get(i)));
+        }
+        return UserSearchPage.builder()
+                .items(items)
+                .nextCursor(merged.size() > size ? encode(merged.get(size - 1)) : null)
+                .build();
+    }
+
+    private static UserSummary toSummary(User u) {
+        return new UserSummary(u.getId(), u.getName(), u.getEmail(), u.getIsActive());
+    }
+
+    /** Mismo orden que la base para {@code BINARY(16)}: bytes sin signo. */
+    static int compareUnsigned(UUID a, UUID b) {
+        int c = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return c != 0 ? c : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    static String encode(User last) {
+        ByteBuffer b = ByteBuffer.allocate(28)
+                .putLong(last.getCreated().getEpochSecond())
+                .putInt(last.getCreated().getNano())
+                .putLong(last.getId().getMostSignificantBits())
+                .putLong(last.getId().getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(b.array());
+    }
+
+    static User decode(String cursor) {
+        byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+        if (bytes.length != 28) throw new IllegalArgumentException("cursor inválido");
+        ByteBuffer b = ByteBuffer.wrap(bytes);
+        User position = new User();
+        position.setCreated(Instant.ofEpochSecond(b.getLong(), b.getInt()));
+        position.setId(new UUID(b.getLong(), b.getLong()));
+        return position;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.userservice.service;
+
+import com.example.userservice.datasource.ShardContext;
+import com.example.userservice.datasource.ShardRouter;
+import com.example.userservice.domain.Phone;
+import com.example.userservice.domain.PhoneNumbers;
+import com.example.userservice.dto.UserSummary;
+import com.example.userservice.event.UserCreatedEvent;
+import com.example.userservice.index.OffHeapPhoneIndex;
+import com.example.userservice.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Búsqueda inversa de usuarios por teléfono.
+ *
+ * <p>El teléfono se normaliza a su clave E.164 empaquetada
+ * ({@link PhoneNumbers#packE164}). Si está habilitado el índice fuera del heap
+ * ({@code app.phone-index.off-heap=true}), la clave se resuelve ahí al id del usuario y
+ * solo se consulta su shard por clave primaria. Si no, o si el número es ambiguo, se
+ * consulta el índice {@code ix_phone_e164} de cada shard.</p>
+ *
+ * <p>El índice fuera del heap es solo un atajo: se alimenta de las altas de esta
+ * instancia (y del bus de invalidación, si está habilitado) y está vacío mientras se
+ * carga al iniciar. Por eso una clave ausente, como un id que ya no existe, se resuelve
+ * consultando los shards y nunca da por sí sola un "no encontrado".</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Service
+@RequiredArgsConstructor
+public class PhoneLookupService {
+
+    private final UserRepository userRepository;
+    private final ShardRouter shardRouter;
+    private final ObjectProvider<OffHeapPhoneIndex> phoneIndex;
+
+    /**
+     * @param countrycode código de país
+     * @param citycode código de ciudad
+     * @param number número sin códigos de área
+     * @return usuarios con ese teléfono (vacío si el número es inválido o no existe)
+     */
+    public List<UserSummary> findByPhone(String countrycode, Integer citycode, Long number) {
+        Long key = PhoneNumbers.packE164(countrycode, citycode, number);
+        if (key == null) return Collections.emptyList();
+
+        OffHeapPhoneIndex index = phoneIndex.getIfAvailable();
+        if (index != null) {
+            UUID id = index.get(key);
+            if (id != null && !OffHeapPhoneIndex.AMBIGUOUS.equals(id)) {
+                try (ShardContext.Scope ignored = ShardContext.use(shardRouter.shardForId(id))) {
+                    List<UserSummary> found = userRepository.findSummariesByIds(Collections.singletonList(id));
+                    if (!found.isEmpty()) return found;
+                }
+            }
+        }
+
+        List<UserSummary> result = new ArrayList<>();
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            try (ShardContext.Scope ignored = ShardContext.use(shard)) {
+                result.addAll(userRepository.findSummariesByPhone(key));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Agrega al índice fuera del heap los teléfonos de un usuario recién confirmado.
+     *
+     * @param event usuario registrado
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserCreated(UserCreatedEvent event) {
+        OffHeapPhoneIndex index = phoneIndex.getIfAvailable();
+        if (index == null) return;
+        for (Phone p : event.getUser().getPhones()) {
+            Long key = PhoneNumbers.packE164(p.getCountrycode(), p.getCitycode(), p.getNumber());
+            if (key != null) index.put(key, event.getUser().getId());
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.userservice.service;
+
+import com.example.userservice.datasource.ShardRouter;
+import com.example.userservice.domain.Emails;
+import com.example.userservice.domain.OutboxEvent;
+import com.example.userservice.domain.Phone;
+import com.example.userservice.domain.PhoneNumbers;
+import com.example.userservice.domain.User;
+import com.example.userservice.dto.PhoneDto;
+import com.example.userservice.dto.SignUpRequest;
+import com.example.userservice.dto.UserResponse;
+import com.example.userservice.event.UserCreatedEvent;
+import com.example.userservice.exception.UnauthorizedException;
+import com.example.userservice.exception.UserAlreadyExistsException;
+import com.example.userservice.repository.UserRepository;
+import com.example.userservice.security.JwtUtil;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+/**
+ * Variante no bloqueante de {@link UserService} para el perfil {@code reactive}.
+ *
+ * <p>Mantiene el mismo contrato (mismas validaciones, mensajes y
+ * {@link UserResponse}) pero accede a H2 mediante R2DBC con {@link DatabaseClient}
+ * sobre las tablas que genera JPA ({@code users} y {@code phone}).</p>
+ *
+ * <p>El trabajo de CPU (hash BCrypt, firma y parseo de JWT) se ejecuta en el
+ * {@link Scheduler} acotado {@code authScheduler}, nunca sobre los event loops.</p>
+ *
+ * <p>Las fechas se guardan como {@code TIMESTAMP} en la zona horaria del sistema,
+ * igual que lo hace Hibernate con {@link Instant}, para que ambas variantes
+ * lean y escriban los mismos datos.</p>
+ *
+ * <p>Los eventos del outbox ({@code outbox_event}) se insertan en la misma transacción
+ * R2DBC que el registro o la actualización del último login.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserService {
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (id, name, email, normalized_email, password, created, last_login, is_active) "
+                    + "VALUES (:id, :name, :email, :normalizedEmail, :password, :created, :lastLogin, :active)";
+    private static final String INSERT_PHONE =
+            "INSERT INTO phone (number, citycode, countrycode, user_id, e164) "
+                    + "VALUES (:number, :citycode, :countrycode, :userId, :e164)";
+    private static final String EXISTS_BY_EMAIL = "SELECT 1 FROM users WHERE normalized_email = :email LIMIT 1";
+    private static final String FIND_BY_EMAIL = "SELECT id, name, email, password, created, last_login, is_active, "
+            + "session_version FROM users WHERE normalized_email = :email";
+    private static final String FIND_PHONES =
+            "SELECT number, citycode, countrycode FROM phone WHERE user_id = :userId ORDER BY id";
+    private static final String UPDATE_LAST_LOGIN = "UPDATE users SET last_login = :lastLogin WHERE id = :id";
+    private static final String ADJUST_ACTIVE_COUNT =
+            "UPDATE active_user_count SET active = active + 1 WHERE stripe = :stripe";
+    private static final String INSERT_OUTBOX =
+            "INSERT INTO outbox_event (aggregate_id, type, payload, created) "
+                    + "VALUES (:aggregateId, :type, :payload, :created)";
+
+    private final DatabaseClient db;
+    private final TransactionalOperator tx;
+    private final JwtUtil jwtUtil;
+    private final PasswordEncoder encoder;
+    private final Scheduler authScheduler;
+    private final ShardRouter shardRouter;
+    private final ApplicationEventPublisher events;
+
+    /**
+     * Registra un nuevo usuario de forma no bloqueante.
+     *
+     * @param request DTO con los datos de registro ({@link SignUpRequest})
+     * @return {@link Mono} con el {@link UserResponse} y el token JWT, o error
+     *         {@link UserAlreadyExistsException} si el email ya está registrado
+     */
+    public Mono<UserResponse> signUp(SignUpRequest request) {
+        Instant now = Instant.now();
+        User user = new User();
+        user.setId(shardRouter.newUserId(request.getEmail()));
+        user.setName(request.getName());
+        user.setEmail(request.getEmail());
+        user.setNormalizedEmail(Emails.normalize(request.getEmail()));
+        user.setCreated(now);
+        user.setLastLogin(now);
+        user.setIsActive(true);
+        user.setSessionVersion(0);
+        if (request.getPhones() != null) {
+            for (PhoneDto p : request.getPhones()) {
+                user.getPhones().add(Phone.builder()
+                        .number(p.getNumber()).citycode(p.getCitycode()).countrycode(p.getCountrycode())
+                        .user(user).build());
+            }
+        }
+
+        return db.sql(EXISTS_BY_EMAIL).bind("email", user.getNormalizedEmail())
+                .fetch().first().hasElement()
+                .flatMap(exists -> exists
+                        ? Mono.<String>error(new UserAlreadyExistsException())
+                        : onAuthScheduler(() -> encoder.encode(request.getPassword())))
+                .flatMap(hash -> {
+                    user.setPassword(hash);
+                    return insertUser(user)
+                            .then(insertPhones(user))
+                            .then(incrementActiveCount(user))
+                            .then(insertOutbox(OutboxEvent.userCreated(user)))
+                            .as(tx::transactional);
+                })
+                .onErrorMap(DataIntegrityViolationException.class, e -> new UserAlreadyExistsException())
+                .then(Mono.fromRunnable(() -> events.publishEvent(new UserCreatedEvent(user))))
+                .then(onAuthScheduler(() -> jwtUtil.generateToken(user.getEmail(), user.getId(), 0)))
+                .map(token -> UserService.toResponse(user, token));
+    }
+
+    /**
+     * Inicia sesión de forma no bloqueante usando un token Bearer.
+     *
+     * <p>Aplica las mismas verificaciones de estado y de versión de sesión que
+     * {@link UserService#login(String)}.</p>
+     *
+     * @param bearerToken token JWT recibido en el header Authorization
+     * @return {@link Mono} con el {@link UserResponse} y un nuevo token, o error
+     *         {@link UnauthorizedException} / {@link io.jsonwebtoken.JwtException}
+     */
+    public Mono<UserResponse> login(String bearerToken) {
+        Instant now = Instant.now();
+        return Mono.fromCallable(() -> UserService.extract(bearerToken))
+                .flatMap(token -> onAuthScheduler(() -> jwtUtil.parse(token)))
+                .flatMap(claims -> db.sql(FIND_BY_EMAIL).bind("email", Emails.normalize(claims.getSubject()))
+                        .map((row, meta) -> toUser(row))
+                        .first()
+                        .switchIfEmpty(Mono.error(() -> new UnauthorizedException("usuario no encontrado")))
+                        .doOnNext(user -> UserService.checkSession(user, claims)))
+                .flatMap(user -> {
+                    user.setLastLogin(now);
+                    Mono<Void> update = db.sql(UPDATE_LAST_LOGIN)
+                            .bind("lastLogin", toDb(now))
+                            .bind("id", toBytes(user.getId()))
+                            .then()
+                            .then(insertOutbox(OutboxEvent.userLoggedIn(user, now)))
+                            .as(tx::transactional);
+                    Mono<List<Phone>> phones = db.sql(FIND_PHONES)
+                            .bind("userId", toBytes(user.getId()))
+                            .map((row, meta) -> toPhone(row))
+                            .all().collectList();
+                    return update.then(phones).map(list -> {
+                        user.getPhones().addAll(list);
+                        return user;
+                    });
+                })
+                .flatMap(user -> onAuthScheduler(
+                        () -> jwtUtil.generateToken(user.getEmail(), user.getId(), user.getSessionVersion()))
+                        .map(token -> UserService.toResponse(user, token)));
+    }
+
+    private Mono<Void> insertUser(User u) {
+        DatabaseClient.GenericExecuteSpec spec = db.sql(INSERT_USER)
+                .bind("id", toBytes(u.getId()))
+                .bind("email", u.getEmail())
+                .bind("normalizedEmail", u.getNormalizedEmail())
+                .bind("password", u.getPassword())
+                .bind("created", toDb(u.getCreated()))
+                .bind("lastLogin", toDb(u.getLastLogin()))
+                .bind("active", u.getIsActive());
+        spec = u.getName() == null ? spec.bindNull("name", String.class) : spec.bind("name", u.getName());
+        return spec.then();
+    }
+
+    private Mono<Void> insertPhones(User u) {
+        byte[] userId = toBytes(u.getId());
+        return Flux.fromIterable(u.getPhones())
+                .concatMap(p -> {
+                    DatabaseClient.GenericExecuteSpec spec = db.sql(INSERT_PHONE).bind("userId", userId);
+                    spec = p.getNumber() == null ? spec.bindNull("number", Long.class) : spec.bind("number", p.getNumber());
+                    spec = p.getCitycode() == null ? spec.bindNull("citycode", Integer.class) : spec.bind("citycode", p.getCitycode());
+                    spec = p.getCountrycode() == null ? spec.bindNull("countrycode", String.class) : spec.bind("countrycode", p.getCountrycode());
+                    Long e164 = PhoneNumbers.packE164(p.getCountrycode(), p.getCitycode(), p.getNumber());
+                    spec = e164 == null ? spec.bindNull("e164", Long.class) : spec.bind("e164", e164);
+                    return spec.then();
+                })
+                .then();
+    }
+
+    private Mono<Void> incrementActiveCount(User u) {
+        return db.sql(ADJUST_ACTIVE_COUNT)
+                .bind("stripe", UserRepository.activeCountStripe(u.getId()))
+                .then();
+    }
+
+    private Mono<Void> insertOutbox(OutboxEvent event) {
+        return db.sql(INSERT_OUTBOX)
+                .bind("aggregateId", toBytes(event.getAggregateId()))
+                .bind("type", event.getType())
+                .bind("payload", event.getPayload())
+                .bind("created", toDb(event.getCreated()))
+                .then();
+    }
+
+    private <T> Mono<T> onAuthScheduler(Callable<T> work) {
+        return Mono.fromCallable(work).subscribeOn(authScheduler);
+    }
+
+    private static User toUser(Row row) {
+        User u = new User();
+        u.setId(toUuid(row.get("id", byte[].class)));
+        u.setName(row.get("name", String.class));
+        u.setEmail(row.get("email", String.class));
+        u.setPassword(row.get("password", String.class));
+        u.setCreated(fromDb(row.get("created", LocalDateTime.class)));
+        u.setLastLogin(fromDb(row.get("last_login", LocalDateTime.class)));
+        u.setIsActive(row.get("is_active", Boolean.class));
+        u.setSessionVersion(row.get("session_version", Integer.class));
+        return u;
+    }
+
+    private static Phone toPhone(Row row) {
+        return Phone.builder()
+                .number(row.get("number", Long.class))
+                .citycode(row.get("citycode", Integer.class))
+                .countrycode(row.get("countrycode", String.class))
+                .build();
+    }
+
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    private static UUID toUuid(byte[] bytes) {
+        ByteBuffer bb = ByteBuffer.wrap(bytes);
+        return new UUID(bb.getLong(), bb.getLong());
+    }
+
+    private static LocalDateTime toDb(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    private static Instant fromDb(LocalDateTime value) {
+        return value == null ? null : value.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
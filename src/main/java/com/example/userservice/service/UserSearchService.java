@@ -0,0 +1,98 @@
+package com.example.userservice.service;
+
+import com.example.userservice.datasource.ShardContext;
+import com.example.userservice.datasource.ShardRouter;
+import com.example.userservice.dto.UserSearchPage;
+import com.example.userservice.dto.UserSummary;
+import com.example.userservice.event.UserCreatedEvent;
+import com.example.userservice.index.PrefixSearchIndex;
+import com.example.userservice.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Búsqueda por prefijo (typeahead) de usuarios por nombre o email.
+ *
+ * <p>Los ids salen del {@link PrefixSearchIndex} en memoria; después se leen los
+ * resúmenes por clave primaria, agrupados por el shard que indica cada id.</p>
+ *
+ * <p>Solo existe con {@code app.search.enabled=true} (ver {@code SearchIndexConfig}).</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@RequiredArgsConstructor
+public class UserSearchService {
+
+    /** Tamaño máximo de página. */
+    public static final int MAX_LIMIT = 100;
+
+    private final PrefixSearchIndex index;
+    private final UserRepository userRepository;
+    private final ShardRouter shardRouter;
+
+    /**
+     * @param prefix prefijo del nombre (o de alguna de sus palabras) o del email
+     * @param limit tamaño de página (se acota a {@link #MAX_LIMIT})
+     * @param cursor cursor de la página anterior, o {@code null}
+     * @return página de usuarios
+     * @throws IllegalArgumentException si el cursor es inválido
+     */
+    public UserSearchPage search(String prefix, int limit, String cursor) {
+        PrefixSearchIndex.Page page = index.search(prefix, Math.min(limit, MAX_LIMIT), cursor);
+        return UserSearchPage.builder()
+                .items(load(page.getIds()))
+                .nextCursor(page.getNextCursor())
+                .build();
+    }
+
+    /**
+     * Agrega al índice un usuario recién confirmado.
+     *
+     * @param event usuario registrado
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserCreated(UserCreatedEvent event) {
+        index.add(event.getUser().getId(), event.getUser().getName(), event.getUser().getEmail());
+    }
+
+    private List<UserSummary> load(List<UUID> ids) {
+        if (ids.isEmpty()) return new ArrayList<>();
+        Map<UUID, UserSummary> found = new HashMap<>();
+        Map<Integer, List<UUID>> byShard = new HashMap<>();
+        for (UUID id : ids) {
+            byShard.computeIfAbsent(shardRouter.shardForId(id), s -> new ArrayList<>()).add(id);
+        }
+        byShard.forEach((shard, shardIds) -> fetch(shard, shardIds, found));
+        if (found.size() < ids.size() && shardRouter.getShardCount() > 1) {
+            // ids anteriores al sharding: no traen el shard embebido
+            Set<UUID> missing = new LinkedHashSet<>(ids);
+            missing.removeAll(found.keySet());
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                fetch(shard, new ArrayList<>(missing), found);
+            }
+        }
+        List<UserSummary> ordered = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            UserSummary s = found.get(id);
+            if (s != null) ordered.add(s);
+        }
+        return ordered;
+    }
+
+    private void fetch(int shard, List<UUID> ids, Map<UUID, UserSummary> found) {
+        try (ShardContext.Scope ignored = ShardContext.use(shard)) {
+            for (UserSummary s : userRepository.findSummariesByIds(ids)) {
+                found.put(s.getId(), s);
+            }
+        }
+    }
+}
@@ -1,19 +1,34 @@
 package com.example.userservice.service;
 
+import com.example.userservice.datasource.DataSourceRouting;
+import com.example.userservice.datasource.ReplicaLagGuard;
+import com.example.userservice.datasource.ShardContext;
+import com.example.userservice.datasource.ShardRouter;
+import com.example.userservice.domain.Emails;
 import com.example.userservice.domain.Phone;
 import com.example.userservice.domain.User;
 import com.example.userservice.dto.PhoneDto;
 import com.example.userservice.dto.SignUpRequest;
 import com.example.userservice.dto.UserResponse;
+import com.example.userservice.event.UserCreatedEvent;
+import com.example.userservice.exception.UnauthorizedException;
+import com.example.userservice.exception.UserAlreadyExistsException;
+import com.example.userservice.jfr.AuthProfiling;
+import com.example.userservice.outbox.OutboxWriter;
 import com.example.userservice.repository.UserRepository;
 import com.example.userservice.security.JwtUtil;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -41,7 +56,11 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
-    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+    private final PasswordEncoder encoder;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final ShardRouter shardRouter;
+    private final OutboxWriter outboxWriter;
+    private final ApplicationEventPublisher events;
 
     /**
      * Registra un nuevo usuario en el sistema.
@@ -49,64 +68,135 @@ public class UserService {
      * <p>Valida que no exista otro usuario con el mismo email, encripta
      * la contraseña, crea teléfonos asociados si existen y genera un token JWT.</p>
      *
+     * <p>Todo ocurre en el shard dueño del email, por lo que la restricción única
+     * sobre el email normalizado alcanza para garantizar la unicidad: {@code Foo@Mail.com}
+     * y {@code foo@mail.com} son la misma cuenta. El {@code INSERT} se envía antes de
+     * seguir, así que dos altas concurrentes que pasan la verificación terminan en
+     * {@link UserAlreadyExistsException} para la que pierde, igual que en el stack reactivo. El id generado lleva
+     * embebido el bucket del usuario ({@link ShardRouter#newUserId(String)}). El evento
+     * {@code user-created} y el incremento del contador de activos se escriben dentro de
+     * la misma transacción.</p>
+     *
+     * <p>El hash, el acceso al repositorio y el mapeo de la respuesta se registran como
+     * eventos JFR ({@link AuthProfiling}) cuando la grabación activa los habilita.</p>
+     *
      * @param request DTO con los datos de registro ({@link SignUpRequest})
      * @return {@link UserResponse} con los datos del usuario y token JWT
-     * @throws IllegalArgumentException si ya existe un usuario con el mismo email
+     * @throws UserAlreadyExistsException si ya existe un usuario con el mismo email
      */
     @Transactional
     public UserResponse signUp(SignUpRequest request) {
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new IllegalArgumentException("Usuario ya existe");
-        }
-        Instant now = Instant.now();
-        User user = new User();
-        user.setId(UUID.randomUUID());
-        user.setName(request.getName());
-        user.setEmail(request.getEmail());
-        user.setPassword(encoder.encode(request.getPassword()));
-        user.setCreated(now);
-        user.setLastLogin(now);
-        user.setIsActive(true);
+        try (ShardContext.Scope ignored = ShardContext.use(shardRouter.shardForEmail(request.getEmail()))) {
+            String normalizedEmail = Emails.normalize(request.getEmail());
+            if (AuthProfiling.repository("existsByEmail",
+                    () -> userRepository.existsByNormalizedEmail(normalizedEmail))) {
+                throw new UserAlreadyExistsException();
+            }
+            Instant now = Instant.now();
+            User user = new User();
+            user.setId(shardRouter.newUserId(request.getEmail()));
+            user.setName(request.getName());
+            user.setEmail(request.getEmail());
+            user.setNormalizedEmail(normalizedEmail);
+            user.setPassword(AuthProfiling.passwordHash("encode", () -> encoder.encode(request.getPassword())));
+            user.setCreated(now);
+            user.setLastLogin(now);
+            user.setIsActive(true);
+            user.setSessionVersion(0);
 
-        if (request.getPhones() != null) {
-            List<Phone> phones = request.getPhones().stream().map(p -> {
-                Phone ph = Phone.builder()
-                        .number(p.getNumber())
-                        .citycode(p.getCitycode())
-                        .countrycode(p.getCountrycode())
-                        .user(user)
-                        .build();
-                return ph;
-            }).collect(Collectors.toList());
-            user.getPhones().addAll(phones);
-        }
+            if (request.getPhones() != null) {
+                List<Phone> phones = request.getPhones().stream().map(p -> {
+                    Phone ph = Phone.builder()
+                            .number(p.getNumber())
+                            .citycode(p.getCitycode())
+                            .countrycode(p.getCountrycode())
+                            .user(user)
+                            .build();
+                    return ph;
+                }).collect(Collectors.toList());
+                user.getPhones().addAll(phones);
+            }
 
-        userRepository.save(user);
-        String token = jwtUtil.generateToken(user.getEmail(), user.getId());
-        return toResponse(user, token, true);
+            try {
+                AuthProfiling.repository("save", () -> userRepository.saveAndFlush(user));
+            } catch (DataIntegrityViolationException e) {
+                // otra alta concurrente con el mismo email normalizado ganó la restricción única
+                throw new UserAlreadyExistsException();
+            }
+            userRepository.adjustActiveCount(user.getId(), 1);
+            outboxWriter.userCreated(user);
+            events.publishEvent(new UserCreatedEvent(user));
+            replicaLagGuard.recordWrite(user.getEmail());
+            String token = jwtUtil.generateToken(user.getEmail(), user.getId(), user.getSessionVersion());
+            return AuthProfiling.responseMapping(() -> toResponse(user, token));
+        }
     }
 
     /**
      * Inicia sesión de un usuario usando un token Bearer.
      *
-     * <p>Extrae el email del JWT, actualiza el último login y genera
-     * un nuevo token JWT.</p>
+     * <p>Extrae el email del JWT, verifica que la cuenta siga activa y que el token no
+     * haya sido revocado ({@link #checkSession}), actualiza el último login y genera
+     * un nuevo token JWT. La verificación usa la fila que ya se lee: no agrega consultas.</p>
+     *
+     * <p>No abre una transacción propia: la lectura del usuario es de solo lectura
+     * (se sirve desde una réplica si hay ruteo, salvo que el usuario se haya escrito
+     * recién) y la actualización del último login es un {@code UPDATE} puntual en
+     * la primaria, en la misma transacción que su evento del outbox. Ambas van al
+     * shard dueño del email del token.</p>
      *
      * @param bearerToken token JWT recibido en el header Authorization
      * @return {@link UserResponse} con los datos del usuario y nuevo token JWT
-     * @throws IllegalArgumentException si el token es inválido o el usuario no existe
+     * @throws UnauthorizedException si falta el header Bearer, el usuario no existe, el token
+     *         es de otra cuenta, está inactivo o el token fue revocado
+     * @throws io.jsonwebtoken.JwtException si el token es inválido o ha expirado
      */
-    @Transactional
     public UserResponse login(String bearerToken) {
         String token = extract(bearerToken);
         var claims = jwtUtil.parse(token);
         String email = claims.getSubject();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalArgumentException("usuario no encontrado"));
+        try (ShardContext.Scope ignored = ShardContext.use(shardRouter.shardForEmail(email))) {
+            String normalizedEmail = Emails.normalize(email);
+            Optional<User> found = AuthProfiling.repository("findByEmail",
+                    () -> replicaLagGuard.isRecentlyWritten(email)
+                            ? DataSourceRouting.onPrimary(() -> userRepository.findByNormalizedEmail(normalizedEmail))
+                            : userRepository.findByNormalizedEmail(normalizedEmail));
+            User user = found.orElseThrow(() -> new UnauthorizedException("usuario no encontrado"));
+            checkSession(user, claims);
 
-        user.setLastLogin(Instant.now());
-        String newToken = jwtUtil.generateToken(user.getEmail(), user.getId());
-        return toResponse(user, newToken, false);
+            Instant now = Instant.now();
+            outboxWriter.recordLogin(user, now);
+            user.setLastLogin(now);
+            String newToken = jwtUtil.generateToken(user.getEmail(), user.getId(), JwtUtil.sessionVersion(claims));
+            return AuthProfiling.responseMapping(() -> toResponse(user, newToken));
+        }
+    }
+
+    /**
+     * Rechaza el token si no fue emitido para este usuario, si la cuenta está inactiva o si
+     * su versión de sesión ya no es la del usuario (se desactivó después de emitirlo, aunque
+     * luego se haya reactivado).
+     *
+     * <p>El usuario se busca por el email normalizado del token; el {@code uid} evita que
+     * el token de una cuenta que solo difiere en mayúsculas de otra más antigua (V7 deja
+     * el email normalizado en la más antigua) entre como esa otra cuenta.</p>
+     *
+     * @param user usuario encontrado por el email del token
+     * @param claims claims del token verificado
+     * @throws UnauthorizedException si el token es de otra cuenta, la cuenta está inactiva
+     *         o el token fue revocado
+     */
+    static void checkSession(User user, Claims claims) {
+        if (!user.getId().toString().equals(claims.get(JwtUtil.USER_ID, String.class))) {
+            throw new UnauthorizedException("token de otra cuenta");
+        }
+        if (!Boolean.TRUE.equals(user.getIsActive())) {
+            throw new UnauthorizedException("usuario inactivo");
+        }
+        int current = user.getSessionVersion() == null ? 0 : user.getSessionVersion();
+        if (JwtUtil.sessionVersion(claims) != current) {
+            throw new UnauthorizedException("sesión revocada");
+        }
     }
 
     /**
@@ -114,11 +204,12 @@ public class UserService {
      *
      * @param bearer header completo (ej. "Bearer <token>")
      * @return token JWT limpio
-     * @throws IllegalArgumentException si el header es nulo o no comienza con "Bearer "
+     * @throws UnauthorizedException si el header es nulo, no comienza con "Bearer "
+     *         o no contiene token
      */
-    private String extract(String bearer) {
-        if (bearer == null || !bearer.startsWith("Bearer ")) {
-            throw new IllegalArgumentException("Authorization Bearer token requerido");
+    static String extract(String bearer) {
+        if (bearer == null || !bearer.startsWith("Bearer ") || bearer.length() == 7) {
+            throw new UnauthorizedException("Authorization Bearer token requerido");
         }
         return bearer.substring(7);
     }
@@ -126,14 +217,14 @@ public class UserService {
     /**
      * Mapea una entidad {@link User} a su DTO {@link UserResponse}.
      *
-     * <p>Opcionalmente puede enmascarar la contraseña antes de devolverla.</p>
+     * <p>La contraseña siempre sale enmascarada ({@link UserResponse#MASKED_PASSWORD}):
+     * el hash BCrypt no se copia a la respuesta en ningún caso.</p>
      *
      * @param u entidad {@link User} a mapear
      * @param token token JWT a incluir en la respuesta
-     * @param maskPassword {@code true} para enmascarar la contraseña
      * @return {@link UserResponse} con datos del usuario y token JWT
      */
-    private UserResponse toResponse(User u, String token, boolean maskPassword) {
+    static UserResponse toResponse(User u, String token) {
         return UserResponse.builder()
                 .id(u.getId())
                 .created(u.getCreated())
@@ -142,10 +233,23 @@ public class UserService {
                 .isActive(Boolean.TRUE.equals(u.getIsActive()))
                 .name(u.getName())
                 .email(u.getEmail())
-                .password(maskPassword ? "*****" : u.getPassword())
-                .phones(u.getPhones().stream().map(p -> PhoneDto.builder()
-                        .number(p.getNumber()).citycode(p.getCitycode()).countrycode(p.getCountrycode()).build()
-                ).collect(Collectors.toList()))
+                .password(UserResponse.MASKED_PASSWORD)
+                .phones(toPhoneDtos(u.getPhones()))
                 .build();
     }
+
+    /**
+     * Mapea los teléfonos de la entidad a DTOs en una lista de tamaño exacto.
+     *
+     * @param phones teléfonos de la entidad {@link User}
+     * @return lista de {@link PhoneDto}
+     */
+    private static List<PhoneDto> toPhoneDtos(List<Phone> phones) {
+        List<PhoneDto> dtos = new ArrayList<>(phones.size());
+        for (Phone p : phones) {
+            dtos.add(PhoneDto.builder()
+                    .number(p.getNumber()).citycode(p.getCitycode()).countrycode(p.getCountrycode()).build());
+        }
+        return dtos;
+    }
 }
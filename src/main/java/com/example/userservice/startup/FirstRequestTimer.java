@@ -0,0 +1,53 @@
+package com.example.userservice.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mide el tiempo desde el inicio de la JVM hasta la primera request respondida.
+ *
+ * <p>Es el tiempo que importa al escalar: la instancia nueva empieza a aliviar carga
+ * recién cuando responde, no cuando el contexto termina de arrancar. Después de la
+ * primera request el filtro solo lee un {@link AtomicLong}.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Slf4j
+public class FirstRequestTimer extends OncePerRequestFilter {
+
+    private final AtomicLong firstRequestMillis = new AtomicLong(-1);
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (firstRequestMillis.get() < 0) {
+                record(request);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request) {
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        if (firstRequestMillis.compareAndSet(-1, uptime)) {
+            log.info("Primera request ({} {}) respondida a los {} ms de iniciada la JVM",
+                    request.getMethod(), request.getRequestURI(), uptime);
+        }
+    }
+
+    /** @return ms desde el inicio de la JVM hasta la primera respuesta, o -1 si no hubo */
+    public long getFirstRequestMillis() {
+        return firstRequestMillis.get();
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.userservice.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Imprime, al quedar lista la aplicación, en qué se fue el tiempo de arranque.
+ *
+ * <p>Lee los pasos registrados por el {@link BufferingApplicationStartup} que instala
+ * {@code UserServiceApplication} y muestra:</p>
+ * <ul>
+ *   <li>las fases de primer nivel (preparación del entorno, refresh del contexto, etc.)
+ *       en orden cronológico;</li>
+ *   <li>los beans con mayor tiempo propio de creación, es decir, descontando el de los
+ *       beans que se crearon como dependencias dentro de él.</li>
+ * </ul>
+ *
+ * <p>Con {@code exitAfterReady} cierra la aplicación después del reporte; lo usa la
+ * corrida de entrenamiento del archivo AppCDS.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Slf4j
+public class StartupTimelineReporter implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final String BEAN_NAME_TAG = "beanName";
+
+    private final boolean print;
+    private final int topBeans;
+    private final boolean exitAfterReady;
+
+    /**
+     * @param print {@code true} para imprimir la línea de tiempo
+     * @param topBeans cantidad de beans a listar
+     * @param exitAfterReady {@code true} para terminar la JVM después del reporte
+     */
+    public StartupTimelineReporter(boolean print, int topBeans, boolean exitAfterReady) {
+        this.print = print;
+        this.topBeans = topBeans;
+        this.exitAfterReady = exitAfterReady;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        ApplicationStartup startup = context.getApplicationStartup();
+        if (print && startup instanceof BufferingApplicationStartup) {
+            log.info("Línea de tiempo del arranque (lista a los {} ms de iniciada la JVM):\n{}",
+                    uptime, render(((BufferingApplicationStartup) startup).getBufferedTimeline(), topBeans));
+        } else {
+            log.info("Aplicación lista a los {} ms de iniciada la JVM", uptime);
+        }
+        if (exitAfterReady) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    /**
+     * Formatea las fases y los beans más costosos de una línea de tiempo.
+     *
+     * @param timeline pasos registrados
+     * @param topBeans cantidad de beans a listar
+     * @return reporte en texto
+     */
+    static String render(StartupTimeline timeline, int topBeans) {
+        Map<Long, Long> selfNanos = new HashMap<>();
+        List<StartupTimeline.TimelineEvent> phases = new ArrayList<>();
+        List<StartupTimeline.TimelineEvent> beans = new ArrayList<>();
+        for (StartupTimeline.TimelineEvent e : timeline.getEvents()) {
+            StartupStep step = e.getStartupStep();
+            selfNanos.merge(step.getId(), e.getDuration().toNanos(), Long::sum);
+            if (step.getParentId() == null) {
+                phases.add(e);
+            } else {
+                selfNanos.merge(step.getParentId(), -e.getDuration().toNanos(), Long::sum);
+            }
+            if (beanName(step) != null) {
+                beans.add(e);
+            }
+        }
+        phases.sort(Comparator.comparing(StartupTimeline.TimelineEvent::getStartTime));
+        beans.sort(Comparator.comparingLong(
+                (StartupTimeline.TimelineEvent e) -> selfNanos.get(e.getStartupStep().getId())).reversed());
+
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("  %-52s %10s%n", "fase", "ms"));
+        for (StartupTimeline.TimelineEvent e : phases) {
+            out.append(String.format("  %-52s %10d%n", e.getStartupStep().getName(), e.getDuration().toMillis()));
+        }
+        out.append(String.format("  %-52s %10s %10s%n", "bean", "propio ms", "total ms"));
+        for (StartupTimeline.TimelineEvent e : beans.subList(0, Math.min(topBeans, beans.size()))) {
+            long self = selfNanos.get(e.getStartupStep().getId());
+            out.append(String.format("  %-52s %10d %10d%n", beanName(e.getStartupStep()),
+                    Duration.ofNanos(self).toMillis(), e.getDuration().toMillis()));
+        }
+        return out.toString();
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if (BEAN_NAME_TAG.equals(tag.getKey())) return tag.getValue();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.userservice.support;
+
+import com.example.userservice.dto.UserSearchPage;
+import com.example.userservice.dto.UserSummary;
+import com.example.userservice.service.AccountStatusService;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.lang.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Endpoint de Actuator {@code /actuator/accounts} para administrar el estado de las cuentas.
+ *
+ * <ul>
+ *   <li>{@code GET /actuator/accounts}: cantidad de usuarios activos.</li>
+ *   <li>{@code GET /actuator/accounts/active} (o {@code inactive})
+ *       {@code ?limit=20&cursor=...}: listado paginado por fecha de creación.</li>
+ *   <li>{@code POST /actuator/accounts/{id}} con {@code {"active": false}}: desactiva la
+ *       cuenta y revoca sus tokens ({@code true} la reactiva).</li>
+ * </ul>
+ *
+ * <p>Como el resto de los endpoints de Actuator, solo se publica si se incluye en
+ * {@code management.endpoints.web.exposure.include}.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@WebEndpoint(id = "accounts")
+public class AccountEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final AccountStatusService accountStatusService;
+
+    /**
+     * @param accountStatusService estado de las cuentas
+     */
+    public AccountEndpoint(AccountStatusService accountStatusService) {
+        this.accountStatusService = accountStatusService;
+    }
+
+    /**
+     * @return {@code {"active": n}}
+     */
+    @ReadOperation
+    public Map<String, Long> count() {
+        return Collections.singletonMap("active", accountStatusService.countActive());
+    }
+
+    /**
+     * @param status {@code active} o {@code inactive}
+     * @param limit tamaño de página (por defecto 20, máximo 100)
+     * @param cursor {@code nextCursor} de la página anterior
+     * @return página de usuarios; 404 si el estado no existe, 400 si el cursor es inválido
+     */
+    @ReadOperation
+    public WebEndpointResponse<UserSearchPage> list(@Selector String status, @Nullable Integer limit,
+                                                    @Nullable String cursor) {
+        if (!"active".equals(status) && !"inactive".equals(status)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        try {
+            return new WebEndpointResponse<>(accountStatusService.list("active".equals(status),
+                    limit == null ? DEFAULT_LIMIT : limit, cursor));
+        } catch (IllegalArgumentException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+    }
+
+    /**
+     * @param id id del usuario
+     * @param active nuevo estado
+     * @return el usuario con su estado actual; 404 si no existe
+     */
+    @WriteOperation
+    public WebEndpointResponse<UserSummary> update(@Selector UUID id, boolean active) {
+        return accountStatusService.setActive(id, active)
+                .map(WebEndpointResponse::new)
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.userservice.support;
+
+import com.example.userservice.dto.UserSummary;
+import com.example.userservice.service.PhoneLookupService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * Endpoint de Actuator {@code /actuator/phones} para buscar cuentas por teléfono
+ * desde las herramientas de soporte.
+ *
+ * <p>Como el resto de los endpoints de Actuator, solo se publica si se incluye en
+ * {@code management.endpoints.web.exposure.include}.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Endpoint(id = "phones")
+public class PhoneLookupEndpoint {
+
+    private final PhoneLookupService phoneLookupService;
+
+    /**
+     * @param phoneLookupService búsqueda inversa por teléfono
+     */
+    public PhoneLookupEndpoint(PhoneLookupService phoneLookupService) {
+        this.phoneLookupService = phoneLookupService;
+    }
+
+    /**
+     * @param countrycode código de país
+     * @param citycode código de ciudad
+     * @param number número sin códigos de área
+     * @return usuarios con ese teléfono
+     */
+    @ReadOperation
+    public List<UserSummary> lookup(String countrycode, Integer citycode, Long number) {
+        return phoneLookupService.findByPhone(countrycode, citycode, number);
+    }
+}
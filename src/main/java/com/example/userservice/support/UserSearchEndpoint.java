@@ -0,0 +1,50 @@
+package com.example.userservice.support;
+
+import com.example.userservice.dto.UserSearchPage;
+import com.example.userservice.service.UserSearchService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.lang.Nullable;
+
+/**
+ * Endpoint de Actuator {@code /actuator/usersearch} para el typeahead de la consola de
+ * administración.
+ *
+ * <p>Como el resto de los endpoints de Actuator, solo se publica si se incluye en
+ * {@code management.endpoints.web.exposure.include}.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Endpoint(id = "usersearch")
+public class UserSearchEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final UserSearchService userSearchService;
+
+    /**
+     * @param userSearchService búsqueda por prefijo
+     */
+    public UserSearchEndpoint(UserSearchService userSearchService) {
+        this.userSearchService = userSearchService;
+    }
+
+    /**
+     * @param prefix prefijo del nombre (o de alguna de sus palabras) o del email
+     * @param limit tamaño de página (por defecto 20, máximo 100)
+     * @param cursor {@code nextCursor} de la página anterior
+     * @return página de usuarios; 400 si el cursor es inválido
+     */
+    @ReadOperation
+    public WebEndpointResponse<UserSearchPage> search(String prefix, @Nullable Integer limit,
+                                                      @Nullable String cursor) {
+        try {
+            return new WebEndpointResponse<>(
+                    userSearchService.search(prefix, limit == null ? DEFAULT_LIMIT : limit, cursor));
+        } catch (IllegalArgumentException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+    }
+}
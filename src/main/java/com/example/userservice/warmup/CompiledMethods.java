@@ -0,0 +1,61 @@
+package com.example.userservice.warmup;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Indicador del avance del JIT para decidir cuándo terminó de compilar el camino caliente.
+ *
+ * <p>En HotSpot usa la cantidad de métodos compilados que reporta el comando de
+ * diagnóstico {@code Compiler.codecache} ({@code nmethods=N}, ~25 µs por lectura). En
+ * otras JVM usa el tiempo total de compilación de {@link CompilationMXBean} (ms), que
+ * también deja de crecer cuando el JIT se estabiliza.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+public final class CompiledMethods {
+
+    private static final Pattern NMETHODS = Pattern.compile("nmethods=(\\d+)");
+
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    private final ObjectName diagnostics;
+    private final CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+
+    public CompiledMethods() {
+        ObjectName name;
+        try {
+            name = new ObjectName("com.sun.management:type=DiagnosticCommand");
+            if (!server.isRegistered(name)) name = null;
+        } catch (JMException e) {
+            name = null;
+        }
+        this.diagnostics = name;
+    }
+
+    /**
+     * @return métodos compilados en el code cache o, sin ese dato, ms de compilación acumulados
+     *         (-1 si la JVM no expone ninguno de los dos)
+     */
+    public long sample() {
+        if (diagnostics != null) {
+            try {
+                Object out = server.invoke(diagnostics, "compilerCodecache", new Object[]{null},
+                        new String[]{String[].class.getName()});
+                Matcher m = NMETHODS.matcher(String.valueOf(out));
+                if (m.find()) return Long.parseLong(m.group(1));
+            } catch (JMException e) {
+                // se usa el tiempo de compilación
+            }
+        }
+        if (compilation != null && compilation.isCompilationTimeMonitoringSupported()) {
+            return compilation.getTotalCompilationTime();
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.userservice.warmup;
+
+import com.example.userservice.dto.SignUpRequest;
+import com.example.userservice.dto.UserResponse;
+import com.example.userservice.serialization.UserJsonWriter;
+import com.example.userservice.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Calienta el JIT con tráfico sintético antes de que la instancia se reporte lista.
+ *
+ * <p>Spring Boot publica {@code ReadinessState.ACCEPTING_TRAFFIC} recién después de
+ * ejecutar los {@link ApplicationRunner}, así que mientras este corre el probe de
+ * readiness sigue en {@code REFUSING_TRAFFIC}. Cada ronda recorre el mismo camino que
+ * una request real, salvo la capa HTTP:</p>
+ * <ul>
+ *   <li>deserializa con Jackson y valida con Bean Validation un {@link SignUpRequest};</li>
+ *   <li>registra al usuario con {@link UserService#signUp(SignUpRequest)} (BCrypt, JPA,
+ *       outbox, firma del JWT) y hace {@code loginsPerSignUp} logins con su token
+ *       (verificación del JWT, lectura, actualización);</li>
+ *   <li>serializa cada respuesta con {@link UserJsonWriter} (servlet) y Jackson (reactivo).</li>
+ * </ul>
+ *
+ * <p>La ronda entera corre en una transacción marcada para rollback: los usuarios y
+ * eventos del outbox sintéticos nunca se confirman y los listeners
+ * {@code @TransactionalEventListener} no se disparan. Termina cuando la cantidad de
+ * métodos compilados ({@link CompiledMethods}) deja de crecer durante {@code stableRounds}
+ * rondas seguidas o al agotar {@code budgetMillis}. Un error corta el calentamiento pero no
+ * el arranque.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Slf4j
+public class JitWarmup implements ApplicationRunner {
+
+    private static final String PASSWORD = "Warmup12ab";
+
+    private final UserService userService;
+    private final TransactionTemplate transactions;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final LongSupplier compiledMethods;
+    private final WarmupProperties properties;
+
+    /**
+     * @param userService servicio a calentar
+     * @param transactions plantilla de transacciones (cada ronda se revierte)
+     * @param validator validador de Bean Validation
+     * @param objectMapper mapper de Jackson de la aplicación
+     * @param compiledMethods indicador del avance del JIT (ver {@link CompiledMethods#sample()})
+     * @param properties parámetros del calentamiento
+     */
+    public JitWarmup(UserService userService, TransactionTemplate transactions, Validator validator,
+                     ObjectMapper objectMapper, LongSupplier compiledMethods, WarmupProperties properties) {
+        this.userService = userService;
+        this.transactions = transactions;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.compiledMethods = compiledMethods;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(properties.getBudgetMillis());
+        long before = compiledMethods.getAsLong();
+        long last = before;
+        int rounds = 0;
+        int quiet = 0;
+        boolean stable = false;
+        while (System.nanoTime() - deadline < 0) {
+            try {
+                round();
+            } catch (RuntimeException e) {
+                log.warn("Calentamiento del JIT interrumpido en la ronda {}", rounds, e);
+                break;
+            }
+            rounds++;
+            long current = compiledMethods.getAsLong();
+            quiet = current - last <= properties.getStableDelta() ? quiet + 1 : 0;
+            last = current;
+            if (rounds >= properties.getMinRounds() && quiet >= properties.getStableRounds()) {
+                stable = true;
+                break;
+            }
+        }
+        log.info("Calentamiento del JIT: {} rondas en {} ms, métodos compilados {} -> {} ({})", rounds,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), before, last,
+                stable ? "estable" : "presupuesto agotado");
+    }
+
+    /**
+     * Un registro y sus logins, revertidos al final.
+     */
+    void round() {
+        transactions.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            SignUpRequest request = read(signUpJson());
+            if (!validator.validate(request).isEmpty()) {
+                throw new IllegalStateException("Solicitud de calentamiento inválida");
+            }
+            UserResponse created = userService.signUp(request);
+            write(created);
+            String bearer = "Bearer " + created.getToken();
+            for (int i = 0; i < properties.getLoginsPerSignUp(); i++) {
+                write(userService.login(bearer));
+            }
+        });
+    }
+
+    private static byte[] signUpJson() {
+        String email = "warmup-" + UUID.randomUUID() + "@warmup.invalid";
+        return ("{\"name\":\"Warmup\",\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\","
+                + "\"phones\":[{\"number\":1234567,\"citycode\":1,\"countrycode\":\"57\"}]}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private SignUpRequest read(byte[] json) {
+        try {
+            return objectMapper.readValue(json, SignUpRequest.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(UserResponse response) {
+        UserJsonWriter.toBytes(response);
+        try {
+            objectMapper.writeValueAsBytes(response);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.userservice.warmup;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Parámetros del calentamiento del JIT antes de reportar la instancia lista ({@code app.warmup.*}).
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.warmup")
+public class WarmupProperties {
+
+    /** Habilita el calentamiento. */
+    private boolean enabled = false;
+
+    /** Tiempo máximo (ms); al agotarse la instancia queda lista aunque el JIT siga compilando. */
+    private long budgetMillis = 20_000;
+
+    /** Logins por cada registro dentro de una ronda (el registro está dominado por BCrypt). */
+    private int loginsPerSignUp = 50;
+
+    /** Rondas mínimas antes de evaluar la estabilidad. */
+    private int minRounds = 20;
+
+    /** Rondas seguidas sin crecimiento relevante para dar al JIT por estable. */
+    private int stableRounds = 5;
+
+    /** Crecimiento por ronda (métodos compilados) que todavía se considera estable. */
+    private long stableDelta = 2;
+}
@@ -0,0 +1,140 @@
+package db.migration;
+
+import com.example.userservice.domain.Emails;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Completa {@code users.normalized_email} (agregada en V6) y crea su índice único.
+ *
+ * <p>Recorre la tabla por keyset sobre {@code id} en lotes de {@value #BATCH_SIZE} filas y
+ * confirma cada lote, sin cargar la tabla en memoria ni mantener una transacción larga.
+ * La normalización es la misma del alta ({@link Emails#normalize(String)}).</p>
+ *
+ * <p>Si dos cuentas existentes solo difieren en mayúsculas o espacios, conserva el email
+ * normalizado en la más antigua y lo deja en {@code null} en las demás (se registran con
+ * un warning para resolverlas a mano): no se borra ni se modifica ninguna cuenta. El
+ * email de esas cuentas lleva a la más antigua, así que el login las rechaza con
+ * {@code 401} (el {@code uid} del token no coincide) hasta resolverlas.</p>
+ *
+ * <p>Flyway la toma del mismo {@code classpath:db/migration} que las migraciones SQL, así
+ * que corre en cada shard igual que ellas.</p>
+ *
+ * @author Federico Rosales
+ * @since 1.1
+ */
+@Slf4j
+public class V7__backfill_normalized_email extends BaseJavaMigration {
+
+    static final int BATCH_SIZE = 1000;
+
+    private static final String SELECT_FIRST =
+            "SELECT id, email FROM users WHERE normalized_email IS NULL ORDER BY id LIMIT ?";
+    private static final String SELECT_NEXT =
+            "SELECT id, email FROM users WHERE normalized_email IS NULL AND id > ? ORDER BY id LIMIT ?";
+    private static final String UPDATE = "UPDATE users SET normalized_email = ? WHERE id = ?";
+    private static final String SELECT_DUPLICATES =
+            "SELECT id, normalized_email FROM users WHERE normalized_email IN "
+                    + "(SELECT normalized_email FROM users GROUP BY normalized_email HAVING COUNT(*) > 1) "
+                    + "ORDER BY normalized_email, created NULLS LAST, id";
+    private static final String CLEAR = "UPDATE users SET normalized_email = NULL WHERE id = ?";
+    private static final String ADD_UNIQUE =
+            "ALTER TABLE users ADD CONSTRAINT uk_users_normalized_email UNIQUE (normalized_email)";
+
+    /** Cada lote se confirma por separado. */
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection c = context.getConnection();
+        boolean autoCommit = c.getAutoCommit();
+        c.setAutoCommit(false);
+        try {
+            long filled = backfill(c);
+            int conflicts = clearDuplicates(c);
+            try (Statement st = c.createStatement()) {
+                st.execute(ADD_UNIQUE);
+            }
+            c.commit();
+            log.info("normalized_email: {} filas completadas, {} en conflicto", filled, conflicts);
+        } catch (SQLException e) {
+            c.rollback();
+            throw e;
+        } finally {
+            c.setAutoCommit(autoCommit);
+        }
+    }
+
+    static long backfill(Connection c) throws SQLException {
+        long filled = 0;
+        byte[] last = null;
+        while (true) {
+            List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+            try (PreparedStatement ps = c.prepareStatement(last == null ? SELECT_FIRST : SELECT_NEXT)) {
+                int i = 1;
+                if (last != null) ps.setBytes(i++, last);
+                ps.setInt(i, BATCH_SIZE);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        rows.add(new Object[]{rs.getBytes(1), rs.getString(2)});
+                    }
+                }
+            }
+            if (rows.isEmpty()) return filled;
+            last = (byte[]) rows.get(rows.size() - 1)[0];
+
+            try (PreparedStatement update = c.prepareStatement(UPDATE)) {
+                for (Object[] row : rows) {
+                    update.setString(1, Emails.normalize((String) row[1]));
+                    update.setBytes(2, (byte[]) row[0]);
+                    update.addBatch();
+                }
+                update.executeBatch();
+            }
+            c.commit();
+            filled += rows.size();
+        }
+    }
+
+    static int clearDuplicates(Connection c) throws SQLException {
+        List<byte[]> losers = new ArrayList<>();
+        try (PreparedStatement ps = c.prepareStatement(SELECT_DUPLICATES);
+             ResultSet rs = ps.executeQuery()) {
+            String current = null;
+            while (rs.next()) {
+                String normalized = rs.getString(2);
+                if (normalized.equals(current)) {
+                    byte[] id = rs.getBytes(1);
+                    losers.add(id);
+                    ByteBuffer b = ByteBuffer.wrap(id);
+                    log.warn("Usuario {} sin email normalizado: otra cuenta más antigua tiene el mismo email",
+                            new UUID(b.getLong(), b.getLong()));
+                } else {
+                    current = normalized;
+                }
+            }
+        }
+        try (PreparedStatement clear = c.prepareStatement(CLEAR)) {
+            for (byte[] id : losers) {
+                clear.setBytes(1, id);
+                clear.addBatch();
+            }
+            clear.executeBatch();
+        }
+        return losers.size();
+    }
+}
@@ -0,0 +1,29 @@
+-- Esquema inicial: usuarios y teléfonos (equivalente al generado antes con ddl-auto)
+
+CREATE TABLE users (
+    id          BINARY(16)   NOT NULL,
+    name        VARCHAR(255),
+    email       VARCHAR(255) NOT NULL,
+    password    VARCHAR(255) NOT NULL,
+    created     TIMESTAMP,
+    last_login  TIMESTAMP,
+    is_active   BOOLEAN,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+-- Paginación por keyset (created, id); también resuelve filtros y orden por created
+CREATE INDEX ix_users_created_id ON users (created, id);
+
+CREATE TABLE phone (
+    id          BIGINT AUTO_INCREMENT,
+    number      BIGINT,
+    citycode    INTEGER,
+    countrycode VARCHAR(255),
+    user_id     BINARY(16),
+    CONSTRAINT pk_phone PRIMARY KEY (id)
+);
+
+CREATE INDEX ix_phone_user_id ON phone (user_id);
+
+ALTER TABLE phone ADD CONSTRAINT fk_phone_user FOREIGN KEY (user_id) REFERENCES users (id);
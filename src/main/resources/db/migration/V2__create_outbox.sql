@@ -0,0 +1,11 @@
+-- Outbox transaccional: eventos de dominio escritos en la misma transacción que el cambio
+-- y publicados después por OutboxRelay (entrega al menos una vez)
+
+CREATE TABLE outbox_event (
+    id           BIGINT AUTO_INCREMENT,
+    aggregate_id BINARY(16)   NOT NULL,
+    type         VARCHAR(40)  NOT NULL,
+    payload      VARCHAR(1024) NOT NULL,
+    created      TIMESTAMP    NOT NULL,
+    CONSTRAINT pk_outbox_event PRIMARY KEY (id)
+);
@@ -0,0 +1,13 @@
+-- Auditoría de intentos de registro e inicio de sesión (escrita en lotes por AuditTrail)
+
+CREATE TABLE audit_log (
+    id        BIGINT AUTO_INCREMENT,
+    ts        TIMESTAMP    NOT NULL,
+    action    VARCHAR(16)  NOT NULL,
+    subject   VARCHAR(255),
+    outcome   SMALLINT     NOT NULL,
+    client_ip VARCHAR(45)  NOT NULL,
+    CONSTRAINT pk_audit_log PRIMARY KEY (id)
+);
+
+CREATE INDEX ix_audit_log_subject_ts ON audit_log (subject, ts);
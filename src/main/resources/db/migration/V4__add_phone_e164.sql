@@ -0,0 +1,13 @@
+-- Búsqueda inversa por teléfono: número completo empaquetado (país + ciudad + número)
+-- como BIGINT estilo E.164 (ver PhoneNumbers.packE164)
+
+ALTER TABLE phone ADD COLUMN e164 BIGINT;
+
+UPDATE phone
+SET e164 = CAST(REGEXP_REPLACE(countrycode, '[^0-9]', '') || citycode || number AS BIGINT)
+WHERE number IS NOT NULL AND number >= 0
+  AND citycode IS NOT NULL AND citycode >= 0
+  AND REGEXP_LIKE(REGEXP_REPLACE(countrycode, '[^0-9]', ''), '^[1-9][0-9]*$')
+  AND LENGTH(REGEXP_REPLACE(countrycode, '[^0-9]', '') || citycode || number) <= 15;
+
+CREATE INDEX ix_phone_e164 ON phone (e164);
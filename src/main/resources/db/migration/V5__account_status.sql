@@ -0,0 +1,25 @@
+-- Estado de la cuenta: desactivación con revocación de sesiones y conteo de activos
+
+-- Hasta ahora un NULL se informaba como inactivo (isActive=false); se conserva ese significado
+UPDATE users SET is_active = FALSE WHERE is_active IS NULL;
+ALTER TABLE users ALTER COLUMN is_active SET DEFAULT TRUE;
+ALTER TABLE users ALTER COLUMN is_active SET NOT NULL;
+
+-- Versión de sesión: va en el claim "sv" del JWT; desactivar la incrementa y revoca los tokens emitidos
+ALTER TABLE users ADD COLUMN session_version INTEGER DEFAULT 0 NOT NULL;
+
+-- Listado por estado con keyset (created, id). H2 no tiene índices parciales
+-- (en PostgreSQL: ON users (created, id) WHERE is_active); con is_active al frente cada
+-- estado es un rango contiguo del índice
+CREATE INDEX ix_users_active_created_id ON users (is_active, created, id);
+
+-- Contador de usuarios activos repartido en 16 filas para no serializar los registros
+-- concurrentes sobre una sola; el total es SUM(active)
+CREATE TABLE active_user_count (
+    stripe  INTEGER NOT NULL,
+    active  BIGINT  NOT NULL,
+    CONSTRAINT pk_active_user_count PRIMARY KEY (stripe)
+);
+
+INSERT INTO active_user_count (stripe, active) SELECT X, 0 FROM SYSTEM_RANGE(0, 15);
+UPDATE active_user_count SET active = (SELECT COUNT(*) FROM users WHERE is_active) WHERE stripe = 0;
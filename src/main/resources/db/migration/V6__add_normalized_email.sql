@@ -0,0 +1,5 @@
+-- Email normalizado (Emails.normalize: sin espacios externos y en minúsculas) para que las
+-- búsquedas no distingan mayúsculas y usen un índice sin funciones en la consulta.
+-- La carga de las filas existentes y el índice único los hace V7 (migración Java, por lotes).
+
+ALTER TABLE users ADD COLUMN normalized_email VARCHAR(255);
@@ -0,0 +1,64 @@
+package com.example.userservice;
+
+import com.example.userservice.datasource.ShardRouter;
+import com.example.userservice.domain.Emails;
+import com.example.userservice.domain.User;
+import com.example.userservice.repository.UserRepository;
+import com.example.userservice.security.JwtUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SignUpLoginTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Test
+    void signUpToken_logsIn_andCarriesTheStoredShardedId() throws Exception {
+        String email = "julio." + UUID.randomUUID().toString().substring(0, 8) + "@TestSSW.cl";
+        MvcResult created = mvc.perform(post("/sign-up")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Julio\",\"email\":\"" + email + "\",\"password\":\"a2asfGfdfdf4\"}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        JsonNode body = mapper.readTree(created.getResponse().getContentAsByteArray());
+        String token = body.get("token").asText();
+        UUID uid = UUID.fromString(jwtUtil.parse(token).get(JwtUtil.USER_ID, String.class));
+
+        User stored = userRepository.findByNormalizedEmail(Emails.normalize(email)).orElseThrow();
+        assertEquals(uid, stored.getId());
+        assertEquals(uid.toString(), body.get("id").asText());
+        assertEquals(shardRouter.shardForEmail(email), shardRouter.shardForId(stored.getId()));
+
+        mvc.perform(get("/login").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.userservice;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class StartupTimeIT {
+
+    private static final int RUNS = 3;
+    private static final long TIMEOUT_MILLIS = 60_000;
+
+    @Test
+    void shouldServeFirstLogin_withinBudget_whenStartedWithAppCds() throws Exception {
+        String classpath = System.getProperty("startup.classpath");
+        assumeTrue(classpath != null, "Solo con mvn -Pappcds verify");
+        String archive = System.getProperty("startup.archive");
+        long budget = Long.parseLong(System.getProperty("startup.budget.ms"));
+        Path report = Paths.get(System.getProperty("startup.report"));
+
+        long baseline = median(classpath, report.resolveSibling("startup-baseline"));
+        long withCds = median(classpath, report.resolveSibling("startup-appcds"),
+                "-XX:SharedArchiveFile=" + archive, "-Xshare:auto");
+
+        Properties times = new Properties();
+        times.setProperty("first.request.ms.baseline", Long.toString(baseline));
+        times.setProperty("first.request.ms.appcds", Long.toString(withCds));
+        try (OutputStream out = Files.newOutputStream(report)) {
+            times.store(out, "Mediana de " + RUNS + " arranques con el perfil fast-start");
+        }
+        assertTrue(withCds <= budget,
+                "Primera respuesta a los " + withCds + " ms con AppCDS, presupuesto " + budget + " ms");
+    }
+
+    private static long median(String classpath, Path logPrefix, String... jvmArgs) throws Exception {
+        long[] times = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            times[i] = timeToFirstResponse(classpath, new File(logPrefix + "-" + i + ".log"), jvmArgs);
+        }
+        Arrays.sort(times);
+        return times[RUNS / 2];
+    }
+
+    private static long timeToFirstResponse(String classpath, File log, String... jvmArgs) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(Arrays.asList(jvmArgs));
+        command.addAll(Arrays.asList("-cp", classpath, UserServiceApplication.class.getName(),
+                "--spring.profiles.active=fast-start", "--server.port=" + port));
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start();
+        try {
+            URL login = new URL("http://127.0.0.1:" + port + "/login");
+            while (true) {
+                assertTrue(process.isAlive(), "La aplicación terminó antes de responder, ver " + log);
+                assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS),
+                        "Sin respuesta después de " + TIMEOUT_MILLIS + " ms, ver " + log);
+                try {
+                    HttpURLConnection connection = (HttpURLConnection) login.openConnection();
+                    connection.setConnectTimeout(100);
+                    connection.getResponseCode();
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                } catch (IOException notYet) {
+                    Thread.sleep(5);
+                }
+            }
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.userservice;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserServiceApplicationTest {
+
+    @Test
+    void recordsStartup_onlyWithFastStartOrTimeline() {
+        assertTrue(UserServiceApplication.recordsStartup(new String[]{"--spring.profiles.active=durable,fast-start"}));
+        assertTrue(UserServiceApplication.recordsStartup(
+                new String[]{"--spring.profiles.active=durable", "--app.startup.timeline=true"}));
+        assertFalse(UserServiceApplication.recordsStartup(
+                new String[]{"--spring.profiles.active=durable", "--app.startup.timeline=false"}));
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.userservice;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class WarmupLatencyIT {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\":\"([^\"]+)\"");
+    private static final int BUCKET_SECONDS = 10;
+    private static final long READY_TIMEOUT_MILLIS = 120_000;
+
+    @Test
+    void shouldReportFirstMinuteLatency_withAndWithoutWarmup() throws Exception {
+        String classpath = System.getProperty("startup.classpath");
+        String seconds = System.getProperty("warmup.bench.seconds");
+        assumeTrue(classpath != null && seconds != null, "Solo con mvn -Pappcds verify -Dwarmup.bench.seconds=60");
+        Path report = Paths.get(System.getProperty("startup.report")).resolveSibling("warmup-latency.properties");
+
+        Properties results = new Properties();
+        for (boolean warmup : new boolean[]{false, true}) {
+            measure(classpath, warmup, Integer.parseInt(seconds), report, results);
+        }
+        try (OutputStream out = Files.newOutputStream(report)) {
+            results.store(out, "Latencia (us) por tramo de " + BUCKET_SECONDS + " s desde la readiness");
+        }
+    }
+
+    private static void measure(String classpath, boolean warmup, int seconds, Path report, Properties results)
+            throws Exception {
+        int port = freePort();
+        List<String> command = Arrays.asList(Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", classpath, UserServiceApplication.class.getName(),
+                "--spring.profiles.active=fast-start", "--server.port=" + port,
+                "--management.endpoint.health.probes.enabled=true", "--app.warmup.enabled=" + warmup);
+        File log = report.resolveSibling("warmup-" + warmup + ".log").toFile();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start();
+        try {
+            String base = "http://127.0.0.1:" + port;
+            awaitReady(process, base + "/actuator/health/readiness", log);
+
+            int buckets = (seconds + BUCKET_SECONDS - 1) / BUCKET_SECONDS;
+            List<List<Long>> signUps = new ArrayList<>();
+            List<List<Long>> logins = new ArrayList<>();
+            for (int i = 0; i < buckets; i++) {
+                signUps.add(new ArrayList<>());
+                logins.add(new ArrayList<>());
+            }
+            long start = System.nanoTime();
+            long end = start + TimeUnit.SECONDS.toNanos(seconds);
+            while (System.nanoTime() < end) {
+                int bucket = (int) (TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) / BUCKET_SECONDS);
+                String email = "bench-" + UUID.randomUUID() + "@mail.com";
+                String body = "{\"name\":\"Bench\",\"email\":\"" + email + "\",\"password\":\"Bench12abc\"}";
+
+                long t0 = System.nanoTime();
+                String created = call(base + "/sign-up", "POST", body, null, 201);
+                long t1 = System.nanoTime();
+                Matcher token = TOKEN.matcher(created);
+                assertTrue(token.find(), created);
+                call(base + "/login", "GET", null, "Bearer " + token.group(1), 200);
+                long t2 = System.nanoTime();
+
+                signUps.get(bucket).add(TimeUnit.NANOSECONDS.toMicros(t1 - t0));
+                logins.get(bucket).add(TimeUnit.NANOSECONDS.toMicros(t2 - t1));
+            }
+
+            String mode = warmup ? "warmup" : "cold";
+            for (int i = 0; i < buckets; i++) {
+                String range = (i * BUCKET_SECONDS) + "-" + ((i + 1) * BUCKET_SECONDS) + "s";
+                put(results, mode + ".sign-up." + range, signUps.get(i));
+                put(results, mode + ".login." + range, logins.get(i));
+            }
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static void put(Properties results, String key, List<Long> micros) {
+        if (micros.isEmpty()) return;
+        long[] sorted = micros.stream().mapToLong(Long::longValue).sorted().toArray();
+        results.setProperty(key + ".n", Integer.toString(sorted.length));
+        results.setProperty(key + ".p50", Long.toString(sorted[(int) Math.ceil(0.50 * sorted.length) - 1]));
+        results.setProperty(key + ".p99", Long.toString(sorted[(int) Math.ceil(0.99 * sorted.length) - 1]));
+        results.setProperty(key + ".max", Long.toString(sorted[sorted.length - 1]));
+    }
+
+    private static void awaitReady(Process process, String url, File log) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(READY_TIMEOUT_MILLIS);
+        while (true) {
+            assertTrue(process.isAlive(), "La aplicación terminó antes de estar lista, ver " + log);
+            assertTrue(System.nanoTime() < deadline, "No quedó lista a tiempo, ver " + log);
+            try {
+                HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+                connection.setConnectTimeout(100);
+                if (connection.getResponseCode() == 200) return;
+            } catch (IOException notYet) {
+                // todavía no escucha
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private static String call(String url, String method, String body, String authorization, int expected)
+            throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setRequestMethod(method);
+        if (authorization != null) connection.setRequestProperty("Authorization", authorization);
+        if (body != null) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        assertEquals(expected, connection.getResponseCode(), url);
+        try (InputStream in = connection.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
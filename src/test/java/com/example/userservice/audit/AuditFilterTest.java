@@ -0,0 +1,75 @@
+package com.example.userservice.audit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditFilterTest {
+
+    private final AuditRingBuffer<AuditEntry> buffer =
+            new AuditRingBuffer<>(16, AuditRingBuffer.Backpressure.DROP_OLDEST);
+    private final AuditFilter filter = new AuditFilter(new AuditTrail(buffer, batch -> { }, 16, 16, 3));
+    private final List<AuditEntry> recorded = new ArrayList<>();
+
+    @Test
+    void recordsFinalStatus_whenRejectedBeforeController() throws Exception {
+        MockHttpServletRequest request = request("POST", "/sign-up");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) ->
+                ((MockHttpServletResponse) res).setStatus(503));
+        buffer.drainTo(recorded, 16);
+
+        assertEquals(1, recorded.size());
+        assertEquals(AuditEntry.SIGN_UP, recorded.get(0).getAction());
+        assertEquals(503, recorded.get(0).getOutcome());
+        assertNull(recorded.get(0).getSubject());
+        assertEquals("10.0.0.1", recorded.get(0).getClientIp());
+    }
+
+    @Test
+    void recordsSubject_leftByDownstream() throws Exception {
+        MockHttpServletRequest request = request("GET", "/login");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) ->
+                req.setAttribute(AuditFilter.SUBJECT, "julio@testssw.cl"));
+        buffer.drainTo(recorded, 16);
+
+        assertEquals(AuditEntry.LOGIN, recorded.get(0).getAction());
+        assertEquals(200, recorded.get(0).getOutcome());
+        assertEquals("julio@testssw.cl", recorded.get(0).getSubject());
+    }
+
+    @Test
+    void records500_whenChainThrows() {
+        FilterChain failing = (req, res) -> {
+            throw new IllegalStateException("caído");
+        };
+
+        assertThrows(IllegalStateException.class,
+                () -> filter.doFilter(request("GET", "/login"), new MockHttpServletResponse(), failing));
+        buffer.drainTo(recorded, 16);
+
+        assertEquals(500, recorded.get(0).getOutcome());
+    }
+
+    @Test
+    void ignoresOtherPaths() throws Exception {
+        filter.doFilter(request("GET", "/actuator/health"), new MockHttpServletResponse(), (req, res) -> { });
+        buffer.drainTo(recorded, 16);
+
+        assertTrue(recorded.isEmpty());
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.userservice.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditRingBufferTest {
+
+    @Test
+    void capacity_isRoundedToPowerOfTwo() {
+        assertEquals(8, new AuditRingBuffer<>(5, AuditRingBuffer.Backpressure.BLOCK).capacity());
+        assertEquals(8, new AuditRingBuffer<>(8, AuditRingBuffer.Backpressure.BLOCK).capacity());
+    }
+
+    @Test
+    void dropOldest_keepsNewestEntries() {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4, AuditRingBuffer.Backpressure.DROP_OLDEST);
+        for (int i = 0; i < 10; i++) {
+            buffer.offer(i);
+        }
+
+        List<Integer> drained = new ArrayList<>();
+        buffer.drainTo(drained, 10);
+
+        assertEquals(List.of(6, 7, 8, 9), drained);
+        assertEquals(6, buffer.getDropped());
+    }
+
+    @Test
+    void block_deliversEveryEntry_withConcurrentProducers() throws Exception {
+        int producers = 4;
+        int perProducer = 50_000;
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(64, AuditRingBuffer.Backpressure.BLOCK);
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    buffer.offer(base + i);
+                }
+                return null;
+            });
+        }
+        start.countDown();
+
+        BitSet seen = new BitSet(producers * perProducer);
+        int[] lastPerProducer = new int[producers];
+        Arrays.fill(lastPerProducer, -1);
+        List<Integer> batch = new ArrayList<>();
+        int received = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (received < producers * perProducer && System.nanoTime() < deadline) {
+            batch.clear();
+            received += buffer.drainTo(batch, 256);
+            for (int v : batch) {
+                assertFalse(seen.get(v), "duplicado " + v);
+                seen.set(v);
+                int producer = v / perProducer;
+                assertTrue(v > lastPerProducer[producer], "desorden en productor " + producer);
+                lastPerProducer[producer] = v;
+            }
+        }
+        pool.shutdown();
+
+        assertEquals(producers * perProducer, received);
+        assertEquals(0, buffer.getDropped());
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.userservice.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditTrailTest {
+
+    @Test
+    void persist_retriesFailedBatch_andKeepsRecentNewestFirst() throws Exception {
+        List<AuditEntry> persisted = new ArrayList<>();
+        AtomicInteger calls = new AtomicInteger();
+        AuditSink flaky = batch -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("caído");
+            }
+            persisted.addAll(batch);
+        };
+        AuditTrail trail = trail(flaky);
+        trail.record(entry("a@testssw.cl"));
+        trail.record(entry("b@testssw.cl"));
+        trail.record(entry("A@testssw.cl"));
+        trail.start();
+
+        awaitWritten(trail, 3);
+        trail.close();
+
+        assertEquals(3, persisted.size());
+        assertEquals(1, trail.getFailures());
+        List<AuditEntry> recent = trail.recent(10, null);
+        assertEquals("A@testssw.cl", recent.get(0).getSubject());
+        assertEquals("a@testssw.cl", recent.get(2).getSubject());
+        assertEquals(2, trail.recent(10, "a@testssw.cl").size());
+        assertEquals(1, trail.recent(1, null).size());
+    }
+
+    @Test
+    void recent_returnsEmpty_whenLimitIsNegative() throws Exception {
+        AuditTrail trail = trail(batch -> { });
+        trail.record(entry("a@testssw.cl"));
+        trail.start();
+
+        awaitWritten(trail, 1);
+        trail.close();
+
+        assertTrue(trail.recent(-1, null).isEmpty());
+    }
+
+    @Test
+    void persist_discardsBatch_afterMaxAttempts() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        AuditTrail trail = trail(batch -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("caído");
+        });
+        trail.record(entry("a@testssw.cl"));
+        trail.record(entry("b@testssw.cl"));
+        trail.start();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (trail.getDiscarded() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        trail.close();
+
+        assertEquals(2, trail.getDiscarded());
+        assertEquals(3, calls.get());
+        assertEquals(0, trail.getWritten());
+        assertTrue(trail.recent(10, null).isEmpty());
+    }
+
+    @Test
+    void constructor_rejectsNonPositiveRecentCapacity() {
+        AuditRingBuffer<AuditEntry> buffer = new AuditRingBuffer<>(16, AuditRingBuffer.Backpressure.BLOCK);
+
+        assertThrows(IllegalArgumentException.class, () -> new AuditTrail(buffer, batch -> { }, 8, 0, 3));
+    }
+
+    private static AuditTrail trail(AuditSink sink) {
+        return new AuditTrail(new AuditRingBuffer<>(16, AuditRingBuffer.Backpressure.BLOCK), sink, 8, 16, 3);
+    }
+
+    private static void awaitWritten(AuditTrail trail, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (trail.getWritten() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, trail.getWritten());
+    }
+
+    private static AuditEntry entry(String subject) {
+        return new AuditEntry(Instant.now(), AuditEntry.LOGIN, subject, 200, "127.0.0.1");
+    }
+}
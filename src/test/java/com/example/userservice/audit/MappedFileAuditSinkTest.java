@@ -0,0 +1,102 @@
+package com.example.userservice.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedFileAuditSinkTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void write_rollsSegments_andKeepsMaxFiles() throws Exception {
+        MappedFileAuditSink sink = new MappedFileAuditSink(dir, 128, 2);
+
+        sink.write(entries(0, 10));
+        sink.close();
+
+        List<String> lines = lines();
+        assertEquals(2, files());
+        assertEquals(entry(9).toLine().trim(), lines.get(lines.size() - 1));
+        assertFalse(Files.exists(dir.resolve("audit-0.log")));
+    }
+
+    @Test
+    void write_doesNotDuplicate_whenRetriedAfterFailedRoll() throws Exception {
+        MappedFileAuditSink sink = new MappedFileAuditSink(dir, 128, 100);
+        List<AuditEntry> batch = entries(0, 4);
+        // El siguiente segmento no se puede abrir: la rotación falla a mitad del lote
+        Files.createDirectory(dir.resolve("audit-1.log"));
+
+        assertThrows(IOException.class, () -> sink.write(batch));
+        Files.delete(dir.resolve("audit-1.log"));
+        sink.write(batch);
+        sink.close();
+
+        assertEquals(lines(entries(0, 4)), lines());
+    }
+
+    @Test
+    void write_dropsOversizedEntry_andContinues() throws Exception {
+        MappedFileAuditSink sink = new MappedFileAuditSink(dir, 128, 100);
+        AuditEntry huge = new AuditEntry(Instant.EPOCH, AuditEntry.SIGN_UP, "x".repeat(200) + "@testssw.cl", 201,
+                "127.0.0.1");
+        List<AuditEntry> batch = new ArrayList<>(entries(0, 1));
+        batch.add(huge);
+        batch.addAll(entries(1, 2));
+
+        sink.write(batch);
+        sink.close();
+
+        assertEquals(1, sink.getOversized());
+        assertEquals(lines(entries(0, 2)), lines());
+    }
+
+    private List<String> lines() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (long n = 0; n < 100; n++) {
+            Path p = dir.resolve("audit-" + n + ".log");
+            if (Files.exists(p)) {
+                lines.addAll(Files.readAllLines(p, StandardCharsets.UTF_8));
+            }
+        }
+        return lines;
+    }
+
+    private long files() throws IOException {
+        try (var files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    private static List<String> lines(List<AuditEntry> entries) {
+        List<String> lines = new ArrayList<>();
+        for (AuditEntry e : entries) {
+            lines.add(e.toLine().trim());
+        }
+        return lines;
+    }
+
+    private static List<AuditEntry> entries(int from, int to) {
+        List<AuditEntry> entries = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            entries.add(entry(i));
+        }
+        return entries;
+    }
+
+    private static AuditEntry entry(int i) {
+        return new AuditEntry(Instant.EPOCH.plusSeconds(i), AuditEntry.LOGIN, "u" + i + "@testssw.cl", 200,
+                "127.0.0.1");
+    }
+}
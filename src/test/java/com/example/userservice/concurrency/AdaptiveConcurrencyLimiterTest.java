@@ -0,0 +1,121 @@
+package com.example.userservice.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void shouldRejectImmediately_whenLimitReached() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 2, 1, 10, 100, 0.5);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.getRejected());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    void shouldIncreaseLimit_whenFastAndBusy() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 2, 1, 10, 100, 0.5);
+
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(1));
+
+        assertEquals(3, limiter.getLimit());
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    void shouldDecreaseLimit_whenLatencyExceedsThreshold() {
+        AdaptiveConcurrencyLimiter limiter = limiter(8, 1, 10, 1, 0.5);
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(2));
+        limiter.tryAcquire();
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(50));
+
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void shouldDecreaseOncePerWindow_whenSlowSamplesArriveTogether() {
+        AdaptiveConcurrencyLimiter limiter = limiter(8, 1, 10, 10, 0.5);
+        for (int i = 0; i < 8; i++) {
+            limiter.tryAcquire();
+        }
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+        for (int i = 0; i < 8; i++) {
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(50));
+        }
+
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void shouldShrinkOnLatencyIncrease_andGrowBackOnSuccess() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 1, 50, 10, 0.5);
+
+        round(limiter, 1);
+        int healthy = limiter.getLimit();
+        assertTrue(healthy > 10, "el límite debe crecer con requests rápidas, quedó en " + healthy);
+
+        round(limiter, 40);
+        assertEquals(1, limiter.getLimit());
+
+        int previous = limiter.getLimit();
+        for (int i = 0; i < 5; i++) {
+            round(limiter, 1);
+            assertTrue(limiter.getLimit() > previous,
+                    "el límite debe volver a crecer, quedó en " + limiter.getLimit());
+            previous = limiter.getLimit();
+        }
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void shouldKeepLatencyBounded_whenLatencyGrowsWithConcurrency() {
+        // Servicio sintético: 1 ms de latencia por request en curso, umbral de 10 ms
+        AdaptiveConcurrencyLimiter limiter = limiter(50, 1, 50, 10, 0.5);
+
+        long worstMillis = 0;
+        for (int i = 0; i < 200; i++) {
+            long latencyMillis = limiter.getLimit();
+            round(limiter, latencyMillis);
+            if (i >= 20) {
+                worstMillis = Math.max(worstMillis, latencyMillis);
+            }
+        }
+
+        assertTrue(limiter.getLimit() < 50, "el límite debe haberse reducido, quedó en " + limiter.getLimit());
+        assertTrue(worstMillis <= 20, "latencia máxima tras converger: " + worstMillis + " ms");
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initial, int min, int max, long thresholdMillis, double ratio) {
+        return new AdaptiveConcurrencyLimiter("test", initial, min, max, thresholdMillis, ratio, clock::get);
+    }
+
+    /**
+     * Llena el límite actual y libera cada request con la latencia dada, avanzando el reloj.
+     */
+    private void round(AdaptiveConcurrencyLimiter limiter, long latencyMillis) {
+        int admitted = 0;
+        while (limiter.tryAcquire()) {
+            admitted++;
+        }
+        long latencyNanos = TimeUnit.MILLISECONDS.toNanos(latencyMillis);
+        for (int i = 0; i < admitted; i++) {
+            clock.addAndGet(latencyNanos);
+            limiter.release(latencyNanos);
+        }
+    }
+}
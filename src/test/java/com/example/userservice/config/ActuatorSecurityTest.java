@@ -0,0 +1,58 @@
+package com.example.userservice.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "management.endpoints.web.exposure.include=health,accounts",
+        "spring.security.user.password=test-admin"
+})
+@AutoConfigureMockMvc
+class ActuatorSecurityTest {
+
+    private static final String DEACTIVATE = "{\"active\":false}";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void accountsWrite_rejectsAnonymous() throws Exception {
+        mvc.perform(post("/actuator/accounts/" + UUID.randomUUID())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(DEACTIVATE))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void accountsWrite_allowsAdmin() throws Exception {
+        mvc.perform(post("/actuator/accounts/" + UUID.randomUUID())
+                        .header(HttpHeaders.AUTHORIZATION, basic("admin", "test-admin"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(DEACTIVATE))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void health_staysPublic() throws Exception {
+        mvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    private static String basic(String user, String password) {
+        return "Basic " + Base64.getEncoder()
+                .encodeToString((user + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+}
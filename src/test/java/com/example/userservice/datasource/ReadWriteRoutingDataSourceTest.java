@@ -0,0 +1,79 @@
+package com.example.userservice.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+            mock(DataSource.class), Arrays.asList(mock(DataSource.class), mock(DataSource.class)));
+
+    @AfterEach
+    void reset() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void writes_goToPrimary() {
+        assertEquals(ReadWriteRoutingDataSource.key(0, "primary"), routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readOnly_roundRobinsAcrossReplicas() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(ReadWriteRoutingDataSource.key(0, "replica-0"), routing.determineCurrentLookupKey());
+        assertEquals(ReadWriteRoutingDataSource.key(0, "replica-1"), routing.determineCurrentLookupKey());
+        assertEquals(ReadWriteRoutingDataSource.key(0, "replica-0"), routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readOnly_forcedToPrimary_afterRecentWrite() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        Object key = DataSourceRouting.onPrimary(routing::determineCurrentLookupKey);
+
+        assertEquals(ReadWriteRoutingDataSource.key(0, "primary"), key);
+        assertFalse(DataSourceRouting.isPrimaryForced());
+    }
+
+    @Test
+    void readOnly_withoutReplicas_goesToPrimary() {
+        ReadWriteRoutingDataSource single = new ReadWriteRoutingDataSource(mock(DataSource.class), Collections.emptyList());
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(ReadWriteRoutingDataSource.key(0, "primary"), single.determineCurrentLookupKey());
+    }
+
+    @Test
+    void shardContext_selectsShard() {
+        ReadWriteRoutingDataSource sharded = new ReadWriteRoutingDataSource(Arrays.asList(
+                new ShardDataSources(mock(DataSource.class), Collections.emptyList()),
+                new ShardDataSources(mock(DataSource.class), Collections.singletonList(mock(DataSource.class)))));
+
+        try (ShardContext.Scope ignored = ShardContext.use(1)) {
+            assertEquals(ReadWriteRoutingDataSource.key(1, "primary"), sharded.determineCurrentLookupKey());
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+            assertEquals(ReadWriteRoutingDataSource.key(1, "replica-0"), sharded.determineCurrentLookupKey());
+        }
+        assertEquals(ReadWriteRoutingDataSource.key(0, "primary"), sharded.determineCurrentLookupKey());
+    }
+
+    @Test
+    void lagGuard_keepsRecentWritesOnPrimary() {
+        ReplicaLagGuard guard = new ReplicaLagGuard(true, 60_000);
+        guard.recordWrite("a@b.com");
+
+        assertTrue(guard.isRecentlyWritten("a@b.com"));
+        assertFalse(guard.isRecentlyWritten("c@d.com"));
+        assertFalse(new ReplicaLagGuard(false, 60_000).isRecentlyWritten("a@b.com"));
+    }
+}
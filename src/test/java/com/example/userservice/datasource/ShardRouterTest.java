@@ -0,0 +1,38 @@
+package com.example.userservice.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardRouterTest {
+
+    private final ShardRouter router = new ShardRouter(1024, 4);
+
+    @Test
+    void email_isNormalizedBeforeHashing() {
+        assertEquals(router.bucketForEmail("a@b.com"), router.bucketForEmail("  A@B.com "));
+    }
+
+    @Test
+    void newUserId_carriesShardHint() {
+        for (int i = 0; i < 1000; i++) {
+            String email = "user" + i + "@example.com";
+            UUID id = router.newUserId(email);
+
+            assertEquals(4, id.version());
+            assertEquals(2, id.variant());
+            assertEquals(router.bucketForEmail(email), ShardRouter.bucketOf(id));
+            assertEquals(router.shardForEmail(email), router.shardForId(id));
+        }
+    }
+
+    @Test
+    void buckets_areSplitInContiguousRanges() {
+        assertEquals(0, router.shardForBucket(0));
+        assertEquals(0, router.shardForBucket(255));
+        assertEquals(1, router.shardForBucket(256));
+        assertEquals(3, router.shardForBucket(1023));
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.userservice.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PhoneNumbersTest {
+
+    @Test
+    void packE164_concatenatesCountryCityAndNumber() {
+        assertEquals(541112345678L, PhoneNumbers.packE164("54", 11, 12345678L));
+        assertEquals(541112345678L, PhoneNumbers.packE164("+54", 11, 12345678L));
+        assertEquals(PhoneNumbers.packE164("54", 11, 12345678L), PhoneNumbers.packE164("541", 1, 12345678L));
+    }
+
+    @Test
+    void packE164_rejectsIncompleteOrTooLongNumbers() {
+        assertNull(PhoneNumbers.packE164(null, 11, 12345678L));
+        assertNull(PhoneNumbers.packE164("54", null, 12345678L));
+        assertNull(PhoneNumbers.packE164("0", 11, 12345678L));
+        assertNull(PhoneNumbers.packE164("123", 12345, 1234567890L));
+    }
+}
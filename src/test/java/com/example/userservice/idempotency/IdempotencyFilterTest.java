@@ -0,0 +1,163 @@
+package com.example.userservice.idempotency;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"email\":\"julio@testssw.cl\"}";
+
+    private final IdempotencyFilter filter = new IdempotencyFilter(new IdempotencyStore(16, 60_000, 1024), 5_000, 64);
+    private final AtomicInteger calls = new AtomicInteger();
+    private final FilterChain created = (req, res) -> {
+        calls.incrementAndGet();
+        ((MockHttpServletResponse) res).setStatus(201);
+        res.setContentType("application/json");
+        res.getOutputStream().write(req.getInputStream().readAllBytes());
+    };
+
+    @Test
+    void replaysStoredResponse_withoutCallingChainAgain() throws Exception {
+        filter.doFilter(request("k1", BODY), new MockHttpServletResponse(), created);
+        MockHttpServletResponse replay = new MockHttpServletResponse();
+
+        filter.doFilter(request("k1", BODY), replay, created);
+
+        assertEquals(1, calls.get());
+        assertEquals(201, replay.getStatus());
+        assertEquals("true", replay.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(BODY, replay.getContentAsString());
+    }
+
+    @Test
+    void rejects422_whenKeyReusedWithOtherBody() throws Exception {
+        filter.doFilter(request("k1", BODY), new MockHttpServletResponse(), created);
+        MockHttpServletResponse other = new MockHttpServletResponse();
+
+        filter.doFilter(request("k1", "{\"email\":\"otro@testssw.cl\"}"), other, created);
+
+        assertEquals(1, calls.get());
+        assertEquals(422, other.getStatus());
+    }
+
+    @Test
+    void rejects422_whenKeyReusedForOtherRepresentation() throws Exception {
+        filter.doFilter(request("k1", BODY), new MockHttpServletResponse(), created);
+        MockHttpServletRequest fields = request("k1", BODY);
+        fields.setQueryString("fields=id,token");
+        MockHttpServletRequest cbor = request("k1", BODY);
+        cbor.addHeader("Accept", "application/cbor");
+        MockHttpServletResponse fieldsResponse = new MockHttpServletResponse();
+        MockHttpServletResponse cborResponse = new MockHttpServletResponse();
+
+        filter.doFilter(fields, fieldsResponse, created);
+        filter.doFilter(cbor, cborResponse, created);
+
+        assertEquals(1, calls.get());
+        assertEquals(422, fieldsResponse.getStatus());
+        assertEquals(422, cborResponse.getStatus());
+    }
+
+    @Test
+    void concurrentRetry_waitsForOriginal_andReplaysIt() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slow = (req, res) -> {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            created.doFilter(req, res);
+        };
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            MockHttpServletResponse first = new MockHttpServletResponse();
+            MockHttpServletResponse second = new MockHttpServletResponse();
+            Future<?> original = pool.submit(() -> {
+                filter.doFilter(request("k1", BODY), first, slow);
+                return null;
+            });
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            Future<?> retry = pool.submit(() -> {
+                filter.doFilter(request("k1", BODY), second, slow);
+                return null;
+            });
+            release.countDown();
+            original.get(5, TimeUnit.SECONDS);
+            retry.get(5, TimeUnit.SECONDS);
+
+            assertEquals(1, calls.get());
+            assertEquals(201, second.getStatus());
+            assertEquals("true", second.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+            assertEquals(first.getContentAsString(), second.getContentAsString());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void rejects413_beforeReading_whenContentLengthExceedsMax() throws Exception {
+        MockHttpServletRequest request = request("k1", "x".repeat(65));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, created);
+
+        assertEquals(0, calls.get());
+        assertEquals(413, response.getStatus());
+    }
+
+    @Test
+    void cachedBody_notifiesReadListener() throws Exception {
+        AtomicBoolean allRead = new AtomicBoolean();
+        FilterChain async = (req, res) -> {
+            ServletInputStream in = req.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    in.readAllBytes();
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allRead.set(true);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    fail(t);
+                }
+            });
+        };
+
+        filter.doFilter(request("k1", BODY), new MockHttpServletResponse(), async);
+
+        assertTrue(allRead.get());
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/sign-up");
+        request.setServletPath("/sign-up");
+        request.addHeader(IdempotencyFilter.HEADER, key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.userservice.idempotency;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    private static final byte[] BODY = "{\"email\":\"a@b.cl\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] OTHER = "{\"email\":\"c@d.cl\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicLong now = new AtomicLong();
+    private final IdempotencyStore store = new IdempotencyStore(2, 1000, 1024, now::get);
+
+    @Test
+    void shouldReplayStoredResponse_whenSameKeyAndBody() throws Exception {
+        IdempotencyStore.Claim first = store.claim("k", BODY);
+        assertEquals(IdempotencyStore.Claim.Kind.OWNER, first.getKind());
+        assertTrue(store.complete(first.getSlot(), 201, "application/json", BODY));
+
+        IdempotencyStore.Claim retry = store.claim("k", BODY);
+        assertEquals(IdempotencyStore.Claim.Kind.DUPLICATE, retry.getKind());
+        IdempotencyStore.StoredResponse stored = store.await(retry.getSlot(), 0);
+        assertEquals(201, stored.getStatus());
+        assertArrayEquals(BODY, stored.getBody());
+        assertEquals(1, store.getReplayed());
+    }
+
+    @Test
+    void shouldReject_whenKeyReusedWithOtherBody() {
+        store.claim("k", BODY);
+
+        assertEquals(IdempotencyStore.Claim.Kind.MISMATCH, store.claim("k", OTHER).getKind());
+    }
+
+    @Test
+    void shouldWakeWaiters_whenInFlightRequestCompletes() throws Exception {
+        IdempotencyStore.Claim owner = store.claim("k", BODY);
+        IdempotencyStore.Claim waiter = store.claim("k", BODY);
+        CompletableFuture<IdempotencyStore.StoredResponse> replay = CompletableFuture.supplyAsync(() -> {
+            try {
+                return store.await(waiter.getSlot(), TimeUnit.SECONDS.toNanos(5));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        store.complete(owner.getSlot(), 201, "application/json", BODY);
+
+        assertEquals(201, replay.get(5, TimeUnit.SECONDS).getStatus());
+    }
+
+    @Test
+    void shouldTimeOut_whenInFlightRequestDoesNotFinish() {
+        store.claim("k", BODY);
+        IdempotencyStore.Claim waiter = store.claim("k", BODY);
+
+        assertThrows(TimeoutException.class, () -> store.await(waiter.getSlot(), TimeUnit.MILLISECONDS.toNanos(10)));
+    }
+
+    @Test
+    void shouldReleaseKey_whenResponseNotCacheable() throws Exception {
+        IdempotencyStore.Claim owner = store.claim("k", BODY);
+        IdempotencyStore.Claim waiter = store.claim("k", BODY);
+
+        assertFalse(store.complete(owner.getSlot(), 503, "application/json", BODY));
+        store.abandon(owner.getSlot());
+
+        assertNull(store.await(waiter.getSlot(), 0));
+        assertEquals(IdempotencyStore.Claim.Kind.OWNER, store.claim("k", BODY).getKind());
+    }
+
+    @Test
+    void shouldExpireEntries_afterTtl() {
+        IdempotencyStore.Claim first = store.claim("k", BODY);
+        store.complete(first.getSlot(), 201, "application/json", BODY);
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+        assertEquals(IdempotencyStore.Claim.Kind.OWNER, store.claim("k", OTHER).getKind());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void shouldEvictOldest_whenFull() {
+        store.claim("a", BODY);
+        store.claim("b", BODY);
+        store.claim("c", BODY);
+
+        assertEquals(2, store.size());
+        assertEquals(1, store.getEvicted());
+        assertEquals(IdempotencyStore.Claim.Kind.DUPLICATE, store.claim("c", BODY).getKind());
+        assertEquals(IdempotencyStore.Claim.Kind.OWNER, store.claim("a", BODY).getKind());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.userservice.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapPhoneIndexTest {
+
+    @Test
+    void get_returnsOwner_orNull() {
+        OffHeapPhoneIndex index = new OffHeapPhoneIndex(16);
+        UUID owner = UUID.randomUUID();
+        index.put(541112345678L, owner);
+
+        assertEquals(owner, index.get(541112345678L));
+        assertNull(index.get(541112345679L));
+    }
+
+    @Test
+    void sharedNumber_isAmbiguous() {
+        OffHeapPhoneIndex index = new OffHeapPhoneIndex(16);
+        index.put(541112345678L, UUID.randomUUID());
+        index.put(541112345678L, UUID.randomUUID());
+
+        assertEquals(OffHeapPhoneIndex.AMBIGUOUS, index.get(541112345678L));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void growsBeyondInitialCapacity() {
+        OffHeapPhoneIndex index = new OffHeapPhoneIndex(16);
+        Map<Long, UUID> expected = new HashMap<>();
+        Random random = new Random(42);
+        while (expected.size() < 100_000) {
+            long key = 1 + (random.nextLong() >>> 20);
+            UUID id = UUID.randomUUID();
+            if (expected.putIfAbsent(key, id) == null) index.put(key, id);
+        }
+
+        expected.forEach((key, id) -> assertEquals(id, index.get(key)));
+        assertEquals(100_000, index.size());
+        assertEquals(262_144L * OffHeapPhoneIndex.SLOT_BYTES, index.getMemoryBytes());
+    }
+}
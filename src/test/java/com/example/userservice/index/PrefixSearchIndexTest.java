@@ -0,0 +1,131 @@
+package com.example.userservice.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixSearchIndexTest {
+
+    private final UUID federico = UUID.randomUUID();
+    private final UUID julio = UUID.randomUUID();
+
+    private PrefixSearchIndex loaded(int mergeThreshold) {
+        PrefixSearchIndex index = new PrefixSearchIndex(mergeThreshold, Runnable::run);
+        index.load(4, builder -> {
+            builder.add(federico, "Federico Rosales", "federico@mail.com");
+            builder.add(julio, "Julio González", "julio@testssw.cl");
+        });
+        return index;
+    }
+
+    @Test
+    void search_matchesNameWordsAndEmail_ignoringCaseAndAccents() {
+        PrefixSearchIndex index = loaded(100);
+
+        assertEquals(List.of(federico), index.search("ROS", 10, null).getIds());
+        assertEquals(List.of(julio), index.search("gonza", 10, null).getIds());
+        assertEquals(List.of(julio), index.search("julio@", 10, null).getIds());
+        assertTrue(index.search("zz", 10, null).getIds().isEmpty());
+    }
+
+    @Test
+    void add_isVisibleBeforeAndAfterMerge() {
+        PrefixSearchIndex index = loaded(3);
+        UUID ana = UUID.randomUUID();
+
+        index.add(ana, "Ana Rosas", "ana@mail.com");
+
+        assertEquals(Set.of(federico, ana), new HashSet<>(index.search("ros", 10, null).getIds()));
+        assertEquals(List.of(ana), index.search("ana@", 10, null).getIds());
+    }
+
+    @Test
+    void search_paginatesWithCursor() {
+        PrefixSearchIndex index = new PrefixSearchIndex(1000, Runnable::run);
+        Set<UUID> expected = new HashSet<>();
+        for (int i = 0; i < 25; i++) {
+            expected.add(UUID.randomUUID());
+        }
+        index.load(16, builder -> {
+            int i = 0;
+            for (UUID id : expected) {
+                builder.add(id, null, "user" + i++ + "@mail.com");
+            }
+        });
+
+        List<UUID> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            PrefixSearchIndex.Page page = index.search("user", 10, cursor);
+            all.addAll(page.getIds());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(25, all.size());
+        assertEquals(expected, new HashSet<>(all));
+    }
+
+    @Test
+    void search_returnsEachUserOnce_acrossPages() {
+        PrefixSearchIndex index = loaded(100);
+        UUID rosa = UUID.randomUUID();
+        index.add(rosa, "Rosa Rosales", "rosa@mail.com");
+
+        List<UUID> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            PrefixSearchIndex.Page page = index.search("ros", 1, cursor);
+            assertTrue(page.getIds().size() <= 1);
+            all.addAll(page.getIds());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(2, all.size());
+        assertEquals(Set.of(federico, rosa), new HashSet<>(all));
+        assertEquals(List.of(rosa), index.search("rosa r", 10, null).getIds());
+    }
+
+    @Test
+    void load_keepsSignUpsMissedByTheScan_whenMergeRunsDuringLoad() {
+        List<Runnable> merges = new ArrayList<>();
+        PrefixSearchIndex index = new PrefixSearchIndex(1, merges::add);
+        UUID ana = UUID.randomUUID();
+        index.add(ana, "Ana Rosas", "ana@mail.com");
+
+        index.load(4, builder -> {
+            builder.add(federico, "Federico Rosales", "federico@mail.com");
+            // La fusión pendiente corre durante el escaneo, que no vio a Ana
+            merges.remove(0).run();
+        });
+        merges.forEach(Runnable::run);
+
+        assertEquals(Set.of(federico, ana), new HashSet<>(index.search("ros", 10, null).getIds()));
+    }
+
+    @Test
+    void load_keepsBase_whenScanFails() {
+        PrefixSearchIndex index = loaded(2);
+
+        assertThrows(IllegalStateException.class, () -> index.load(4, builder -> {
+            throw new IllegalStateException("caído");
+        }));
+        index.add(UUID.randomUUID(), "Ana Rosas", "ana@mail.com");
+
+        assertEquals(List.of(julio), index.search("julio", 10, null).getIds());
+        assertEquals(2, index.search("ros", 10, null).getIds().size());
+    }
+
+    @Test
+    void search_rejectsMalformedCursor() {
+        PrefixSearchIndex index = loaded(100);
+
+        assertThrows(IllegalArgumentException.class, () -> index.search("ros", 10, "no-es-un-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> index.search("ros", 10, "zz:ros"));
+    }
+}
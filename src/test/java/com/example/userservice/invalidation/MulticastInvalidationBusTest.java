@@ -0,0 +1,175 @@
+package com.example.userservice.invalidation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class MulticastInvalidationBusTest {
+
+    private final List<MulticastInvalidationBus> buses = new ArrayList<>();
+
+    @AfterEach
+    void close() {
+        buses.forEach(MulticastInvalidationBus::close);
+    }
+
+    @Test
+    void shouldRoundTripFrame() {
+        List<Invalidation> batch = Arrays.asList(Invalidation.user(UUID.randomUUID()),
+                Invalidation.user(UUID.randomUUID()));
+        ByteBuffer buffer = ByteBuffer.allocate(InvalidationFrame.HEADER_BYTES + 2 * InvalidationFrame.ENTRY_BYTES);
+
+        InvalidationFrame.encode(7L, 42L, batch, buffer);
+        buffer.flip();
+        InvalidationFrame frame = InvalidationFrame.decode(buffer);
+
+        assertNotNull(frame);
+        assertEquals(7L, frame.getNodeId());
+        assertEquals(42L, frame.getSequence());
+        assertEquals(batch, frame.getInvalidations());
+        assertFalse(frame.isHeartbeat());
+        assertNull(InvalidationFrame.decode(ByteBuffer.wrap(new byte[]{1, 2, 3})));
+    }
+
+    @Test
+    void shouldDetectGaps_andDiscardStaleFrames() {
+        PeerSequences sequences = new PeerSequences(TimeUnit.SECONDS.toNanos(10));
+
+        assertEquals(PeerSequences.Outcome.IN_ORDER, sequences.accept(frame(1, 1, false)));
+        assertEquals(PeerSequences.Outcome.IN_ORDER, sequences.accept(frame(1, 2, false)));
+        assertEquals(PeerSequences.Outcome.IN_ORDER, sequences.accept(frame(1, 2, true)));
+        assertEquals(PeerSequences.Outcome.STALE, sequences.accept(frame(1, 2, false)));
+        assertEquals(PeerSequences.Outcome.GAP, sequences.accept(frame(1, 4, false)));
+        // el latido expone la pérdida de la última trama
+        assertEquals(PeerSequences.Outcome.GAP, sequences.accept(frame(1, 5, true)));
+        assertEquals(1, sequences.size());
+    }
+
+    @Test
+    void shouldTreatUnknownNode_asGap_unlessItStartsAtOne() {
+        PeerSequences sequences = new PeerSequences(TimeUnit.SECONDS.toNanos(10));
+
+        assertEquals(PeerSequences.Outcome.IN_ORDER, sequences.accept(frame(1, 0, true)));
+        assertEquals(PeerSequences.Outcome.IN_ORDER, sequences.accept(frame(1, 1, false)));
+        // se perdieron (o llegaron antes del escaneo inicial) las tramas 1..99
+        assertEquals(PeerSequences.Outcome.GAP, sequences.accept(frame(2, 100, false)));
+        assertEquals(PeerSequences.Outcome.IN_ORDER, sequences.accept(frame(2, 101, false)));
+        assertEquals(PeerSequences.Outcome.GAP, sequences.accept(frame(3, 7, true)));
+    }
+
+    @Test
+    void shouldEvictSilentNode_andTreatItsReturnAsGap() {
+        AtomicLong now = new AtomicLong();
+        PeerSequences sequences = new PeerSequences(TimeUnit.SECONDS.toNanos(10), now::get);
+        sequences.accept(frame(1, 1, false));
+        sequences.accept(frame(2, 1, false));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        assertEquals(PeerSequences.Outcome.IN_ORDER, sequences.accept(frame(2, 1, true)));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        assertEquals(PeerSequences.Outcome.IN_ORDER, sequences.accept(frame(2, 2, false)));
+
+        assertEquals(1, sequences.size());
+        assertEquals(PeerSequences.Outcome.GAP, sequences.accept(frame(1, 2, false)));
+    }
+
+    @Test
+    void shouldDeliverBatchToOtherNode_butNotToSender() throws Exception {
+        int port = ThreadLocalRandom.current().nextInt(20_000, 40_000);
+        RecordingListener senderSide = new RecordingListener();
+        RecordingListener receiverSide = new RecordingListener();
+        MulticastInvalidationBus sender = start(port, senderSide);
+        start(port, receiverSide);
+        Invalidation a = Invalidation.user(UUID.randomUUID());
+        Invalidation b = Invalidation.user(UUID.randomUUID());
+
+        sender.publish(a);
+        sender.publish(b);
+        sender.publish(a);
+
+        assertEquals(Arrays.asList(a, b), receiverSide.batches.poll(5, TimeUnit.SECONDS));
+        assertNull(senderSide.batches.poll(100, TimeUnit.MILLISECONDS));
+        assertEquals(1, sender.getSent());
+    }
+
+    @Test
+    void shouldReloadEverything_whenFramesAreLost() throws Exception {
+        int port = ThreadLocalRandom.current().nextInt(20_000, 40_000);
+        RecordingListener listener = new RecordingListener();
+        MulticastInvalidationBus bus = start(port, listener);
+        Invalidation a = Invalidation.user(UUID.randomUUID());
+
+        try (DatagramChannel peer = DatagramChannel.open(StandardProtocolFamily.INET)) {
+            peer.setOption(StandardSocketOptions.IP_MULTICAST_IF, MulticastInvalidationBus.networkInterface(""));
+            InetSocketAddress group = new InetSocketAddress(InetAddress.getByName("239.255.42.99"), port);
+            peer.send(encode(99L, 1L, a), group);
+            assertEquals(Collections.singletonList(a), listener.batches.poll(5, TimeUnit.SECONDS));
+
+            peer.send(encode(99L, 3L, a), group);
+            assertSame(RecordingListener.ALL, listener.batches.poll(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, bus.getGaps());
+        assertEquals(1, bus.getFlushes());
+    }
+
+    private MulticastInvalidationBus start(int port, InvalidationListener listener) throws IOException {
+        InvalidationProperties properties = new InvalidationProperties();
+        properties.setPort(port);
+        properties.setBatchWindowMillis(20);
+        MulticastInvalidationBus bus = new MulticastInvalidationBus(properties, Collections.singletonList(listener));
+        try {
+            bus.start();
+        } catch (IOException e) {
+            bus.close();
+            assumeTrue(false, "Sin multicast en este entorno: " + e);
+        }
+        buses.add(bus);
+        return bus;
+    }
+
+    private static ByteBuffer encode(long nodeId, long sequence, Invalidation invalidation) {
+        ByteBuffer buffer = ByteBuffer.allocate(InvalidationFrame.HEADER_BYTES + InvalidationFrame.ENTRY_BYTES);
+        InvalidationFrame.encode(nodeId, sequence, Collections.singletonList(invalidation), buffer);
+        buffer.flip();
+        return buffer;
+    }
+
+    private static InvalidationFrame frame(long nodeId, long sequence, boolean heartbeat) {
+        return new InvalidationFrame(nodeId, sequence, Collections.emptyList(), heartbeat);
+    }
+
+    private static final class RecordingListener implements InvalidationListener {
+        static final List<Invalidation> ALL = new ArrayList<>(0);
+        final BlockingQueue<List<Invalidation>> batches = new LinkedBlockingQueue<>();
+
+        @Override
+        public void invalidate(List<Invalidation> invalidations) {
+            batches.add(invalidations);
+        }
+
+        @Override
+        public void invalidateAll() {
+            batches.add(ALL);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.userservice.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthJfrAnalyzerTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void shouldGroupStagesByTypeAndOperation_whenRecordedWithAuthProfile() throws Exception {
+        Configuration auth;
+        try (Reader reader = new InputStreamReader(
+                getClass().getResourceAsStream("/jfr/auth.jfc"), StandardCharsets.UTF_8)) {
+            auth = Configuration.create(reader);
+        }
+        Path file = tmp.resolve("auth.jfr");
+        try (Recording recording = new Recording(auth)) {
+            recording.start();
+            AuthProfiling.token("sign", () -> "t");
+            AuthProfiling.token("sign", () -> "t");
+            assertThrows(IllegalStateException.class, () -> AuthProfiling.token("verify", () -> {
+                throw new IllegalStateException();
+            }));
+            AuthProfiling.repository("findByEmail", () -> null);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        Map<String, AuthJfrAnalyzer.StageStats> stages = AuthJfrAnalyzer.analyze(file);
+
+        assertEquals(2, stages.get("Token/sign").getCount());
+        assertEquals(0, stages.get("Token/sign").getFailures());
+        assertEquals(1, stages.get("Token/verify").getFailures());
+        assertEquals(1, stages.get("Repository/findByEmail").getCount());
+    }
+
+    @Test
+    void shouldNotRecord_whenEventsNotEnabled() throws Exception {
+        Path file = tmp.resolve("default.jfr");
+        try (Recording recording = new Recording()) {
+            recording.start();
+            AuthProfiling.token("sign", () -> "t");
+            recording.stop();
+            recording.dump(file);
+        }
+
+        assertTrue(AuthJfrAnalyzer.analyze(file).isEmpty());
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.userservice.outbox;
+
+import com.example.userservice.domain.OutboxEvent;
+import com.example.userservice.repository.OutboxRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxRepository repository;
+
+    @Test
+    void drain_publishesInOrder_thenDeletes() throws Exception {
+        InMemoryOutboxSink sink = new InMemoryOutboxSink(10);
+        when(repository.findByOrderByIdAsc(any())).thenReturn(Arrays.asList(event(1), event(2)));
+        OutboxRelay relay = new OutboxRelay(repository, sink, 1, 10, 100);
+
+        assertEquals(2, relay.drain());
+
+        assertEquals(1L, sink.getQueue().poll().getId());
+        assertEquals(2L, sink.getQueue().poll().getId());
+        verify(repository).deleteByIds(Arrays.asList(1L, 2L));
+        assertEquals(2, relay.getPublished());
+    }
+
+    @Test
+    void drain_keepsEvents_whenSinkFails() {
+        OutboxSink failing = batch -> {
+            throw new IOException("caído");
+        };
+        when(repository.findByOrderByIdAsc(any())).thenReturn(Collections.singletonList(event(1)));
+        OutboxRelay relay = new OutboxRelay(repository, failing, 1, 10, 100);
+
+        assertThrows(IOException.class, relay::drain);
+
+        verify(repository, never()).deleteByIds(any());
+        assertEquals(0, relay.getPublished());
+    }
+
+    @Test
+    void drain_reportsLag_whileSinkKeepsFailing() {
+        OutboxSink failing = batch -> {
+            throw new IOException("caído");
+        };
+        OutboxEvent old = event(1);
+        old.setCreated(Instant.now().minusSeconds(60));
+        when(repository.findByOrderByIdAsc(any())).thenReturn(Collections.singletonList(old));
+        OutboxRelay relay = new OutboxRelay(repository, failing, 1, 10, 100);
+
+        assertThrows(IOException.class, relay::drain);
+
+        assertTrue(relay.getLagMillis() >= 60_000, "lag: " + relay.getLagMillis());
+    }
+
+    @Test
+    void drain_continuesWhileBatchesAreFull_acrossShards() throws Exception {
+        List<OutboxEvent> published = new ArrayList<>();
+        when(repository.findByOrderByIdAsc(any()))
+                .thenReturn(Arrays.asList(event(1), event(2)))
+                .thenReturn(Collections.singletonList(event(3)))
+                .thenReturn(Collections.emptyList());
+        OutboxRelay relay = new OutboxRelay(repository, published::addAll, 2, 2, 100);
+
+        assertEquals(3, relay.drain());
+
+        assertEquals(3, published.size());
+        verify(repository, times(3)).findByOrderByIdAsc(any());
+    }
+
+    private static OutboxEvent event(long id) {
+        return OutboxEvent.builder()
+                .id(id)
+                .aggregateId(UUID.randomUUID())
+                .type(OutboxEvent.USER_CREATED)
+                .payload("{}")
+                .created(Instant.now())
+                .build();
+    }
+}
@@ -23,9 +23,10 @@ public class JwtUtilTest {
             fail(e);
         }
 
-        String token = util.generateToken("test@example.com", UUID.randomUUID());
+        String token = util.generateToken("test@example.com", UUID.randomUUID(), 3);
         Claims claims = util.parse(token);
         assertEquals("test@example.com", claims.getSubject());
         assertNotNull(claims.get("uid"));
+        assertEquals(3, JwtUtil.sessionVersion(claims));
     }
 }
@@ -0,0 +1,64 @@
+package com.example.userservice.serialization;
+
+import com.example.userservice.dto.PhoneDto;
+import com.example.userservice.dto.UserResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserCborWriterTest {
+
+    @Test
+    void userResponse_encodesUuidWithTag37_andBooleans() {
+        UserResponse resp = UserResponse.builder()
+                .id(UUID.fromString("2bf85381-c9d0-4371-8ec3-d57fbe702456"))
+                .isActive(true)
+                .build();
+
+        assertEquals("a2" + "626964" + "d82550" + "2bf85381c9d043718ec3d57fbe702456" + "66616374697665" + "f5",
+                hex(UserCborWriter.toBytes(resp, UserFields.ID | UserFields.ACTIVE)));
+    }
+
+    @Test
+    void userResponse_encodesEpochSeconds_negativeIntegers_andNulls() {
+        UserResponse resp = UserResponse.builder()
+                .created(Instant.parse("2025-09-05T19:00:00Z"))
+                .phones(Collections.singletonList(PhoneDto.builder().number(-5L).countrycode("ab").build()))
+                .build();
+
+        assertEquals("a2" + "6763726561746564" + "c11a68bb3330"
+                        + "6670686f6e6573" + "81" + "a3" + "666e756d626572" + "24"
+                        + "6863697479636f6465" + "f6" + "6b636f756e747279636f6465" + "626162",
+                hex(UserCborWriter.toBytes(resp, UserFields.CREATED | UserFields.PHONES)));
+    }
+
+    @Test
+    void userResponse_isSmallerThanJson() {
+        UserResponse resp = UserResponse.builder()
+                .id(UUID.randomUUID())
+                .created(Instant.parse("2025-09-05T19:00:00.123456Z"))
+                .lastLogin(Instant.parse("2025-09-06T08:12:45.654321Z"))
+                .token("eyJhbGciOiJIUzI1NiJ9.e30.sig")
+                .isActive(true)
+                .name("Julio Gonzalez")
+                .email("julio@testssw.cl")
+                .password(UserResponse.MASKED_PASSWORD)
+                .phones(Collections.singletonList(
+                        PhoneDto.builder().number(87650009L).citycode(7).countrycode("25").build()))
+                .build();
+
+        assertTrue(UserCborWriter.toBytes(resp, UserFields.ALL).length < UserJsonWriter.toBytes(resp).length);
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+}
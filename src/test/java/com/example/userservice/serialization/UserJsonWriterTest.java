@@ -0,0 +1,78 @@
+package com.example.userservice.serialization;
+
+import com.example.userservice.dto.PhoneDto;
+import com.example.userservice.dto.UserResponse;
+import com.example.userservice.dto.exception.ErrorEnvelope;
+import com.example.userservice.exception.UnknownFieldException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserJsonWriterTest {
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void userResponse_matchesJacksonBytes() throws Exception {
+        UserResponse resp = UserResponse.builder()
+                .id(UUID.randomUUID())
+                .created(Instant.parse("2025-09-05T19:00:00Z"))
+                .lastLogin(Instant.parse("2025-09-05T19:00:00.123456789Z"))
+                .token("eyJhbGciOiJIUzI1NiJ9.e30.sig")
+                .isActive(true)
+                .name("Julio \"Gonzá\\lez\"\n\t\u0001 😀")
+                .email("julio@testssw.cl")
+                .password("*****")
+                .phones(Arrays.asList(
+                        PhoneDto.builder().number(87650009L).citycode(7).countrycode("25").build(),
+                        PhoneDto.builder().build()))
+                .build();
+
+        assertArrayEquals(mapper.writeValueAsBytes(resp), UserJsonWriter.toBytes(resp));
+    }
+
+    @Test
+    void userResponse_withNulls_matchesJacksonBytes() throws Exception {
+        UserResponse resp = UserResponse.builder()
+                .created(Instant.parse("2025-01-01T00:00:00.120Z"))
+                .phones(Collections.emptyList())
+                .build();
+
+        assertArrayEquals(mapper.writeValueAsBytes(resp), UserJsonWriter.toBytes(resp));
+        assertArrayEquals(mapper.writeValueAsBytes(new UserResponse()), UserJsonWriter.toBytes(new UserResponse()));
+    }
+
+    @Test
+    void userResponse_writesOnlySelectedFields_inResponseOrder() {
+        UserResponse resp = UserResponse.builder()
+                .id(UUID.fromString("2bf85381-c9d0-4371-8ec3-d57fbe702456"))
+                .token("jwt")
+                .email("julio@testssw.cl")
+                .isActive(true)
+                .build();
+
+        assertEquals("{\"id\":\"2bf85381-c9d0-4371-8ec3-d57fbe702456\",\"token\":\"jwt\"}",
+                new String(UserJsonWriter.toBytes(resp, UserFields.parse("token,id")), StandardCharsets.UTF_8));
+        assertEquals("{\"email\":\"julio@testssw.cl\",\"active\":true}",
+                new String(UserJsonWriter.toBytes(resp, UserFields.parse(" active , email")), StandardCharsets.UTF_8));
+        assertThrows(UnknownFieldException.class, () -> UserFields.parse("id,hash"));
+    }
+
+    @Test
+    void errorEnvelope_matchesJacksonBytes() throws Exception {
+        ErrorEnvelope env = ErrorEnvelope.of(409, "Usuario ya existe");
+
+        assertArrayEquals(mapper.writeValueAsBytes(env), UserJsonWriter.toBytes(env));
+    }
+}
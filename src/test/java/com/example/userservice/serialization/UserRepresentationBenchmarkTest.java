@@ -0,0 +1,122 @@
+package com.example.userservice.serialization;
+
+import com.example.userservice.dto.PhoneDto;
+import com.example.userservice.dto.UserResponse;
+import com.example.userservice.security.JwtUtil;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class UserRepresentationBenchmarkTest {
+
+    private static final String BCRYPT_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z2/ZUa7OmTSJsLgMqrw5Gr2e";
+    private static final int FIELDS_NO_PHONES = UserFields.ALL & ~(UserFields.PHONES | UserFields.PASSWORD);
+    private static final int FIELDS_ID_TOKEN = UserFields.ID | UserFields.TOKEN;
+    private static final int ITERATIONS = 200_000;
+    private static final int ROUNDS = 5;
+
+    @Test
+    void typicalLogin_shrinksWithMaskedPasswordFieldsAndCbor() throws Exception {
+        Map<String, Supplier<byte[]>> cases = cases();
+        int before = cases.get("json.before").get().length;
+        int jsonFull = cases.get("json.full").get().length;
+
+        assertTrue(jsonFull < before);
+        assertTrue(cases.get("cbor.full").get().length < jsonFull);
+        assertTrue(cases.get("json.noPhones").get().length < jsonFull);
+        assertTrue(cases.get("cbor.noPhones").get().length < cases.get("json.noPhones").get().length);
+        assertTrue(cases.get("json.idToken").get().length < cases.get("json.noPhones").get().length);
+        assertTrue(cases.get("cbor.idToken").get().length < cases.get("json.idToken").get().length);
+    }
+
+    /**
+     * Bytes y tiempo de serialización (mejor ronda, un hilo) de la tabla del README, en
+     * {@code target/serialization-bench.properties}.
+     */
+    @Test
+    void reportsSizeAndSerializationTime() throws Exception {
+        assumeTrue(Boolean.getBoolean("serialization.bench"),
+                "Solo con mvn test -Dtest=UserRepresentationBenchmarkTest -Dserialization.bench=true");
+        Properties results = new Properties();
+        long sink = 0;
+        for (Map.Entry<String, Supplier<byte[]>> e : cases().entrySet()) {
+            Supplier<byte[]> serializer = e.getValue();
+            for (int i = 0; i < ITERATIONS; i++) {
+                sink += serializer.get().length;
+            }
+            long best = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    sink += serializer.get().length;
+                }
+                best = Math.min(best, (System.nanoTime() - start) / ITERATIONS);
+            }
+            results.setProperty(e.getKey() + ".bytes", String.valueOf(serializer.get().length));
+            results.setProperty(e.getKey() + ".nanos", String.valueOf(best));
+        }
+        assertTrue(sink > 0);
+
+        Path report = Paths.get("target", "serialization-bench.properties");
+        Files.createDirectories(report.getParent());
+        try (OutputStream out = Files.newOutputStream(report)) {
+            results.store(out, "Respuesta típica de /login: bytes y ns por serialización");
+        }
+    }
+
+    private static Map<String, Supplier<byte[]>> cases() throws Exception {
+        UserResponse withHash = typicalLogin(BCRYPT_HASH);
+        UserResponse masked = typicalLogin(UserResponse.MASKED_PASSWORD);
+        Map<String, Supplier<byte[]>> cases = new LinkedHashMap<>();
+        cases.put("json.before", () -> UserJsonWriter.toBytes(withHash));
+        cases.put("json.full", () -> UserJsonWriter.toBytes(masked));
+        cases.put("cbor.full", () -> UserCborWriter.toBytes(masked, UserFields.ALL));
+        cases.put("json.noPhones", () -> UserJsonWriter.toBytes(masked, FIELDS_NO_PHONES));
+        cases.put("cbor.noPhones", () -> UserCborWriter.toBytes(masked, FIELDS_NO_PHONES));
+        cases.put("json.idToken", () -> UserJsonWriter.toBytes(masked, FIELDS_ID_TOKEN));
+        cases.put("cbor.idToken", () -> UserCborWriter.toBytes(masked, FIELDS_ID_TOKEN));
+        return cases;
+    }
+
+    /** Un teléfono y un JWT real del tamaño que emite {@link JwtUtil}. */
+    private static UserResponse typicalLogin(String password) throws Exception {
+        UUID id = UUID.fromString("2bf85381-c9d0-4371-8ec3-d57fbe702456");
+        return UserResponse.builder()
+                .id(id)
+                .created(Instant.parse("2025-09-05T19:00:00.123456Z"))
+                .lastLogin(Instant.parse("2025-09-06T08:12:45.654321Z"))
+                .token(jwtUtil().generateToken("julio@testssw.cl", id, 0))
+                .isActive(true)
+                .name("Julio Gonzalez")
+                .email("julio@testssw.cl")
+                .password(password)
+                .phones(Collections.singletonList(
+                        PhoneDto.builder().number(87650009L).citycode(7).countrycode("25").build()))
+                .build();
+    }
+
+    private static JwtUtil jwtUtil() throws Exception {
+        JwtUtil util = new JwtUtil();
+        Field secret = JwtUtil.class.getDeclaredField("secret");
+        secret.setAccessible(true);
+        secret.set(util, "secret");
+        Field expiration = JwtUtil.class.getDeclaredField("expirationSeconds");
+        expiration.setAccessible(true);
+        expiration.set(util, 3600L);
+        return util;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.userservice.service;
+
+import com.example.userservice.datasource.ReplicaLagGuard;
+import com.example.userservice.datasource.ShardRouter;
+import com.example.userservice.domain.User;
+import com.example.userservice.dto.UserSearchPage;
+import com.example.userservice.event.UserStatusChangedEvent;
+import com.example.userservice.outbox.OutboxWriter;
+import com.example.userservice.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountStatusServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ReplicaLagGuard replicaLagGuard;
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Spy
+    private ShardRouter shardRouter = new ShardRouter(1024, 1);
+
+    @InjectMocks
+    private AccountStatusService service;
+
+    @Test
+    void shouldRevokeAndCount_onlyWhenStateChanges() {
+        User u = user(Instant.parse("2024-01-01T00:00:00Z"), new UUID(1, 1));
+        u.setIsActive(false);
+        when(userRepository.findById(u.getId())).thenReturn(Optional.of(u));
+        when(userRepository.deactivate(u.getId())).thenReturn(1, 0);
+
+        assertFalse(service.setActive(u.getId(), false).orElseThrow().getActive());
+        service.setActive(u.getId(), false);
+
+        verify(userRepository, times(1)).adjustActiveCount(u.getId(), -1);
+        verify(outboxWriter, times(1)).statusChanged(eq(u), eq(false), any());
+        verify(replicaLagGuard, times(1)).recordWrite("a@b.com");
+        ArgumentCaptor<Object> event = ArgumentCaptor.forClass(Object.class);
+        verify(events, times(1)).publishEvent(event.capture());
+        assertEquals(u.getId(), ((UserStatusChangedEvent) event.getValue()).getUserId());
+    }
+
+    @Test
+    void shouldReturnEmpty_whenUserDoesNotExist() {
+        UUID id = UUID.randomUUID();
+        when(userRepository.findById(id)).thenReturn(Optional.empty());
+
+        assertTrue(service.setActive(id, true).isEmpty());
+        verifyNoInteractions(outboxWriter);
+    }
+
+    @Test
+    void shouldPageByCreationAndId_withCursor() {
+        Instant t = Instant.parse("2024-01-01T00:00:00.123456789Z");
+        User a = user(t, new UUID(0, 1));
+        // el bit de signo alto ordena después (bytes sin signo, como en la base)
+        User b = user(t, new UUID(-1L, 0));
+        User c = user(t.plusSeconds(1), new UUID(0, 0));
+        when(userRepository.findByStatus(eq(true), any())).thenReturn(Arrays.asList(c, b, a));
+
+        UserSearchPage page = service.list(true, 2, null);
+
+        assertEquals(Arrays.asList(a.getId(), b.getId()),
+                Arrays.asList(page.getItems().get(0).getId(), page.getItems().get(1).getId()));
+        User position = AccountStatusService.decode(page.getNextCursor());
+        assertEquals(b.getCreated(), position.getCreated());
+        assertEquals(b.getId(), position.getId());
+        assertThrows(IllegalArgumentException.class, () -> AccountStatusService.decode("AAAA"));
+    }
+
+    private static User user(Instant created, UUID id) {
+        User u = new User();
+        u.setId(id);
+        u.setEmail("a@b.com");
+        u.setCreated(created);
+        u.setIsActive(true);
+        return u;
+    }
+}
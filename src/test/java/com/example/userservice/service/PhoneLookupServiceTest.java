@@ -0,0 +1,45 @@
+package com.example.userservice.service;
+
+import com.example.userservice.datasource.ShardRouter;
+import com.example.userservice.domain.PhoneNumbers;
+import com.example.userservice.dto.UserSummary;
+import com.example.userservice.index.OffHeapPhoneIndex;
+import com.example.userservice.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PhoneLookupServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ObjectProvider<OffHeapPhoneIndex> phoneIndex;
+
+    @Test
+    void findByPhone_queriesShards_whenOffHeapIndexMisses() {
+        when(phoneIndex.getIfAvailable()).thenReturn(new OffHeapPhoneIndex(16));
+        long key = PhoneNumbers.packE164("54", 11, 12345678L);
+        UserSummary user = UserSummary.builder().id(UUID.randomUUID()).email("julio@testssw.cl").build();
+        when(userRepository.findSummariesByPhone(key)).thenReturn(Collections.singletonList(user));
+        PhoneLookupService service = new PhoneLookupService(userRepository, new ShardRouter(16, 1), phoneIndex);
+
+        List<UserSummary> found = service.findByPhone("54", 11, 12345678L);
+
+        assertEquals(1, found.size());
+        assertSame(user, found.get(0));
+        verify(userRepository, never()).findSummariesByIds(any());
+    }
+}
@@ -1,7 +1,13 @@
 package com.example.userservice.service;
 
+import com.example.userservice.datasource.ReplicaLagGuard;
+import com.example.userservice.datasource.ShardRouter;
 import com.example.userservice.domain.User;
 import com.example.userservice.dto.SignUpRequest;
+import com.example.userservice.dto.UserResponse;
+import com.example.userservice.exception.UnauthorizedException;
+import com.example.userservice.exception.UserAlreadyExistsException;
+import com.example.userservice.outbox.OutboxWriter;
 import com.example.userservice.repository.UserRepository;
 import com.example.userservice.security.JwtUtil;
 import io.jsonwebtoken.Claims;
@@ -10,8 +16,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -28,13 +38,28 @@ class UserServiceTest {
     @Mock
     private JwtUtil jwtUtil;
 
+    @Spy
+    private PasswordEncoder encoder = new BCryptPasswordEncoder();
+
+    @Mock
+    private ReplicaLagGuard replicaLagGuard;
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Spy
+    private ShardRouter shardRouter = new ShardRouter(1024, 1);
+
     @InjectMocks
     private UserService service;
 
     @Test
     void shouldCreateUser_whenEmailNotExists() {
-        when(userRepository.existsByEmail("a@b.com")).thenReturn(false);
-        when(jwtUtil.generateToken(anyString(), any())).thenReturn("jwt-token");
+        when(userRepository.existsByNormalizedEmail("a@b.com")).thenReturn(false);
+        when(jwtUtil.generateToken(anyString(), any(), anyInt())).thenReturn("jwt-token");
 
         SignUpRequest req = SignUpRequest.builder()
                 .email("a@b.com")
@@ -47,25 +72,57 @@ class UserServiceTest {
         assertEquals("jwt-token", resp.getToken());
 
         ArgumentCaptor<User> captor = ArgumentCaptor.forClass(User.class);
-        verify(userRepository).save(captor.capture());
+        verify(userRepository).saveAndFlush(captor.capture());
+        assertEquals("a@b.com", captor.getValue().getNormalizedEmail());
 
         assertTrue(new BCryptPasswordEncoder().matches(
                 "a2asfGfdfdf4",
                 captor.getValue().getPassword()
         ));
+        verify(outboxWriter).userCreated(captor.getValue());
+        verify(userRepository).adjustActiveCount(captor.getValue().getId(), 1);
     }
 
     @Test
     void shouldThrowConflict_whenEmailExists() {
-        when(userRepository.existsByEmail("a@b.com")).thenReturn(true);
+        when(userRepository.existsByNormalizedEmail("a@b.com")).thenReturn(true);
 
         SignUpRequest req = SignUpRequest.builder()
                 .email("a@b.com")
                 .password("a2asfGfdfdf4")
                 .build();
 
-        assertThrows(IllegalArgumentException.class, () -> service.signUp(req));
-        verify(userRepository, never()).save(any());
+        assertThrows(UserAlreadyExistsException.class, () -> service.signUp(req));
+        verify(userRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(outboxWriter);
+    }
+
+    @Test
+    void shouldThrowConflict_whenConcurrentSignUpWinsUniqueConstraint() {
+        when(userRepository.existsByNormalizedEmail("a@b.com")).thenReturn(false);
+        when(userRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("uk_users_normalized_email"));
+
+        SignUpRequest req = SignUpRequest.builder()
+                .email("A@b.com")
+                .password("a2asfGfdfdf4")
+                .build();
+
+        assertThrows(UserAlreadyExistsException.class, () -> service.signUp(req));
+        verifyNoInteractions(outboxWriter);
+    }
+
+    @Test
+    void shouldThrowConflict_whenEmailDiffersOnlyInCase() {
+        when(userRepository.existsByNormalizedEmail("a@b.com")).thenReturn(true);
+
+        SignUpRequest req = SignUpRequest.builder()
+                .email(" A@B.com")
+                .password("a2asfGfdfdf4")
+                .build();
+
+        assertThrows(UserAlreadyExistsException.class, () -> service.signUp(req));
+        verify(userRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -74,23 +131,99 @@ class UserServiceTest {
         User u = new User();
         u.setId(uid);
         u.setEmail("a@b.com");
+        u.setPassword("$2a$10$hash");
+        u.setIsActive(true);
+        u.setSessionVersion(0);
 
-        when(userRepository.findByEmail(u.getEmail())).thenReturn(Optional.of(u));
+        when(userRepository.findByNormalizedEmail(u.getEmail())).thenReturn(Optional.of(u));
 
         Claims claims = mock(Claims.class);
         when(claims.getSubject()).thenReturn("a@b.com");
+        when(claims.get(JwtUtil.USER_ID, String.class)).thenReturn(uid.toString());
         when(jwtUtil.parse("abc")).thenReturn(claims);
-        when(jwtUtil.generateToken("a@b.com", uid)).thenReturn("new-token");
+        when(jwtUtil.generateToken("a@b.com", uid, 0)).thenReturn("new-token");
 
         var resp = service.login("Bearer abc");
 
         assertEquals("new-token", resp.getToken());
         assertEquals("a@b.com", resp.getEmail());
+        assertEquals(UserResponse.MASKED_PASSWORD, resp.getPassword());
+        verify(outboxWriter).recordLogin(argThat(u -> uid.equals(u.getId())), any());
     }
 
     @Test
     void shouldThrowException_onLoginMissingBearer() {
-        assertThrows(IllegalArgumentException.class, () -> service.login(null));
-        assertThrows(IllegalArgumentException.class, () -> service.login("Token abc"));
+        assertThrows(UnauthorizedException.class, () -> service.login(null));
+        assertThrows(UnauthorizedException.class, () -> service.login("Token abc"));
+        assertThrows(UnauthorizedException.class, () -> service.login("Bearer "));
+    }
+
+    @Test
+    void shouldThrowUnauthorized_onLoginUnknownUser() {
+        Claims claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn("ghost@b.com");
+        when(jwtUtil.parse("abc")).thenReturn(claims);
+        when(userRepository.findByNormalizedEmail("ghost@b.com")).thenReturn(Optional.empty());
+
+        UnauthorizedException ex = assertThrows(UnauthorizedException.class, () -> service.login("Bearer abc"));
+        assertEquals(0, ex.getStackTrace().length);
+    }
+
+    @Test
+    void shouldThrowUnauthorized_onLoginInactiveUser() {
+        User u = new User();
+        u.setId(UUID.randomUUID());
+        u.setEmail("a@b.com");
+        u.setIsActive(false);
+        u.setSessionVersion(1);
+        when(userRepository.findByNormalizedEmail("a@b.com")).thenReturn(Optional.of(u));
+
+        Claims claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn("a@b.com");
+        when(claims.get(JwtUtil.USER_ID, String.class)).thenReturn(u.getId().toString());
+        when(jwtUtil.parse("abc")).thenReturn(claims);
+
+        assertThrows(UnauthorizedException.class, () -> service.login("Bearer abc"));
+        verify(jwtUtil, never()).generateToken(anyString(), any(), anyInt());
+        verifyNoInteractions(outboxWriter);
+    }
+
+    @Test
+    void shouldThrowUnauthorized_onLoginRevokedSession() {
+        User u = new User();
+        u.setId(UUID.randomUUID());
+        u.setEmail("a@b.com");
+        u.setIsActive(true);
+        u.setSessionVersion(2);
+        when(userRepository.findByNormalizedEmail("a@b.com")).thenReturn(Optional.of(u));
+
+        Claims claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn("a@b.com");
+        when(claims.get(JwtUtil.USER_ID, String.class)).thenReturn(u.getId().toString());
+        when(claims.get(JwtUtil.SESSION_VERSION, Integer.class)).thenReturn(1);
+        when(jwtUtil.parse("abc")).thenReturn(claims);
+
+        assertThrows(UnauthorizedException.class, () -> service.login("Bearer abc"));
+        verify(jwtUtil, never()).generateToken(anyString(), any(), anyInt());
+    }
+
+    @Test
+    void shouldThrowUnauthorized_onLoginWithTokenOfCaseCollidingAccount() {
+        // V7 dejó el email normalizado en la cuenta más antigua; el token es de la más nueva
+        User oldest = new User();
+        oldest.setId(UUID.randomUUID());
+        oldest.setEmail("A@b.com");
+        oldest.setIsActive(true);
+        oldest.setSessionVersion(0);
+        when(userRepository.findByNormalizedEmail("a@b.com")).thenReturn(Optional.of(oldest));
+
+        Claims claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn("a@b.com");
+        when(claims.get(JwtUtil.USER_ID, String.class)).thenReturn(UUID.randomUUID().toString());
+        when(jwtUtil.parse("abc")).thenReturn(claims);
+
+        assertThrows(UnauthorizedException.class, () -> service.login("Bearer abc"));
+        verify(jwtUtil, never()).generateToken(anyString(), any(), anyInt());
+        verifyNoInteractions(outboxWriter);
     }
 }
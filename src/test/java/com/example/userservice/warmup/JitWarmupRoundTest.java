@@ -0,0 +1,46 @@
+package com.example.userservice.warmup;
+
+import com.example.userservice.repository.UserRepository;
+import com.example.userservice.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.Validator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class JitWarmupRoundTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void round_logsInWithTheSignUpToken_andLeavesNoUser() {
+        WarmupProperties properties = new WarmupProperties();
+        properties.setLoginsPerSignUp(2);
+        JitWarmup warmup = new JitWarmup(userService, new TransactionTemplate(transactionManager), validator,
+                objectMapper, () -> 0L, properties);
+        long users = userRepository.count();
+
+        assertDoesNotThrow(warmup::round);
+
+        assertEquals(users, userRepository.count());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.userservice.warmup;
+
+import com.example.userservice.dto.UserResponse;
+import com.example.userservice.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.Validation;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JitWarmupTest {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final WarmupProperties properties = new WarmupProperties();
+
+    private JitWarmup warmup(AtomicLong compiled) {
+        properties.setMinRounds(3);
+        properties.setStableRounds(2);
+        properties.setLoginsPerSignUp(2);
+        properties.setBudgetMillis(10_000);
+        UserResponse response = UserResponse.builder().id(UUID.randomUUID()).email("w@warmup.invalid")
+                .token("jwt").phones(Collections.emptyList()).build();
+        when(transactionManager.getTransaction(any())).thenAnswer(i -> new SimpleTransactionStatus());
+        when(userService.signUp(any())).thenReturn(response);
+        when(userService.login("Bearer jwt")).thenReturn(response);
+        return new JitWarmup(userService, new TransactionTemplate(transactionManager),
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper().findAndRegisterModules(),
+                compiled::get, properties);
+    }
+
+    @Test
+    void shouldStopAndRollBack_whenCompiledMethodsStabilize() {
+        JitWarmup warmup = warmup(new AtomicLong(100));
+
+        warmup.run(null);
+
+        verify(userService, times(3)).signUp(any());
+        verify(userService, times(6)).login("Bearer jwt");
+        verify(transactionManager, times(3)).rollback(any(TransactionStatus.class));
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    void shouldKeepGoing_whileJitIsCompiling() {
+        AtomicLong compiled = new AtomicLong();
+        JitWarmup warmup = warmup(compiled);
+        doAnswer(i -> {
+            compiled.addAndGet(compiled.get() < 50 ? 10 : 0);
+            return null;
+        }).when(transactionManager).rollback(any());
+
+        warmup.run(null);
+
+        verify(userService, times(7)).signUp(any());
+    }
+}
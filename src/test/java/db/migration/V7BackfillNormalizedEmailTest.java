@@ -0,0 +1,115 @@
+package db.migration;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class V7BackfillNormalizedEmailTest {
+
+    private final String url = "jdbc:h2:mem:v7-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+    private Connection c;
+
+    @BeforeEach
+    void migrateToV6() throws SQLException {
+        flyway("6").migrate();
+        c = DriverManager.getConnection(url, "sa", "");
+    }
+
+    @AfterEach
+    void close() throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement("SHUTDOWN")) {
+            ps.execute();
+        }
+        c.close();
+    }
+
+    /** Filas cargadas con el esquema de V6: más de un lote y dos cuentas que solo difieren en mayúsculas. */
+    @Test
+    void backfillsEveryBatch_andKeepsNormalizedEmailOnOldestAccount() throws SQLException {
+        int rows = V7__backfill_normalized_email.BATCH_SIZE + 5;
+        for (int i = 0; i < rows; i++) {
+            insert(UUID.randomUUID(), " User" + i + "@TestSSW.cl ", Instant.parse("2021-01-01T00:00:00Z"));
+        }
+        UUID oldest = UUID.randomUUID();
+        UUID newer = UUID.randomUUID();
+        insert(newer, "julio@testssw.cl", Instant.parse("2022-01-01T00:00:00Z"));
+        insert(oldest, "Julio@TestSSW.cl", Instant.parse("2020-01-01T00:00:00Z"));
+
+        flyway(null).migrate();
+
+        assertEquals("user7@testssw.cl", normalizedEmail("SELECT normalized_email FROM users WHERE email = ?",
+                " User7@TestSSW.cl "));
+        assertEquals(rows + 1, count("SELECT COUNT(*) FROM users WHERE normalized_email IS NOT NULL"));
+        assertEquals("julio@testssw.cl", normalizedEmail("SELECT normalized_email FROM users WHERE id = ?", oldest));
+        assertNull(normalizedEmail("SELECT normalized_email FROM users WHERE id = ?", newer));
+        assertThrows(SQLException.class,
+                () -> insert(UUID.randomUUID(), "JULIO@testssw.cl", Instant.now(), "julio@testssw.cl"));
+    }
+
+    private Flyway flyway(String target) {
+        var config = Flyway.configure().dataSource(url, "sa", "");
+        if (target != null) {
+            config.target(target);
+        }
+        return config.load();
+    }
+
+    private void insert(UUID id, String email, Instant created) throws SQLException {
+        insert(id, email, created, null);
+    }
+
+    private void insert(UUID id, String email, Instant created, String normalized) throws SQLException {
+        String sql = normalized == null
+                ? "INSERT INTO users (id, email, password, created) VALUES (?, ?, 'x', ?)"
+                : "INSERT INTO users (id, email, password, created, normalized_email) VALUES (?, ?, 'x', ?, ?)";
+        try (PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setBytes(1, bytes(id));
+            ps.setString(2, email);
+            ps.setTimestamp(3, Timestamp.from(created));
+            if (normalized != null) {
+                ps.setString(4, normalized);
+            }
+            ps.executeUpdate();
+        }
+    }
+
+    private String normalizedEmail(String sql, Object key) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(sql)) {
+            if (key instanceof UUID) {
+                ps.setBytes(1, bytes((UUID) key));
+            } else {
+                ps.setString(1, (String) key);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                assertTrue(rs.next());
+                return rs.getString(1);
+            }
+        }
+    }
+
+    private long count(String sql) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits()).array();
+    }
+}